@@ -77,15 +77,17 @@ import com.oracle.javafx.scenebuilder.kit.util.Utils;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -385,8 +387,8 @@ public class DocumentWindowController extends AbstractFxmlWindowController {
     
     public void loadFromFile(File fxmlFile) throws IOException {
         final URL fxmlURL = fxmlFile.toURI().toURL();
-        final String fxmlText = FXOMDocument.readContentFromURL(fxmlURL);
-        editorController.setFxmlTextAndLocation(fxmlText, fxmlURL, false);
+        final byte[] fxmlContent = FXOMDocument.readBytesFromURL(fxmlURL);
+        editorController.setFxmlContentAndLocation(fxmlContent, fxmlURL, false);
         updateLoadFileTime();
         updateStageTitle(); // No-op if fxml has not been loaded yet
         updateFromDocumentPreferences(true);
@@ -398,8 +400,8 @@ public class DocumentWindowController extends AbstractFxmlWindowController {
     public void loadFromURL(URL fxmlURL, boolean refreshThemeFromDocumentPreferences) {
         assert fxmlURL != null;
         try {
-            final String fxmlText = FXOMDocument.readContentFromURL(fxmlURL);
-            editorController.setFxmlTextAndLocation(fxmlText, null, false);
+            final byte[] fxmlContent = FXOMDocument.readBytesFromURL(fxmlURL);
+            editorController.setFxmlContentAndLocation(fxmlContent, null, false);
             updateLoadFileTime();
             updateStageTitle(); // No-op if fxml has not been loaded yet
             updateFromDocumentPreferences(refreshThemeFromDocumentPreferences);
@@ -424,8 +426,8 @@ public class DocumentWindowController extends AbstractFxmlWindowController {
         final FXOMDocument fxomDocument = editorController.getFxomDocument();
         assert (fxomDocument != null) && (fxomDocument.getLocation() != null);
         final URL fxmlURL = fxomDocument.getLocation();
-        final String fxmlText = FXOMDocument.readContentFromURL(fxmlURL);
-        editorController.setFxmlTextAndLocation(fxmlText, fxmlURL, true);
+        final byte[] fxmlContent = FXOMDocument.readBytesFromURL(fxmlURL);
+        editorController.setFxmlContentAndLocation(fxmlContent, fxmlURL, true);
         updateLoadFileTime();
         // Here we do not invoke updateStageTitleAndPreferences() neither watchingController.update()
     }
@@ -1193,6 +1195,9 @@ public class DocumentWindowController extends AbstractFxmlWindowController {
         // Stops watching
         editorController.stopFileWatching();
         watchingController.stop();
+        
+        // Releases the controller class index of the glossary
+        editorController.getGlossary().dispose();
     }
     
     @Override 
@@ -1885,21 +1890,15 @@ public class DocumentWindowController extends AbstractFxmlWindowController {
                 }
             
                 if (saveConfirmed) {
-                    try {
-                        watchingController.removeDocumentTarget();
-                        var recordGlobal = getPreferencesRecordGlobal();
-                        final byte[] fxmlBytes = editorController.getFxmlText(recordGlobal.isWildcardImports()).getBytes(StandardCharsets.UTF_8); //NOI18N
-                        Files.write(fxmlPath, fxmlBytes);
-                        updateLoadFileTime();
-                        watchingController.update();
-
-                        editorController.getMessageLog().logInfoMessage(
-                                "log.info.save.confirmation", I18N.getBundle(), fileName);
-                        result = ActionStatus.DONE;
-                    } catch(UnsupportedEncodingException x) {
-                        // Should not happen
-                        throw new RuntimeException("Bug", x); //NOI18N
-                    }
+                    watchingController.removeDocumentTarget();
+                    var recordGlobal = getPreferencesRecordGlobal();
+                    writeFxmlFile(fxmlPath, recordGlobal.isWildcardImports());
+                    updateLoadFileTime();
+                    watchingController.update();
+
+                    editorController.getMessageLog().logInfoMessage(
+                            "log.info.save.confirmation", I18N.getBundle(), fileName);
+                    result = ActionStatus.DONE;
                 } else {
                     result = ActionStatus.CANCELLED;
                 }
@@ -1919,6 +1918,41 @@ public class DocumentWindowController extends AbstractFxmlWindowController {
     }
     
     
+    /*
+     * The fxml text is streamed into a temporary file of the same directory
+     * which then replaces the target file : if serialization fails, the
+     * original file is left untouched. When fxmlPath is a symbolic link,
+     * the file it points to is replaced (not the link).
+     */
+    private void writeFxmlFile(Path fxmlPath, boolean wildcardImports) throws IOException {
+        final boolean targetExists = Files.exists(fxmlPath);
+        final Path targetPath = targetExists ? fxmlPath.toRealPath() : fxmlPath.toAbsolutePath();
+        final Path tmpPath = Files.createTempFile(targetPath.getParent(), 
+                "." + targetPath.getFileName().toString(), ".tmp"); //NOI18N
+        try {
+            if (targetExists) {
+                try {
+                    Files.setPosixFilePermissions(tmpPath, Files.getPosixFilePermissions(targetPath));
+                } catch(UnsupportedOperationException x) {
+                    // Not a posix file system : temporary file keeps default permissions
+                }
+            }
+            try (FileChannel channel = FileChannel.open(tmpPath, 
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                editorController.writeFxmlText(channel, wildcardImports);
+                channel.force(true);
+            }
+            try {
+                Files.move(tmpPath, targetPath, 
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch(AtomicMoveNotSupportedException x) {
+                Files.move(tmpPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+    }
+    
     private ActionStatus performSaveAsAction() {
         
         final ActionStatus result;
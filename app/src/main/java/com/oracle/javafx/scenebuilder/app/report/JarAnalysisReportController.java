@@ -135,7 +135,10 @@ public class JarAnalysisReportController extends AbstractFxmlWindowController {
             for (JarReport report : lib.getJarReports()) {
                 for (JarReportEntry entry : report.getEntries()) {
                     if (entry.getStatus() != JarReportEntry.Status.OK) {
-                        if (entry.getKlass() != null && entry.getException() != null) {
+                        // Entries restored from the jar report cache only
+                        // carry a summary of the exception.
+                        if (entry.getStatus() == JarReportEntry.Status.CANNOT_INSTANTIATE
+                                && entry.getExceptionSummary() != null) {
                             // We use a Text instance for header and another one
                             // for full stack in order to style them separately
                             StringBuilder sb = new StringBuilder();
@@ -147,7 +150,11 @@ public class JarAnalysisReportController extends AbstractFxmlWindowController {
                             textFlow.getChildren().add(text);
                             
                             StringBuilder sb2 = new StringBuilder();
-                            sb2.append(getFullStack(entry.getException()));
+                            if (entry.getException() != null) {
+                                sb2.append(getFullStack(entry.getException()));
+                            } else {
+                                sb2.append(entry.getExceptionSummary());
+                            }
                             Text text2 = new Text();
                             text2.setText(sb2.toString());
                             text2.getStyleClass().add("body"); //NOI18N
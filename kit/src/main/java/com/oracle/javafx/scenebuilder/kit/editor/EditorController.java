@@ -98,6 +98,8 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -293,6 +295,7 @@ public class EditorController {
      */
     public EditorController() {
         jobManager.revisionProperty().addListener((ChangeListener<Number>) (ov, t, t1) -> jobManagerRevisionDidChange());
+        fxmlLocationProperty.addListener((ChangeListener<URL>) (ov, t, t1) -> getGlossary().prepare(t1));
     }
 
     /**
@@ -368,6 +371,35 @@ public class EditorController {
         return result;
     }
     
+    /**
+     * Writes the fxml content being edited by this editor into the specified
+     * channel (UTF-8 encoded). Same as getFxmlText() but the content is
+     * streamed instead of being built as a String. Nothing is written if
+     * this editor has no document. The channel is not closed.
+     * 
+     * @param channel the channel receiving the fxml content (never null)
+     * @param wildcardImports If the FXML should have wildcards in its imports.
+     * @throws IOException if the channel fails
+     */
+    public void writeFxmlText(WritableByteChannel channel, boolean wildcardImports) throws IOException {
+        assert channel != null;
+        
+        final FXOMDocument fxomDocument = getFxomDocument();
+        if (fxomDocument != null) {
+            final boolean sampleDataEnabled = fxomDocument.isSampleDataEnabled();
+            if (sampleDataEnabled) {
+                fxomDocument.setSampleDataEnabled(false);
+            }
+            try {
+                fxomDocument.writeFxmlText(channel, wildcardImports);
+            } finally {
+                if (sampleDataEnabled) {
+                    fxomDocument.setSampleDataEnabled(true);
+                }
+            }
+        }
+    }
+    
     /**
      * Returns true if fxml content being edited can be returned safely.
      * This method will return false if there is a text editing session on-going.
@@ -764,6 +796,22 @@ public class EditorController {
         this.fxmlLocationProperty.setValue(fxmlLocation);
     }
 
+    /**
+     * Same as setFxmlTextAndLocation() but takes the UTF-8 encoded fxml
+     * content as read from a file (see FXOMDocument.readBytesFromURL()).
+     * The content is loaded without being decoded into a String.
+     * 
+     * @param fxmlContent null or the UTF-8 encoded fxml content to be edited
+     * @param fxmlLocation null or the location of the fxml content being edited
+     * @param checkTheme if set to true a check will be made if the fxml contains
+     *                           Gluon controls and if so, the correct theme is set
+     * @throws IOException if fxml content cannot be parsed and loaded correctly.
+     */
+    public void setFxmlContentAndLocation(byte[] fxmlContent, URL fxmlLocation, boolean checkTheme) throws IOException {
+        updateFxomDocument(fxmlContent, fxmlLocation, getResources(), checkTheme);
+        this.fxmlLocationProperty.setValue(fxmlLocation);
+    }
+
     /**
      * Sets fxml text, location and resources to be edited by this editor.
      * Performs setFxmlText(), setFxmlLocation() and setResources() but in an
@@ -2554,10 +2602,21 @@ public class EditorController {
     }
 
     private void updateFxomDocument(String fxmlText, URL fxmlLocation, ResourceBundle resources, boolean checkTheme) throws IOException {
+        final byte[] fxmlContent;
+        if (fxmlText != null) {
+            fxmlContent = fxmlText.getBytes(Charset.forName("UTF-8")); //NOI18N
+        } else {
+            fxmlContent = null;
+        }
+        updateFxomDocument(fxmlContent, fxmlLocation, resources, checkTheme);
+    }
+
+    private void updateFxomDocument(byte[] fxmlContent, URL fxmlLocation, ResourceBundle resources, boolean checkTheme) throws IOException {
         final FXOMDocument newFxomDocument;
         
-        if (fxmlText != null) {
-            newFxomDocument = new FXOMDocument(fxmlText, fxmlLocation, getLibrary().getClassLoader(), resources);
+        if (fxmlContent != null) {
+            newFxomDocument = new FXOMDocument(fxmlContent, fxmlLocation, 
+                    getLibrary().getClassLoader(), resources, true /* normalize */);
         } else {
             newFxomDocument = null;
         }
@@ -2592,8 +2651,8 @@ public class EditorController {
     }
     
     private void jobManagerRevisionDidChange() {
-        errorReport.forget();
-        watchingController.jobManagerRevisionDidChange();
+        // Note : error report is updated by the fxom document refreshes
+        // and file watcher by the asset index of the fxom document
 //        setPickModeEnabled(false);
     }
 
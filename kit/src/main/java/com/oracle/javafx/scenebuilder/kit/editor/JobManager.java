@@ -33,39 +33,57 @@ package com.oracle.javafx.scenebuilder.kit.editor;
 
 import com.oracle.javafx.scenebuilder.kit.editor.job.Job;
 import com.oracle.javafx.scenebuilder.kit.editor.job.reference.UpdateReferencesJob;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 
 /**
  * @treatAsPrivate 
  */
 public class JobManager {
     
+    /**
+     * Default bound (in bytes) of the memory retained by the undo/redo history.
+     */
+    public static final long DEFAULT_HISTORY_MAX_SIZE = 64L * 1024 * 1024;
+    
     private final EditorController editorController;
     private final int undoStackMaxSize;
-    private final List<Job> undoStack = new ArrayList<>();
-    private final List<Job> redoStack = new ArrayList<>();
+    private final long historyMaxSize;
+    // First element is the most recent one
+    private final Deque<Entry> undoStack = new ArrayDeque<>();
+    private final Deque<Entry> redoStack = new ArrayDeque<>();
     private final SimpleIntegerProperty revision = new SimpleIntegerProperty();
+    private final SimpleLongProperty historySize = new SimpleLongProperty();
     private boolean lock;
     
     
     JobManager(EditorController editorController, int undoStackMaxSize) {
+        this(editorController, undoStackMaxSize, DEFAULT_HISTORY_MAX_SIZE);
+    }
+    
+    JobManager(EditorController editorController, int undoStackMaxSize, long historyMaxSize) {
         assert editorController != null;
         assert undoStackMaxSize >= 1;
+        assert historyMaxSize >= 0;
         this.editorController = editorController;
         this.undoStackMaxSize = undoStackMaxSize;
+        this.historyMaxSize = historyMaxSize;
     }
     
     
     public List<Job> getUndoStack() {
-        return Collections.unmodifiableList(undoStack);
+        return makeJobList(undoStack);
     }
     
     public List<Job> getRedoStack() {
-        return Collections.unmodifiableList(redoStack);
+        return makeJobList(redoStack);
     }
     
     public void push(Job job) {
@@ -80,11 +98,19 @@ public class JobManager {
         
         final Job fixJob = new UpdateReferencesJob(job);
         executeJob(fixJob);
-        undoStack.add(0, fixJob);
-        if (undoStack.size() > undoStackMaxSize) {
-            undoStack.remove(undoStack.size()-1);
+        final Entry entry = new Entry(fixJob);
+        undoStack.addFirst(entry);
+        long newHistorySize = historySize.get() + entry.retainedSize;
+        for (Entry e : redoStack) {
+            newHistorySize -= e.retainedSize;
         }
         redoStack.clear();
+        // Evicts the oldest jobs ; the job just pushed is always kept
+        while ((undoStack.size() > undoStackMaxSize) 
+                || (newHistorySize > historyMaxSize && undoStack.size() > 1)) {
+            newHistorySize -= undoStack.removeLast().retainedSize;
+        }
+        updateHistorySize(newHistorySize);
         incrementRevision();
         
     }
@@ -97,6 +123,7 @@ public class JobManager {
         
         undoStack.clear();
         redoStack.clear();
+        updateHistorySize(0);
         // We don't change the revision.
     }
     
@@ -107,7 +134,7 @@ public class JobManager {
     public String getUndoDescription() {
         final String result;
         if (canUndo()) {
-            result = undoStack.get(0).getDescription();
+            result = undoStack.peekFirst().job.getDescription();
         } else {
             result = null;
         }
@@ -122,10 +149,10 @@ public class JobManager {
             throw new IllegalStateException("Undoing jobs from another job or a job manager listener is forbidden"); //NOI18N
         }
         
-        final Job job = undoStack.get(0);
-        undoJob(job);
-        undoStack.remove(0);
-        redoStack.add(0, job);
+        final Entry entry = undoStack.peekFirst();
+        undoJob(entry.job);
+        undoStack.removeFirst();
+        redoStack.addFirst(entry);
         incrementRevision();
     }
     
@@ -136,7 +163,7 @@ public class JobManager {
     public String getRedoDescription() {
         final String result;
         if (canRedo()) {
-            result = redoStack.get(0).getDescription();
+            result = redoStack.peekFirst().job.getDescription();
         } else {
             result = null;
         }
@@ -151,10 +178,10 @@ public class JobManager {
             throw new IllegalStateException("Redoing jobs from another job or a job manager listener is forbidden"); //NOI18N
         }
         
-        final Job job = redoStack.get(0);
-        redoJob(job);
-        redoStack.remove(0);
-        undoStack.add(0, job);
+        final Entry entry = redoStack.peekFirst();
+        redoJob(entry.job);
+        redoStack.removeFirst();
+        undoStack.addFirst(entry);
         incrementRevision();
     }
     
@@ -168,6 +195,21 @@ public class JobManager {
         return revision;
     }
     
+    /**
+     * Returns the property holding the approximate memory (in bytes) retained
+     * by the undo and redo stacks of this job manager. Oldest jobs are evicted
+     * from the undo stack when this size exceeds the history budget.
+     * 
+     * @return the property holding the approximate size of the job history.
+     */
+    public ReadOnlyLongProperty historySizeProperty() {
+        return historySize;
+    }
+    
+    public long getHistorySize() {
+        return historySize.get();
+    }
+    
     /**
      * Returns the job which has just been processed and which can be undone.
      * 
@@ -176,7 +218,7 @@ public class JobManager {
      */
     public Job getCurrentJob() {
         if (undoStack.size() > 0) {
-            return undoStack.get(0);
+            return undoStack.peekFirst().job;
         } else {
             return null;
         }
@@ -217,6 +259,26 @@ public class JobManager {
     }
     
     
+    private void updateHistorySize(long newHistorySize) {
+        assert newHistorySize >= 0;
+        lock = true;
+        try {
+            historySize.set(newHistorySize);
+        } finally {
+            lock = false;
+        }
+    }
+    
+    
+    private static List<Job> makeJobList(Deque<Entry> stack) {
+        final List<Job> result = new ArrayList<>(stack.size());
+        for (Entry e : stack) {
+            result.add(e.job);
+        }
+        return Collections.unmodifiableList(result);
+    }
+    
+    
     private void incrementRevision() {
         lock = true;
         try {
@@ -225,4 +287,16 @@ public class JobManager {
             lock = false;
         }
     }
+    
+    
+    private static class Entry {
+        final Job job;
+        // Evaluated once : the job history only moves entries around
+        final long retainedSize;
+        
+        Entry(Job job) {
+            this.job = job;
+            this.retainedSize = job.getRetainedSize();
+        }
+    }
 }
@@ -32,14 +32,15 @@
 
 package com.oracle.javafx.scenebuilder.kit.editor;
 
-import com.oracle.javafx.scenebuilder.kit.fxom.FXOMAssetIndex;
 import com.oracle.javafx.scenebuilder.kit.fxom.FXOMDocument;
+import com.oracle.javafx.scenebuilder.kit.util.CssStylesheetCache;
 import com.oracle.javafx.scenebuilder.kit.util.FileWatcher;
 import java.nio.file.Path;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Set;
 import javafx.application.Platform;
+import javafx.collections.SetChangeListener;
 
 /**
  *
@@ -49,6 +50,9 @@ class WatchingController implements FileWatcher.Delegate {
     private final EditorController editorController;
     private final FileWatcher fileWatcher 
             = new FileWatcher(2000 /*ms*/, this,  EditorController.class.getSimpleName());
+    private final SetChangeListener<Path> assetPathsListener
+            = change -> assetPathsDidChange(change);
+    private FXOMDocument watchedDocument;
 
     public WatchingController(EditorController editorController) {
         this.editorController = editorController;
@@ -58,10 +62,6 @@ class WatchingController implements FileWatcher.Delegate {
         updateFileWatcher();
     }
     
-    public void jobManagerRevisionDidChange() {
-        updateFileWatcher();
-    }
-    
     public void start() {
         fileWatcher.start();
     }
@@ -74,6 +74,11 @@ class WatchingController implements FileWatcher.Delegate {
         return fileWatcher.isStarted();
     }
     
+    // Package-private for unit tests
+    Set<Path> getWatchedPaths() {
+        return fileWatcher.getTargets();
+    }
+    
     /*
      * FileWatcher.Delegate
      */
@@ -103,22 +108,34 @@ class WatchingController implements FileWatcher.Delegate {
     
     private void updateFileWatcher() {
         
-        final FXOMDocument fxomDocument = editorController.getFxomDocument();
-        final Collection<Path> targets;
-        if (fxomDocument == null) {
-            targets = Collections.emptyList();
+        if (watchedDocument != null) {
+            watchedDocument.getAssetIndex().getAssetPaths().removeListener(assetPathsListener);
+        }
+        watchedDocument = editorController.getFxomDocument();
+        if (watchedDocument == null) {
+            fileWatcher.setTargets(Collections.emptyList());
         } else {
-            final FXOMAssetIndex assetIndex = new FXOMAssetIndex(fxomDocument);
-            targets = assetIndex.getFileAssets().keySet();
+            // Asset index is maintained by the fxom document : file watcher
+            // targets are then updated from its changes only
+            watchedDocument.getAssetIndex().getAssetPaths().addListener(assetPathsListener);
+            fileWatcher.setTargets(watchedDocument.getAssetIndex().getAssetPaths());
+        }
+    }
+    
+    private void assetPathsDidChange(SetChangeListener.Change<? extends Path> change) {
+        if (change.wasRemoved()) {
+            fileWatcher.removeTarget(change.getElementRemoved());
+        }
+        if (change.wasAdded()) {
+            fileWatcher.addTarget(change.getElementAdded());
         }
-        fileWatcher.setTargets(targets);
     }
     
     private void updateEditorController(String messageKey, Path target) {
         final String targetFileName = target.getFileName().toString();
         editorController.getMessageLog().logInfoMessage(messageKey, targetFileName);
-        editorController.getErrorReport().forget();
         if (targetFileName.toLowerCase(Locale.ROOT).endsWith(".css")) { //NOI18N
+            CssStylesheetCache.invalidate(target);
             editorController.getErrorReport().cssFileDidChange(target);
             editorController.getFxomDocument().reapplyCSS(target);
         } else {
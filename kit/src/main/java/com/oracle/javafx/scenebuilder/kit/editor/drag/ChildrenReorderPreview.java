@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor.drag;
+
+import com.oracle.javafx.scenebuilder.kit.editor.drag.target.ContainerZDropTarget;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.DesignHierarchyMask;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+
+/**
+ * Previews a re-ordering inside a VBox or an HBox by moving the dragged
+ * nodes directly in the children of the box. The fxom document is left
+ * untouched : the preview must be reverted before the drop job is executed.
+ * 
+ * While the preview is applied, the order of the children differs from the
+ * fxom order. VBoxDriver and HBoxDriver resolve the hit child by scene graph
+ * object so that the drop targets they compute remain valid. Other containers
+ * (FlowPane, TextFlow...) locate their cracks from the fxom order : they keep
+ * the job based preview.
+ */
+class ChildrenReorderPreview {
+    
+    private static final PropertyName childrenName = new PropertyName("children"); //NOI18N
+    
+    private ObservableList<Node> movedChildren;
+    private final List<Node> movedNodes = new ArrayList<>();
+    private final List<Integer> movedNodeIndexes = new ArrayList<>();
+    
+    /**
+     * Moves the dragged nodes before the scene graph object of the target
+     * before child. Returns false and leaves the children untouched if the
+     * target cannot be previewed this way.
+     * 
+     * @param zTarget a drop target (never null)
+     * @param draggedObjects the dragged objects (never null)
+     * @return true if the preview has been applied.
+     */
+    public boolean apply(ContainerZDropTarget zTarget, List<FXOMObject> draggedObjects) {
+        assert zTarget != null;
+        assert draggedObjects != null;
+        assert isApplied() == false;
+        
+        final FXOMObject targetObject = zTarget.getTargetObject();
+        final Object targetSceneGraphObject = targetObject.getSceneGraphObject();
+        if (((targetSceneGraphObject instanceof VBox) == false)
+                && ((targetSceneGraphObject instanceof HBox) == false)) {
+            return false;
+        }
+        final DesignHierarchyMask m = new DesignHierarchyMask(targetObject);
+        if (childrenName.equals(m.getSubComponentPropertyName()) == false) {
+            return false;
+        }
+        
+        final ObservableList<Node> children 
+                = ((Pane) targetSceneGraphObject).getChildren();
+        final List<Node> draggedNodes = new ArrayList<>();
+        for (FXOMObject draggedObject : draggedObjects) {
+            final Object sceneGraphObject = draggedObject.getSceneGraphObject();
+            if ((draggedObject.getParentObject() != targetObject)
+                    || (children.contains(sceneGraphObject) == false)) {
+                return false;
+            }
+            draggedNodes.add((Node) sceneGraphObject);
+        }
+        if (draggedNodes.isEmpty()) {
+            return false;
+        }
+        final Node beforeNode;
+        if (zTarget.getBeforeChild() == null) {
+            beforeNode = null;
+        } else {
+            final Object sceneGraphObject = zTarget.getBeforeChild().getSceneGraphObject();
+            if ((children.contains(sceneGraphObject) == false)
+                    || draggedNodes.contains(sceneGraphObject)) {
+                return false;
+            }
+            beforeNode = (Node) sceneGraphObject;
+        }
+        
+        // Only the dragged nodes leave and re-enter the pane
+        movedChildren = children;
+        for (Node draggedNode : draggedNodes) {
+            movedNodeIndexes.add(children.indexOf(draggedNode));
+        }
+        movedNodes.addAll(draggedNodes);
+        children.removeAll(draggedNodes);
+        final int index = (beforeNode == null) ? children.size() : children.indexOf(beforeNode);
+        children.addAll(index, draggedNodes);
+        
+        return true;
+    }
+    
+    /**
+     * Puts the moved nodes back at their original indexes.
+     */
+    public void revert() {
+        if (movedChildren != null) {
+            movedChildren.removeAll(movedNodes);
+            // Re-inserting by ascending index puts each node back in place
+            final List<Integer> sortedIndexes = new ArrayList<>(movedNodeIndexes);
+            sortedIndexes.sort(null);
+            for (Integer index : sortedIndexes) {
+                final Node node = movedNodes.get(movedNodeIndexes.indexOf(index));
+                movedChildren.add(index, node);
+            }
+            movedChildren = null;
+            movedNodes.clear();
+            movedNodeIndexes.clear();
+        }
+    }
+    
+    public boolean isApplied() {
+        return movedChildren != null;
+    }
+}
@@ -32,10 +32,7 @@
 package com.oracle.javafx.scenebuilder.kit.editor.drag;
 
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
-import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleObjectProperty;
@@ -52,6 +49,7 @@ import com.oracle.javafx.scenebuilder.kit.editor.job.atomic.BackupSelectionJob;
 import com.oracle.javafx.scenebuilder.kit.editor.job.atomic.UpdateSelectionJob;
 import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
 import com.oracle.javafx.scenebuilder.kit.metadata.util.DesignHierarchyPath;
+import com.oracle.javafx.scenebuilder.kit.util.EditorScheduler;
 
 /**
  *
@@ -68,7 +66,7 @@ public class DragController {
     private boolean liveUpdateEnabled;
     private boolean dropAccepted;
     private AbstractDropTarget committedDropTarget;
-    private Timer mouseTimer;
+    private final Object mouseTimerKey = new Object();
     
     public DragController(EditorController editorController) {
         this.editorController = editorController;
@@ -83,7 +81,7 @@ public class DragController {
         assert backupSelectionJob == null;
         assert dropAccepted == false;
         assert committedDropTarget == null;
-        assert mouseTimer == null;
+        assert EditorScheduler.getInstance().isScheduled(mouseTimerKey) == false;
         
         liveUpdater = new LiveUpdater(dragSource, editorController);
         dragSourceProperty.set(dragSource);
@@ -127,10 +125,7 @@ public class DragController {
             editorController.getJobManager().push(batchJob);
         }
         
-        if (mouseTimer != null) {
-            mouseTimer.cancel();
-            mouseTimer = null;
-        }
+        EditorScheduler.getInstance().cancel(mouseTimerKey);
         liveUpdater = null;
         backupSelectionJob = null;
         committedDropTarget = null;
@@ -238,23 +233,8 @@ public class DragController {
     
     private static final long MOUSE_TIMER_DELAY = 500; // ms
     private void trackMouse() {
-        final boolean runAsDaemon = true;
-        
-        if (mouseTimer == null) {
-            mouseTimer = new Timer(runAsDaemon);
-        } else {
-            mouseTimer.cancel();
-            mouseTimer = new Timer(runAsDaemon);
-        }
-        
-        mouseTimer.schedule(new TimerTask() {
-            @Override public void run() {
-                Platform.runLater(() -> {
-                    mouseTimer = null;
-                    mouseDidStopMoving();
-                });
-            }
-        }, MOUSE_TIMER_DELAY);
+        EditorScheduler.getInstance().debounce(mouseTimerKey, MOUSE_TIMER_DELAY, 
+                this::mouseDidStopMoving);
     }
     
     /**
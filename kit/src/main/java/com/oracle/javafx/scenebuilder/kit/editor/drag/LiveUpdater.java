@@ -34,10 +34,19 @@ package com.oracle.javafx.scenebuilder.kit.editor.drag;
 import com.oracle.javafx.scenebuilder.kit.editor.EditorController;
 import com.oracle.javafx.scenebuilder.kit.editor.drag.source.AbstractDragSource;
 import com.oracle.javafx.scenebuilder.kit.editor.drag.target.AbstractDropTarget;
+import com.oracle.javafx.scenebuilder.kit.editor.drag.target.ContainerZDropTarget;
 import com.oracle.javafx.scenebuilder.kit.editor.job.Job;
 
 /**
- *
+ * Shows the effect of a drop while the drag gesture is in progress.
+ * 
+ * When the dragged nodes are re-ordered inside a VBox or an HBox, they are
+ * moved directly in the children of the box (see ChildrenReorderPreview) :
+ * fxom document is left untouched and no scene graph refresh occurs.
+ * Other drop targets are previewed by executing (and later undoing) their
+ * drop job.
+ * In both cases, the preview is reverted when the drop target is reset :
+ * DragController then commits the drop with a single job.
  */
 class LiveUpdater {
     
@@ -45,6 +54,7 @@ class LiveUpdater {
     private final EditorController editorController;
     private AbstractDropTarget dropTarget;
     private Job dropTargetMoveJob;
+    private final ChildrenReorderPreview reorderPreview = new ChildrenReorderPreview();
     
     public LiveUpdater(AbstractDragSource dragSource, EditorController editorController) {
         assert dragSource != null;
@@ -73,14 +83,21 @@ class LiveUpdater {
          */
         
         if (this.dropTarget != null) {
-            assert this.dropTargetMoveJob != null;
-            this.dropTargetMoveJob.undo();
+            if (this.dropTargetMoveJob != null) {
+                this.dropTargetMoveJob.undo();
+            } else {
+                reorderPreview.revert();
+            }
         }
         this.dropTarget = newDropTarget;
         this.dropTargetMoveJob = null;
         if (this.dropTarget != null) {
-            this.dropTargetMoveJob = this.dropTarget.makeDropJob(dragSource, editorController);
-            this.dropTargetMoveJob.execute();
+            if (((this.dropTarget instanceof ContainerZDropTarget) == false)
+                    || (reorderPreview.apply((ContainerZDropTarget) this.dropTarget, 
+                            dragSource.getDraggedObjects()) == false)) {
+                this.dropTargetMoveJob = this.dropTarget.makeDropJob(dragSource, editorController);
+                this.dropTargetMoveJob.execute();
+            }
         }
     }
     
@@ -177,4 +177,13 @@ public class BatchJob extends Job {
         return description;
     }
     
+    @Override
+    public long getRetainedSize() {
+        long result = super.getRetainedSize();
+        for (Job subJob : subJobs) {
+            result += subJob.getRetainedSize();
+        }
+        return result;
+    }
+    
 }
@@ -54,6 +54,18 @@ public abstract class CompositeJob extends Job {
         return description;
     }
 
+    @Override
+    public long getRetainedSize() {
+        long result = super.getRetainedSize();
+        final List<Job> subJobs = getSubJobs();
+        if (subJobs != null) {
+            for (Job subJob : subJobs) {
+                result += subJob.getRetainedSize();
+            }
+        }
+        return result;
+    }
+
     public abstract List<Job> getSubJobs();
     protected abstract String makeDescription();
 }
@@ -77,6 +77,15 @@ public class DeleteSelectionJob extends Job {
         return subJob.getDescription();
     }
 
+    @Override
+    public long getRetainedSize() {
+        long result = super.getRetainedSize();
+        if (subJob != null) {
+            result += subJob.getRetainedSize();
+        }
+        return result;
+    }
+
     Job getSubJob() {
         return subJob;
     }
@@ -32,12 +32,26 @@
 package com.oracle.javafx.scenebuilder.kit.editor.job;
 
 import com.oracle.javafx.scenebuilder.kit.editor.EditorController;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMCollection;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMInstance;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMProperty;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMPropertyC;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMPropertyT;
 
 /**
  *
  */
 public abstract class Job {
     
+    /*
+     * Rough per-item costs used by getRetainedSize() : an fxom object comes
+     * with its glue element and its scene graph object.
+     */
+    protected static final long JOB_RETAINED_SIZE = 128;
+    protected static final long OBJECT_RETAINED_SIZE = 2048;
+    protected static final long PROPERTY_RETAINED_SIZE = 256;
+    
     private final EditorController editorController;
     
     public Job(EditorController editorController) {
@@ -53,4 +67,69 @@ public abstract class Job {
     public abstract void undo();
     public abstract void redo();
     public abstract String getDescription();
+    
+    /**
+     * Returns an approximation of the memory (in bytes) retained by this job
+     * while it sits in the undo or redo stack. JobManager evaluates it once,
+     * when the job is pushed, and uses it to bound the size of the history.
+     * Subclasses holding fxom objects or properties should add their size
+     * with {@link #estimateRetainedSize(FXOMObject)}.
+     * 
+     * @return an approximate size in bytes.
+     */
+    public long getRetainedSize() {
+        return JOB_RETAINED_SIZE;
+    }
+    
+    /**
+     * Returns an approximation of the memory retained by the specified fxom
+     * object and its descendants.
+     * 
+     * @param fxomObject an fxom object (may be null)
+     * @return an approximate size in bytes.
+     */
+    protected static long estimateRetainedSize(FXOMObject fxomObject) {
+        long result = 0;
+        if (fxomObject != null) {
+            result += OBJECT_RETAINED_SIZE;
+            if (fxomObject instanceof FXOMInstance) {
+                final FXOMInstance fxomInstance = (FXOMInstance) fxomObject;
+                for (FXOMProperty p : fxomInstance.getProperties().values()) {
+                    result += estimateRetainedSize(p);
+                }
+            } else if (fxomObject instanceof FXOMCollection) {
+                final FXOMCollection fxomCollection = (FXOMCollection) fxomObject;
+                for (FXOMObject item : fxomCollection.getItems()) {
+                    result += estimateRetainedSize(item);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns an approximation of the memory retained by the specified fxom
+     * property and its values.
+     * 
+     * @param fxomProperty an fxom property (may be null)
+     * @return an approximate size in bytes.
+     */
+    protected static long estimateRetainedSize(FXOMProperty fxomProperty) {
+        long result = 0;
+        if (fxomProperty != null) {
+            result += PROPERTY_RETAINED_SIZE;
+            if (fxomProperty instanceof FXOMPropertyC) {
+                final FXOMPropertyC fxomPropertyC = (FXOMPropertyC) fxomProperty;
+                for (FXOMObject value : fxomPropertyC.getValues()) {
+                    result += estimateRetainedSize(value);
+                }
+            } else if (fxomProperty instanceof FXOMPropertyT) {
+                final String value = ((FXOMPropertyT) fxomProperty).getValue();
+                if (value != null) {
+                    result += 2L * value.length();
+                }
+            }
+        }
+        return result;
+    }
 }
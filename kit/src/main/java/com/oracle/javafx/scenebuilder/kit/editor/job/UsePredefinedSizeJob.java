@@ -142,6 +142,15 @@ public class UsePredefinedSizeJob extends Job {
         return description;
     }
 
+    @Override
+    public long getRetainedSize() {
+        long result = super.getRetainedSize();
+        for (ModifyObjectJob subJob : subJobs) {
+            result += subJob.getRetainedSize();
+        }
+        return result;
+    }
+
     private void buildSubJobs() {
 
         if (editorController.getFxomDocument() != null && (fxomObject instanceof FXOMInstance)) {
@@ -97,6 +97,11 @@ public class AddPropertyJob extends Job {
         assert property.getParentInstance() == targetInstance;
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + estimateRetainedSize(property);
+    }
+
     @Override
     public String getDescription() {
         // Should normally not reach the user
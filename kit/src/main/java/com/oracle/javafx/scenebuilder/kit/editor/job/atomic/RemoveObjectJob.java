@@ -87,5 +87,10 @@ public class RemoveObjectJob extends Job {
     public String getDescription() {
         return getClass().getSimpleName(); // Should not reach end user
     }
+
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + subJob.getRetainedSize();
+    }
     
 }
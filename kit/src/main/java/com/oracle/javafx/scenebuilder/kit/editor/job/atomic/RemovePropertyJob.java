@@ -105,6 +105,11 @@ public class RemovePropertyJob extends Job {
         assert targetProperty.getParentInstance() == null;
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + estimateRetainedSize(targetProperty);
+    }
+
     @Override
     public String getDescription() {
         // Should normally not reach the user
@@ -116,6 +116,15 @@ public class RemovePropertyValueJob extends Job {
         assert targetValue.getParentProperty() == null;
     }
 
+    @Override
+    public long getRetainedSize() {
+        long result = super.getRetainedSize() + estimateRetainedSize(targetValue);
+        if (removePropertyJob != null) {
+            result += removePropertyJob.getRetainedSize();
+        }
+        return result;
+    }
+
     @Override
     public String getDescription() {
         // Should normally not reach the user
@@ -117,6 +117,12 @@ public class ReplaceObjectJob extends Job {
         }
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + estimateRetainedSize(original)
+                + estimateRetainedSize(replacement);
+    }
+
     @Override
     public String getDescription() {
         return getClass().getSimpleName(); // Not intended for user
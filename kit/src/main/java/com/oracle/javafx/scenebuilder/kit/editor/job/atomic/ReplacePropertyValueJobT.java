@@ -98,6 +98,11 @@ public class ReplacePropertyValueJobT extends Job {
         newProperty.addToParentInstance(-1, hostInstance);
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + estimateRetainedSize(newValue);
+    }
+
     @Override
     public String getDescription() {
         return getClass().getSimpleName();
@@ -101,6 +101,12 @@ public class SetFxomRootJob extends Job {
         assert fxomDocument.getFxomRoot() == newRoot;
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + estimateRetainedSize(newRoot)
+                + estimateRetainedSize(oldRoot);
+    }
+
     @Override
     public String getDescription() {
         // Not expected to reach the user
@@ -121,6 +121,11 @@ public class ReIndexColumnContentJob extends Job {
         return "ReIndex Column Content"; //NOI18N
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + subJob.getRetainedSize();
+    }
+
     private void buildSubJobs() {
 
         // Create sub job
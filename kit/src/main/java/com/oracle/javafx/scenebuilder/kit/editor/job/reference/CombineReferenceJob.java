@@ -86,6 +86,11 @@ public class CombineReferenceJob  extends Job {
         return subJob.getDescription();
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + subJob.getRetainedSize();
+    }
+
 
     
 }
@@ -87,6 +87,11 @@ public class ExpandReferenceJob  extends Job {
         return subJob.getDescription();
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + subJob.getRetainedSize();
+    }
+
 
     
 }
@@ -86,6 +86,11 @@ public class FixToggleGroupReferenceJob  extends Job {
         return subJob.getDescription();
     }
 
+    @Override
+    public long getRetainedSize() {
+        return super.getRetainedSize() + subJob.getRetainedSize();
+    }
+
 
     
 }
@@ -113,4 +113,13 @@ public class UpdateReferencesJob extends Job {
     public String getDescription() {
         return subJob.getDescription();
     }
+
+    @Override
+    public long getRetainedSize() {
+        long result = subJob.getRetainedSize();
+        for (Job fixJob : fixJobs) {
+            result += fixJob.getRetainedSize();
+        }
+        return result;
+    }
 }
@@ -471,7 +471,7 @@ public class ContentPanelController extends AbstractFxmlPanelController
 
         Node displayNode = fxomDocument.getDisplayNode();
         if (displayNode != null) {
-            FXOMObject startObject = fxomDocument.getFxomRoot().searchWithSceneGraphObject(displayNode);
+            FXOMObject startObject = fxomDocument.searchWithSceneGraphObject(displayNode);
             if (startObject == null || excludes.contains(startObject)) {
                 return null;
             }
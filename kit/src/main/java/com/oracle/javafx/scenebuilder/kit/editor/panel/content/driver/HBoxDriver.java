@@ -67,10 +67,10 @@ public class HBoxDriver extends AbstractNodeDriver {
         final double localX = hbox.sceneToLocal(sceneX, sceneY, true /* rootScene */).getX();
         final int childCount = hbox.getChildrenUnmodifiable().size();
         
-        final int targetIndex;
+        final Node targetChild;
         if (childCount == 0) {
             // No children : we append
-            targetIndex = -1;
+            targetChild = null;
             
         } else {
             assert childCount >= 1;
@@ -86,23 +86,16 @@ public class HBoxDriver extends AbstractNodeDriver {
             }
             if (localX <= midX) {
                 assert childIndex-1 < childCount;
-                targetIndex = childIndex-1;
+                targetChild = hbox.getChildrenUnmodifiable().get(childIndex-1);
             } else {
-                targetIndex = -1;
+                targetChild = null;
             }
         }
         
-        final FXOMObject beforeChild;
-        if (targetIndex == -1) {
-            beforeChild = null;
-        } else {
-            final DesignHierarchyMask m = new DesignHierarchyMask(fxomObject);
-            if (targetIndex < m.getSubComponentCount()) {
-                beforeChild = m.getSubComponentAtIndex(targetIndex);
-            } else {
-                beforeChild = null;
-            }
-        }
+        // Hit child is resolved by scene graph object, not by index : 
+        // children order may differ from fxom order (see LiveUpdater)
+        final DesignHierarchyMask m = new DesignHierarchyMask(fxomObject);
+        final FXOMObject beforeChild = m.lookupSubComponent(targetChild);
         
         return new ContainerZDropTarget((FXOMInstance)fxomObject, beforeChild);
     }
@@ -115,11 +108,13 @@ public class HBoxDriver extends AbstractNodeDriver {
         assert dropTarget.getTargetObject().getSceneGraphObject() instanceof HBox;
         
         final ContainerZDropTarget zDropTarget = (ContainerZDropTarget) dropTarget;
+        final HBox hbox = (HBox) dropTarget.getTargetObject().getSceneGraphObject();
         final int targetIndex;
         if (zDropTarget.getBeforeChild() == null) {
             targetIndex = -1;
         } else {
-            targetIndex = zDropTarget.getBeforeChild().getIndexInParentProperty();
+            final Object beforeNode = zDropTarget.getBeforeChild().getSceneGraphObject();
+            targetIndex = hbox.getChildren().indexOf(beforeNode);
         }
         return new HBoxTring(contentPanelController, 
                 (FXOMInstance) dropTarget.getTargetObject(),
@@ -35,7 +35,6 @@ package com.oracle.javafx.scenebuilder.kit.editor.panel.content.guides;
 
 import com.oracle.javafx.scenebuilder.kit.util.MathUtils;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
@@ -45,15 +44,12 @@ import javafx.geometry.Point2D;
  */
 class HorizontalLineIndex {
     
-    private static final HorizontalLineComparator comparator = new HorizontalLineComparator();
-    
-    private final List<HorizontalSegment> lines = new ArrayList<>();
-    private boolean sorted;
+    // Lines are sorted by decreasing y (hence the negated key)
+    private final SortedSampleList<HorizontalSegment> lines = new SortedSampleList<>(l -> -l.getY1());
     
 
     public void addLine(HorizontalSegment s) {
         lines.add(s);
-        sorted = false;
     }
     
     public void clear() {
@@ -93,12 +89,11 @@ class HorizontalLineIndex {
     private List<HorizontalSegment> matchY(double targetY, double threshold) {
         assert threshold >= 0;
         
-        if (sorted == false) {
-            Collections.sort(lines, comparator);
-        }
         double bestDelta = Double.MAX_VALUE;
         final List<HorizontalSegment> result = new ArrayList<>();
-        for (HorizontalSegment l : lines) {
+        final int end = lines.getWindowEnd(-targetY, threshold);
+        for (int i = lines.getWindowStart(-targetY, threshold); i < end; i++) {
+            final HorizontalSegment l = lines.get(i);
             final double delta = Math.abs(l.getY1() - targetY);
             if (delta < threshold) {
                 if (MathUtils.equals(delta, bestDelta)) {
@@ -117,12 +112,11 @@ class HorizontalLineIndex {
     private List<HorizontalSegment> matchXY(double targetX, double targetY, double threshold) {
         assert threshold >= 0;
 
-        if (sorted == false) {
-            Collections.sort(lines, comparator);
-        }
         double bestDelta = Double.MAX_VALUE;
         final List<HorizontalSegment> result = new ArrayList<>();
-        for (HorizontalSegment l : lines) {
+        final int end = lines.getWindowEnd(-targetY, threshold);
+        for (int i = lines.getWindowStart(-targetY, threshold); i < end; i++) {
+            final HorizontalSegment l = lines.get(i);
             final double delta = Math.abs(l.getY1() - targetY);
             if (delta < threshold && targetX >= l.getX1() && targetX <= l.getX2()) {
                 if (MathUtils.equals(delta, bestDelta)) {
@@ -36,20 +36,19 @@ import com.oracle.javafx.scenebuilder.kit.util.MathUtils;
 import javafx.geometry.Point2D;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 class PointIndex {
 
-    private static final PointComparator comparator = new PointComparator();
-
-    private final List<Point2D> points = new ArrayList<>();
-    private boolean sorted;
+    // Points are sorted by distance to the origin : points matching a target
+    // are within [r - threshold, r + threshold] where r is the distance from
+    // the target to the origin (triangle inequality).
+    private final SortedSampleList<Point2D> points 
+            = new SortedSampleList<>(p -> Math.hypot(p.getX(), p.getY()));
 
 
     public void addPoint(Point2D point) {
         points.add(point);
-        sorted = false;
     }
 
     public void clear() {
@@ -63,12 +62,12 @@ class PointIndex {
     public List<Point2D> match(Point2D target, double threshold) {
         assert threshold >= 0;
 
-        if (sorted == false) {
-            Collections.sort(points, comparator);
-        }
         double bestDelta = Double.MAX_VALUE;
         final List<Point2D> result = new ArrayList<>();
-        for (Point2D point : points) {
+        final double targetRadius = Math.hypot(target.getX(), target.getY());
+        final int end = points.getWindowEnd(targetRadius, threshold);
+        for (int i = points.getWindowStart(targetRadius, threshold); i < end; i++) {
+            final Point2D point = points.get(i);
             final double delta = Math.sqrt(Math.pow(target.getX() - point.getX(), 2) + Math.pow(target.getY() - point.getY(), 2));
             if (delta < threshold) {
                 if (MathUtils.equals(delta, bestDelta)) {
@@ -34,7 +34,6 @@ package com.oracle.javafx.scenebuilder.kit.editor.panel.content.guides;
 
 import com.oracle.javafx.scenebuilder.kit.util.MathUtils;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -42,13 +41,12 @@ import java.util.List;
  */
 public class SegmentIndex {
     
-    private final List<AbstractSegment> segments = new ArrayList<>();
-    private boolean sorted;
+    private final SortedSampleList<AbstractSegment> segments 
+            = new SortedSampleList<>(AbstractSegment::getLength);
     
 
     public void addSegment(AbstractSegment s) {
         segments.add(s);
-        sorted = false;
     }
     
     public void clear() {
@@ -59,12 +57,11 @@ public class SegmentIndex {
         assert targetLength >= 0;
         assert threshold >= 0;
         
-        if (sorted == false) {
-            Collections.sort(segments);
-        }
         double bestDelta = Double.MAX_VALUE;
         final List<AbstractSegment> result = new ArrayList<>();
-        for (AbstractSegment s : segments) {
+        final int end = segments.getWindowEnd(targetLength, threshold);
+        for (int i = segments.getWindowStart(targetLength, threshold); i < end; i++) {
+            final AbstractSegment s = segments.get(i);
             final double delta = Math.abs(s.getLength() - targetLength);
             if (delta < threshold) {
                 if (MathUtils.equals(delta, bestDelta)) {
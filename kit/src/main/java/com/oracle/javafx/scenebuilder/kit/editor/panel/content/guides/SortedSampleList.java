@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor.panel.content.guides;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A list of samples sorted on a double key.
+ * 
+ * Samples are sorted once, on the first query following their addition.
+ * Samples whose key is close to a target value are then located by binary
+ * search : guide indexes only visit the samples of this window.
+ */
+class SortedSampleList<T> {
+    
+    private final ToDoubleFunction<T> keyFunction;
+    private final List<T> samples = new ArrayList<>();
+    private double[] keys = new double[0];
+    private boolean sorted = true;
+
+    public SortedSampleList(ToDoubleFunction<T> keyFunction) {
+        assert keyFunction != null;
+        this.keyFunction = keyFunction;
+    }
+    
+    public void add(T sample) {
+        samples.add(sample);
+        sorted = false;
+    }
+    
+    public void clear() {
+        samples.clear();
+        keys = new double[0];
+        sorted = true;
+    }
+    
+    public boolean isEmpty() {
+        return samples.isEmpty();
+    }
+    
+    public int size() {
+        return samples.size();
+    }
+    
+    /**
+     * Returns the sample at the specified index in key order.
+     * 
+     * @param index an index between 0 and size()
+     * @return the sample at index
+     */
+    public T get(int index) {
+        sortIfNeeded();
+        return samples.get(index);
+    }
+    
+    /**
+     * Returns the index of the first sample whose key is greater or equal
+     * to (targetKey - threshold).
+     * 
+     * @param targetKey target key
+     * @param threshold threshold (positive)
+     * @return the first index of the window (between 0 and size())
+     */
+    public int getWindowStart(double targetKey, double threshold) {
+        assert threshold >= 0;
+        sortIfNeeded();
+        
+        final double minKey = targetKey - threshold;
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid] < minKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Returns the index following the last sample whose key is lower or equal
+     * to (targetKey + threshold).
+     * 
+     * @param targetKey target key
+     * @param threshold threshold (positive)
+     * @return the end index of the window (exclusive, between 0 and size())
+     */
+    public int getWindowEnd(double targetKey, double threshold) {
+        assert threshold >= 0;
+        sortIfNeeded();
+        
+        final double maxKey = targetKey + threshold;
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid] <= maxKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private void sortIfNeeded() {
+        if (sorted == false) {
+            // Stable sort : samples with the same key keep their insertion order
+            samples.sort(Comparator.comparingDouble(keyFunction));
+            keys = new double[samples.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = keyFunction.applyAsDouble(samples.get(i));
+            }
+            sorted = true;
+        }
+    }
+}
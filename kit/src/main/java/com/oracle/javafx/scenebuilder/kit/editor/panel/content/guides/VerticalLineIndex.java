@@ -35,7 +35,6 @@ package com.oracle.javafx.scenebuilder.kit.editor.panel.content.guides;
 
 import com.oracle.javafx.scenebuilder.kit.util.MathUtils;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
@@ -45,15 +44,12 @@ import javafx.geometry.Point2D;
  */
 class VerticalLineIndex {
     
-    private static final VerticalLineComparator comparator = new VerticalLineComparator();
-    
-    private final List<VerticalSegment> lines = new ArrayList<>();
-    private boolean sorted;
+    // Lines are sorted by decreasing x (hence the negated key)
+    private final SortedSampleList<VerticalSegment> lines = new SortedSampleList<>(l -> -l.getX1());
     
 
     public void addLine(VerticalSegment s) {
         lines.add(s);
-        sorted = false;
     }
     
     public void clear() {
@@ -93,12 +89,11 @@ class VerticalLineIndex {
     private List<VerticalSegment> matchX(double targetX, double threshold) {
         assert threshold >= 0;
 
-        if (sorted == false) {
-            Collections.sort(lines, comparator);
-        }
         double bestDelta = Double.MAX_VALUE;
         final List<VerticalSegment> result = new ArrayList<>();
-        for (VerticalSegment l : lines) {
+        final int end = lines.getWindowEnd(-targetX, threshold);
+        for (int i = lines.getWindowStart(-targetX, threshold); i < end; i++) {
+            final VerticalSegment l = lines.get(i);
             final double delta = Math.abs(l.getX1() - targetX);
             if (delta < threshold) {
                 if (MathUtils.equals(delta, bestDelta)) {
@@ -117,12 +112,11 @@ class VerticalLineIndex {
     private List<VerticalSegment> matchXY(double targetX, double targetY, double threshold) {
         assert threshold >= 0;
 
-        if (sorted == false) {
-            Collections.sort(lines, comparator);
-        }
         double bestDelta = Double.MAX_VALUE;
         final List<VerticalSegment> result = new ArrayList<>();
-        for (VerticalSegment l : lines) {
+        final int end = lines.getWindowEnd(-targetX, threshold);
+        for (int i = lines.getWindowStart(-targetX, threshold); i < end; i++) {
+            final VerticalSegment l = lines.get(i);
             final double delta = Math.abs(l.getX1() - targetX);
             if (delta < threshold && targetY >= l.getY1() && targetY <= l.getY2()) {
                 if (MathUtils.equals(delta, bestDelta)) {
@@ -85,6 +85,8 @@ public class Picker {
         
         this.matches.clear();
         performPick(startNode, localX, localY);
+        // matches are collected bottom-most first
+        Collections.reverse(matches);
         return matches.isEmpty() ? null : Collections.unmodifiableList(matches);
     }
 
@@ -97,12 +99,17 @@ public class Picker {
 
         if ((excludes.contains(startNode) == false) && startNode.isVisible()){
             if (match(startNode, localX, localY)) {
-                matches.add(0, startNode);
+                matches.add(startNode);
             }
         
             if (startNode instanceof Parent) {
                 final Parent startParent = (Parent) startNode;
                 for (Node child : startParent.getChildrenUnmodifiable()) {
+                    // Subtrees which cannot contain (localX, localY) are skipped
+                    // without transforming the point
+                    if (mayContain(child, localX, localY) == false) {
+                        continue;
+                    }
                     final Point2D childLocalXY = child.parentToLocal(localX, localY);
                     // Note : childLocalXY may be null.
                     // For example, child is a Button with scaleX == 0.
@@ -114,6 +121,18 @@ public class Picker {
         }
     }
 
+    /*
+     * Returns false if node and its descendants cannot match (x, y) where
+     * (x, y) is expressed in the parent coordinates of node.
+     * boundsInParent encloses the node and all its descendants : it is
+     * enlarged by THRESHOLD to take lines into account.
+     */
+    private static boolean mayContain(Node node, double x, double y) {
+        final Bounds bounds = node.getBoundsInParent();
+        return (bounds.getMinX() - THRESHOLD <= x) && (x <= bounds.getMaxX() + THRESHOLD)
+                && (bounds.getMinY() - THRESHOLD <= y) && (y <= bounds.getMaxY() + THRESHOLD);
+    }
+
     private boolean match(Node node, double x, double y) {
         assert node != null;
         
@@ -52,6 +52,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -359,6 +360,13 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
      */
     protected abstract void updatePanel();
 
+    /**
+     * Redraws the visible cells without changing the tree items.
+     * Used when only the labels or graphics of the items may have changed.
+     * @treatAsPrivate
+     */
+    protected abstract void refreshPanel();
+
     /**
      * @treatAsPrivate
      */
@@ -501,10 +509,21 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
                 updateTreeItemsExpandedMap(rootTreeItem);
             }
             // FXOM document has rebuilt the scene graph. Tree items must all
-            // be updated because:
+            // be checked because:
+            //  - fxom objects may have been inserted, removed or moved
             //  - classes of scene graph objects may have mutated
             //  - infos displayed in the tree items may be obsoletes
-            updatePanel();
+            // When the fxom root is unchanged, existing tree items are
+            // patched in place : only the items of inserted or moved objects
+            // are created. Otherwise the whole tree is rebuilt.
+            final FXOMDocument fxomDocument = getEditorController().getFxomDocument();
+            if ((rootTreeItem != null) && (fxomDocument != null)
+                    && (rootTreeItem.getValue().getFxomObject() == fxomDocument.getFxomRoot())) {
+                synchronizeTreeItem(rootTreeItem);
+                refreshPanel();
+            } else {
+                updatePanel();
+            }
             editorSelectionDidChange();
         }
     }
@@ -514,7 +533,11 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
      */
     @Override
     protected void cssRevisionDidChange() {
-        sceneGraphRevisionDidChange();
+        // CSS does not change the fxom tree : only labels and graphics
+        // displayed by the cells may be obsoletes.
+        if (getPanelControl() != null) {
+            refreshPanel();
+        }
     }
 
     private void updateTreeItemsExpandedMap(TreeItem<HierarchyItem> treeItem) {
@@ -638,78 +661,14 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
     }
 
     private TreeItem<HierarchyItem> makeTreeItem(final FXOMObject fxomObject) {
-        final HierarchyItem item = new HierarchyItem(fxomObject);
-        final TreeItem<HierarchyItem> treeItem = new TreeItem<>(item);
-        // Set back the TreeItem expanded property if any
-        Boolean expanded = treeItemsExpandedMapProperty.get(fxomObject);
-        if (expanded != null) {
-            treeItem.setExpanded(expanded);
-        }
-        updateTreeItem(treeItem);
-        return treeItem;
-    }
-
-    private TreeItem<HierarchyItem> makeTreeItemExpansionPanel(
-            final DesignHierarchyMask owner,
-            final FXOMObject fxomObject,
-            final Accessory accessory) {
-        final HierarchyItemExpansionPanel item = new HierarchyItemExpansionPanel(owner, fxomObject, accessory);
-        final TreeItem<HierarchyItem> treeItem = new TreeItem<>(item);
-        // Set back the TreeItem expanded property if any
-        Boolean expanded = treeItemsExpandedMapProperty.get(fxomObject);
-        if (expanded != null) {
-            treeItem.setExpanded(expanded);
-        }
-        // Mask may be null for empty place holder
-        if (item.getMask() != null) {
-            updateTreeItem(treeItem);
-        }
-        return treeItem;
-    }
-
-    private TreeItem<HierarchyItem> makeTreeItemExpandedPanel(final DesignHierarchyMask owner, final FXOMObject fxomObject) {
-        final HierarchyItemExpandedPanel item = new HierarchyItemExpandedPanel(owner, fxomObject);
-        final TreeItem<HierarchyItem> treeItem = new TreeItem<>(item);
-        // Set back the TreeItem expanded property if any
-        Boolean expanded = treeItemsExpandedMapProperty.get(fxomObject);
-        if (expanded != null) {
-            treeItem.setExpanded(expanded);
-        }
-        // Mask may be null for empty place holder
-        if (item.getMask() != null) {
-            updateTreeItem(treeItem);
-        }
-        return treeItem;
+        return makeTreeItem(new HierarchyItem(fxomObject));
     }
 
-    private TreeItem<HierarchyItem> makeTreeItemBorderPane(
-            final DesignHierarchyMask owner,
-            final FXOMObject fxomObject,
-            final Accessory accessory) {
-        final HierarchyItemBorderPane item
-                = new HierarchyItemBorderPane(owner, fxomObject, accessory);
+    private TreeItem<HierarchyItem> makeTreeItem(final HierarchyItem item) {
         final TreeItem<HierarchyItem> treeItem = new TreeItem<>(item);
         // Set back the TreeItem expanded property if any
-        Boolean expanded = treeItemsExpandedMapProperty.get(fxomObject);
-        if (expanded != null) {
-            treeItem.setExpanded(expanded);
-        }
-        // Mask may be null for empty place holder
-        if (item.getMask() != null) {
-            updateTreeItem(treeItem);
-        }
-        return treeItem;
-    }
-
-    private TreeItem<HierarchyItem> makeTreeItemDialogPane(
-            final DesignHierarchyMask owner,
-            final FXOMObject fxomObject,
-            final Accessory accessory) {
-        final HierarchyItemDialogPane item
-                = new HierarchyItemDialogPane(owner, fxomObject, accessory);
-        final TreeItem<HierarchyItem> treeItem = new TreeItem<>(item);
-        // Set back the TreeItem expanded property if any
-        Boolean expanded = treeItemsExpandedMapProperty.get(fxomObject);
+        // (fxom object is null for empty place holders)
+        final Boolean expanded = treeItemsExpandedMapProperty.get(item.getFxomObject());
         if (expanded != null) {
             treeItem.setExpanded(expanded);
         }
@@ -729,18 +688,7 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
     protected TreeItem<HierarchyItem> makeTreeItemGraphic(
             final DesignHierarchyMask owner,
             final FXOMObject fxomObject) {
-        final HierarchyItemGraphic item
-                = new HierarchyItemGraphic(owner, fxomObject);
-        final TreeItem<HierarchyItem> treeItem = new TreeItem<>(item);
-        Boolean expanded = treeItemsExpandedMapProperty.get(fxomObject);
-        if (expanded != null) {
-            treeItem.setExpanded(expanded);
-        }
-        // Mask may be null for empty place holder
-        if (item.getMask() != null) {
-            updateTreeItem(treeItem);
-        }
-        return treeItem;
+        return makeTreeItem(new HierarchyItemGraphic(owner, fxomObject));
     }
 
     protected void updateTreeItems() {
@@ -824,16 +772,106 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
     }
 
     private void updateTreeItem(final TreeItem<HierarchyItem> treeItem) {
+        final DesignHierarchyMask mask = treeItem.getValue().getMask();
+        assert mask != null;
+
+        for (HierarchyItem childItem : makeChildItems(mask)) {
+            treeItem.getChildren().add(makeTreeItem(childItem));
+        }
+    }
 
+    /*
+     * Patches the children of the specified tree item so that they match
+     * the current state of the fxom tree. Tree items whose fxom object (or
+     * place holder position) did not change are kept, with their expanded
+     * state, and are synchronized recursively. Only the items of inserted
+     * or moved objects are created, and the children list is modified only
+     * if the resulting sequence differs.
+     */
+    private void synchronizeTreeItem(final TreeItem<HierarchyItem> treeItem) {
         final DesignHierarchyMask mask = treeItem.getValue().getMask();
         assert mask != null;
 
+        final List<TreeItem<HierarchyItem>> oldChildren = treeItem.getChildren();
+        final List<TreeItem<HierarchyItem>> newChildren = new ArrayList<>();
+        final Map<FXOMObject, TreeItem<HierarchyItem>> reusableItems = new IdentityHashMap<>();
+        final List<TreeItem<HierarchyItem>> reusablePlaceHolders = new ArrayList<>();
+        for (TreeItem<HierarchyItem> oldChild : oldChildren) {
+            final FXOMObject fxomObject = oldChild.getValue().getFxomObject();
+            if (fxomObject == null) {
+                reusablePlaceHolders.add(oldChild);
+            } else {
+                reusableItems.put(fxomObject, oldChild);
+            }
+        }
+
+        for (HierarchyItem childItem : makeChildItems(mask)) {
+            final FXOMObject fxomObject = childItem.getFxomObject();
+            TreeItem<HierarchyItem> childTreeItem;
+            if (fxomObject == null) {
+                childTreeItem = null;
+                for (TreeItem<HierarchyItem> candidate : reusablePlaceHolders) {
+                    if (isSameSlot(candidate.getValue(), childItem)) {
+                        childTreeItem = candidate;
+                        break;
+                    }
+                }
+                if (childTreeItem != null) {
+                    reusablePlaceHolders.remove(childTreeItem);
+                }
+            } else {
+                childTreeItem = reusableItems.get(fxomObject);
+                if ((childTreeItem != null)
+                        && isSameSlot(childTreeItem.getValue(), childItem)) {
+                    reusableItems.remove(fxomObject);
+                    synchronizeTreeItem(childTreeItem);
+                } else {
+                    childTreeItem = null;
+                }
+            }
+            if (childTreeItem == null) {
+                childTreeItem = makeTreeItem(childItem);
+            }
+            newChildren.add(childTreeItem);
+        }
+
+        boolean changed = newChildren.size() != oldChildren.size();
+        for (int i = 0, count = newChildren.size(); (changed == false) && (i < count); i++) {
+            changed = newChildren.get(i) != oldChildren.get(i);
+        }
+        if (changed) {
+            treeItem.getChildren().setAll(newChildren);
+        }
+    }
+
+    private static boolean isSameSlot(HierarchyItem item1, HierarchyItem item2) {
+        final boolean result;
+        if (item1.getClass() != item2.getClass()) {
+            result = false;
+        } else if (item1 instanceof HierarchyItemBorderPane) {
+            result = ((HierarchyItemBorderPane) item1).getPosition()
+                    == ((HierarchyItemBorderPane) item2).getPosition();
+        } else if (item1 instanceof HierarchyItemDialogPane) {
+            result = ((HierarchyItemDialogPane) item1).getAccessory()
+                    == ((HierarchyItemDialogPane) item2).getAccessory();
+        } else if (item1 instanceof HierarchyItemExpansionPanel) {
+            result = ((HierarchyItemExpansionPanel) item1).getAccessory()
+                    == ((HierarchyItemExpansionPanel) item2).getAccessory();
+        } else {
+            result = true;
+        }
+        return result;
+    }
+
+    private List<HierarchyItem> makeChildItems(final DesignHierarchyMask mask) {
+        final List<HierarchyItem> result = new ArrayList<>();
+
         // Graphic (displayed at first position)
         //---------------------------------
         if (mask.isAcceptingAccessory(Accessory.GRAPHIC)) {
             final FXOMObject value = mask.getAccessory(Accessory.GRAPHIC);
             if (value != null) {
-                treeItem.getChildren().add(makeTreeItemGraphic(mask, value));
+                result.add(new HierarchyItemGraphic(mask, value));
             }
         }
 
@@ -842,7 +880,7 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
         if (mask.isAcceptingAccessory(Accessory.TOOLTIP)) {
             final FXOMObject value = mask.getAccessory(Accessory.TOOLTIP);
             if (value != null) {
-                treeItem.getChildren().add(makeTreeItem(value));
+                result.add(new HierarchyItem(value));
             }
         }
 
@@ -851,7 +889,7 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
         if (mask.isAcceptingAccessory(Accessory.CONTEXT_MENU)) {
             final FXOMObject value = mask.getAccessory(Accessory.CONTEXT_MENU);
             if (value != null) {
-                treeItem.getChildren().add(makeTreeItem(value));
+                result.add(new HierarchyItem(value));
             }
         }
 
@@ -860,13 +898,13 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
         if (mask.isAcceptingAccessory(Accessory.XAXIS)) {
             final FXOMObject value = mask.getAccessory(Accessory.XAXIS);
             if (value != null) {
-                treeItem.getChildren().add(makeTreeItem(value));
+                result.add(new HierarchyItem(value));
             }
         }
         if (mask.isAcceptingAccessory(Accessory.YAXIS)) {
             final FXOMObject value = mask.getAccessory(Accessory.YAXIS);
             if (value != null) {
-                treeItem.getChildren().add(makeTreeItem(value));
+                result.add(new HierarchyItem(value));
             }
         }
 
@@ -877,14 +915,14 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
         }) {
             if (mask.isAcceptingAccessory(accessory)) {
                 final FXOMObject value = mask.getAccessory(accessory);
-                treeItem.getChildren().add(makeTreeItemExpansionPanel(mask, value, accessory));
+                result.add(new HierarchyItemExpansionPanel(mask, value, accessory));
             }
         }
 
         // Gluon ExpandedPanel
         if (mask.isAcceptingAccessory(Accessory.EX_CONTENT)) {
             final FXOMObject value = mask.getAccessory(Accessory.EX_CONTENT);
-            treeItem.getChildren().add(makeTreeItemExpandedPanel(mask, value));
+            result.add(new HierarchyItemExpandedPanel(mask, value));
         }
 
         // Content (ScrollPane, Tab...)
@@ -892,21 +930,21 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
         if (mask.isAcceptingAccessory(Accessory.CONTENT)) {
             final FXOMObject value = mask.getAccessory(Accessory.CONTENT);
             if (value != null) {
-                treeItem.getChildren().add(makeTreeItem(value));
+                result.add(new HierarchyItem(value));
             }
         }
 
         if (mask.isAcceptingAccessory(Accessory.ROOT)) {
             final FXOMObject value = mask.getAccessory(Accessory.ROOT);
             if (value != null) {
-                treeItem.getChildren().add(makeTreeItem(value));
+                result.add(new HierarchyItem(value));
             }
         }
 
         if (mask.isAcceptingAccessory(Accessory.SCENE)) {
             final FXOMObject value = mask.getAccessory(Accessory.SCENE);
             if (value != null) {
-                treeItem.getChildren().add(makeTreeItem(value));
+                result.add(new HierarchyItem(value));
             }
         }
 
@@ -920,7 +958,7 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
             Accessory.BOTTOM}) {
             if (mask.isAcceptingAccessory(accessory)) {
                 final FXOMObject value = mask.getAccessory(accessory);
-                treeItem.getChildren().add(makeTreeItemBorderPane(mask, value, accessory));
+                result.add(new HierarchyItemBorderPane(mask, value, accessory));
             }
         }
 
@@ -933,7 +971,7 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
             Accessory.EXPANDABLE_CONTENT}) {
             if (mask.isAcceptingAccessory(accessory)) {
                 final FXOMObject value = mask.getAccessory(accessory);
-                treeItem.getChildren().add(makeTreeItemDialogPane(mask, value, accessory));
+                result.add(new HierarchyItemDialogPane(mask, value, accessory));
             }
         }
 
@@ -942,9 +980,11 @@ public abstract class AbstractHierarchyPanelController extends AbstractFxmlPanel
         if (mask.isAcceptingSubComponent()) {
             for (int i = 0, count = mask.getSubComponentCount(); i < count; i++) {
                 final FXOMObject value = mask.getSubComponentAtIndex(i);
-                treeItem.getChildren().add(makeTreeItem(value));
+                result.add(new HierarchyItem(value));
             }
         }
+
+        return result;
     }
 
     private List<TreeItem<HierarchyItem>> lookupTreeItem(List<FXOMObject> fxomObjects) {
@@ -33,9 +33,7 @@ package com.oracle.javafx.scenebuilder.kit.editor.panel.hierarchy;
 
 import com.oracle.javafx.scenebuilder.kit.editor.panel.hierarchy.AbstractHierarchyPanelController.BorderSide;
 import com.oracle.javafx.scenebuilder.kit.metadata.util.DesignHierarchyMask;
-import java.util.Timer;
-import java.util.TimerTask;
-import javafx.application.Platform;
+import com.oracle.javafx.scenebuilder.kit.util.EditorScheduler;
 import javafx.scene.control.Cell;
 import javafx.scene.control.TreeItem;
 
@@ -46,6 +44,7 @@ import javafx.scene.control.TreeItem;
  * - graphic tree item place holder
  *
  * when DND within hierarchy.
+ * Tasks are run by the shared editor scheduler.
  *
  * p
  * @treatAsPrivate
@@ -54,8 +53,8 @@ public class HierarchyTaskScheduler {
 
     private final AbstractHierarchyPanelController panelController;
     private final long timerDelay = 1000;
-    private Timer timer;
-    private TimerTask timerTask;
+    private final Object expandTaskKey = new Object();
+    private final Object addEmptyGraphicTaskKey = new Object();
     private boolean isAddEmptyGraphicTaskScheduled = false;
 
     public HierarchyTaskScheduler(final AbstractHierarchyPanelController c) {
@@ -64,9 +63,8 @@ public class HierarchyTaskScheduler {
     }
 
     public void scheduleExpandTask(final TreeItem<HierarchyItem> treeItem) {
-        timerTask = new HierarchyTimerTask(treeItem);
-        assert timerTask != null;
-        getTimer().schedule(timerTask, timerDelay);
+        EditorScheduler.getInstance().debounce(expandTaskKey, timerDelay,
+                () -> treeItem.setExpanded(true));
     }
 
     public void scheduleAddEmptyGraphicTask(final TreeItem<HierarchyItem> treeItem) {
@@ -74,67 +72,27 @@ public class HierarchyTaskScheduler {
         assert item != null;
         final DesignHierarchyMask owner = item.getMask();
         assert owner != null;
-        timerTask = new TimerTask() {
-            @Override
-            public void run() {
-                // JavaFX data should only be accessed on the JavaFX thread. 
-                // => we must wrap the code into a Runnable object and call the Platform.runLater
-                Platform.runLater(() -> {
-                    final TreeItem<HierarchyItem> graphicTreeItem
-                            = panelController.makeTreeItemGraphic(owner, null);
-                    // Add Graphic at first position
-                    treeItem.getChildren().add(0, graphicTreeItem);
-                    treeItem.setExpanded(true);
-                    final Cell<?> cell = panelController.getCell(treeItem);
-                    assert cell != null;
-                    panelController.setBorder(cell, BorderSide.TOP_RIGHT_BOTTOM_LEFT);
-                    isAddEmptyGraphicTaskScheduled = false;
-                });
-            }
-        };
-        assert timerTask != null;
-        getTimer().schedule(timerTask, timerDelay);
+        EditorScheduler.getInstance().debounce(addEmptyGraphicTaskKey, timerDelay, () -> {
+            final TreeItem<HierarchyItem> graphicTreeItem
+                    = panelController.makeTreeItemGraphic(owner, null);
+            // Add Graphic at first position
+            treeItem.getChildren().add(0, graphicTreeItem);
+            treeItem.setExpanded(true);
+            final Cell<?> cell = panelController.getCell(treeItem);
+            assert cell != null;
+            panelController.setBorder(cell, BorderSide.TOP_RIGHT_BOTTOM_LEFT);
+            isAddEmptyGraphicTaskScheduled = false;
+        });
         isAddEmptyGraphicTaskScheduled = true;
     }
 
     public void cancelTimer() {
-        if (timer != null) {
-            timer.cancel();
-            isAddEmptyGraphicTaskScheduled = false;
-            timer = null;
-        }
+        EditorScheduler.getInstance().cancel(expandTaskKey);
+        EditorScheduler.getInstance().cancel(addEmptyGraphicTaskKey);
+        isAddEmptyGraphicTaskScheduled = false;
     }
 
     public boolean isAddEmptyGraphicTaskScheduled() {
         return isAddEmptyGraphicTaskScheduled;
     }
-
-    private Timer getTimer() {
-        if (timer == null) {
-            timer = new Timer(true);
-        }
-        return timer;
-    }
-
-    /**
-     * *************************************************************************
-     * Static inner class
-     * *************************************************************************
-     */
-    private static class HierarchyTimerTask extends TimerTask {
-
-        private final TreeItem<HierarchyItem> treeItem;
-
-        HierarchyTimerTask(final TreeItem<HierarchyItem> treeItem) {
-            super();
-            this.treeItem = treeItem;
-        }
-
-        @Override
-        public void run() {
-            // JavaFX data should only be accessed on the JavaFX thread. 
-            // => we must wrap the code into a Runnable object and call the Platform.runLater
-            Platform.runLater(() -> treeItem.setExpanded(true));
-        }
-    }
 }
@@ -69,7 +69,6 @@ import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
 
 import java.net.URL;
 import java.util.List;
-import java.util.Set;
 
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.WeakChangeListener;
@@ -677,8 +676,7 @@ public class HierarchyTreeCell<T extends HierarchyItem> extends TreeCell<Hierarc
 
                             // Check duplicared fx ids
                             final FXOMDocument fxomDocument = editorController.getFxomDocument();
-                            final Set<String> fxIds2 = fxomDocument.collectFxIds().keySet();
-                            if (fxIds2.contains(fxId)) {
+                            if (fxomDocument.getFxIdIndex().contains(fxId)) {
                                 editorController.getMessageLog().logWarningMessage(
                                         "log.warning.duplicate.fxid", fxId);
                             }
@@ -99,6 +99,13 @@ public class HierarchyTreeViewController extends AbstractHierarchyPanelControlle
         }
     }
 
+    @Override
+    protected void refreshPanel() {
+        if (treeView != null) {
+            treeView.refresh();
+        }
+    }
+
     @Override
     protected void clearSelection() {
         assert treeView != null;
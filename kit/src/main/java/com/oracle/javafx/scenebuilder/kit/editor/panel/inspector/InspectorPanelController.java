@@ -2118,7 +2118,7 @@ public class InspectorPanelController extends AbstractFxmlPanelController {
     }
 
     private List<String> getFxIdsInUse() {
-        FXOMFxIdIndex fxomIndex = new FXOMFxIdIndex(getEditorController().getFxomDocument());
+        FXOMFxIdIndex fxomIndex = getEditorController().getFxomDocument().getFxIdIndex();
         return new ArrayList<>(fxomIndex.getFxIds().keySet());
     }
 
@@ -2135,7 +2135,7 @@ public class InspectorPanelController extends AbstractFxmlPanelController {
     }
 
     private List<String> getSuggestedToggleGroups() {
-        FXOMFxIdIndex fxomIndex = new FXOMFxIdIndex(getEditorController().getFxomDocument());
+        FXOMFxIdIndex fxomIndex = getEditorController().getFxomDocument().getFxIdIndex();
         List<FXOMInstance> tgs = fxomIndex.collectToggleGroups();
         ArrayList<String> tgNames = new ArrayList<>();
         for (FXOMInstance tg : tgs) {
@@ -94,7 +94,7 @@ public class FxIdEditor extends AutoSuggestEditor {
     }
 
     private List<String> getFxIdsInUse() {
-        FXOMFxIdIndex fxomIndex = new FXOMFxIdIndex(editorController.getFxomDocument());
+        FXOMFxIdIndex fxomIndex = editorController.getFxomDocument().getFxIdIndex();
         return new ArrayList<>(fxomIndex.getFxIds().keySet());
     }
 
@@ -49,6 +49,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -59,10 +60,9 @@ import com.oracle.javafx.scenebuilder.kit.fxom.FXOMDocument;
 import com.oracle.javafx.scenebuilder.kit.i18n.I18N;
 import com.oracle.javafx.scenebuilder.kit.library.BuiltinLibrary;
 import com.oracle.javafx.scenebuilder.kit.library.user.UserLibrary;
-import com.oracle.javafx.scenebuilder.kit.library.util.FolderExplorer;
-import com.oracle.javafx.scenebuilder.kit.library.util.JarExplorer;
 import com.oracle.javafx.scenebuilder.kit.library.util.JarReport;
 import com.oracle.javafx.scenebuilder.kit.library.util.JarReportEntry;
+import com.oracle.javafx.scenebuilder.kit.library.util.LibraryExplorer;
 import com.oracle.javafx.scenebuilder.kit.preferences.MavenPreferences;
 
 import javafx.application.Platform;
@@ -400,26 +400,24 @@ public class ImportWindowController extends AbstractModalDialog {
                 // jar files stored in the user lib dir.
                 final List<File> allFiles = buildListOfAllFiles(importFiles);
                 final URLClassLoader classLoader = getClassLoaderForFiles(allFiles);
-                int index = 1;
+                final List<Path> importPaths = new ArrayList<>();
                 for (File file : importFiles) {
-                    if (isCancelled()) {
-                        updateMessage(I18N.getString("import.work.cancelled"));
-                        break;
-                    }
-                    updateMessage(I18N.getString("import.work.exploring", file.getName()));
-//                    System.out.println("[" + index + "/" + max + "] Exploring file " + file.getName()); //NOI18N
-                    if (file.isDirectory()) {
-                        final FolderExplorer explorer = new FolderExplorer(file.toPath());
-                        final JarReport jarReport = explorer.explore(classLoader);
-                        res.add(jarReport);
-                    }
-                    else {
-                        final JarExplorer explorer = new JarExplorer(Paths.get(file.getAbsolutePath()));
-                        final JarReport jarReport = explorer.explore(classLoader);
-                        res.add(jarReport);
+                    importPaths.add(Paths.get(file.getAbsolutePath()));
+                }
+                // Jars are explored in parallel: progress is updated as
+                // soon as each of them is done. Exploration stops as soon as
+                // the task is cancelled.
+                final AtomicInteger exploredCount = new AtomicInteger();
+                final LibraryExplorer explorer = new LibraryExplorer(importPaths);
+                res.addAll(explorer.explore(classLoader, jarReport -> {
+                    if (isCancelled() == false) {
+                        final int index = exploredCount.incrementAndGet();
+                        updateMessage(I18N.getString("import.work.exploring", jarReport.getJar().getFileName()));
+                        updateProgress(index, numOfImportedJar);
                     }
-                    updateProgress(index, numOfImportedJar);
-                    index++;
+                }, this::isCancelled));
+                if (isCancelled()) {
+                    updateMessage(I18N.getString("import.work.cancelled"));
                 }
 
                 updateProgress(numOfImportedJar, numOfImportedJar);
@@ -50,8 +50,6 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.TreeSet;
 
 import com.oracle.javafx.scenebuilder.kit.editor.EditorController;
@@ -76,8 +74,8 @@ import com.oracle.javafx.scenebuilder.kit.library.user.UserLibrary;
 import com.oracle.javafx.scenebuilder.kit.metadata.util.PrefixedValue;
 import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
 import com.oracle.javafx.scenebuilder.kit.preferences.MavenPreferences;
+import com.oracle.javafx.scenebuilder.kit.util.EditorScheduler;
 
-import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.ListChangeListener;
 import javafx.event.EventHandler;
@@ -115,6 +113,7 @@ public class LibraryPanelController extends AbstractFxmlPanelController {
     // we want to get Custom section opened.
     String sectionNameToKeepOpened = null;
     boolean initiateImportDialog = false;
+    private final Object importDialogTaskKey = new Object();
     final List<File> jarAndFxmlFiles = new ArrayList<>();
     private String userLibraryPathString = null;
     private final MavenPreferences mavenPreferences;
@@ -606,7 +605,7 @@ public class LibraryPanelController extends AbstractFxmlPanelController {
                         // In order to silence (mask ?) this issue there's:
                         // - the delegation to setOnDragExited of the call of processImportJarFxml
                         // so that current handler returns fast.
-                        // - the runLater in setOnDragExited, wrapped with a Timer set with a 1 second delay
+                        // - the delayed call in setOnDragExited, scheduled by the editor scheduler
                         // Is there a way to be notified when the import dialog
                         // can be run without interfering with the drag and drop sequence ?
                         initiateImportDialog = true;
@@ -619,19 +618,8 @@ public class LibraryPanelController extends AbstractFxmlPanelController {
 //                System.out.println("libPane onDragExited");
             if (initiateImportDialog) {
                 initiateImportDialog = false;
-                final Timer timer = new Timer(true);
-                final TimerTask timerTask = new TimerTask() {
-
-                    @Override
-                    public void run() {
-                        Platform.runLater(() -> processImportJarFxml(jarAndFxmlFiles));
-                        // I don't need to use the timer later on so by
-                        // cancelling it right here I'm sure free resources
-                        // that otherwise would prevent the JVM from exiting.
-                        timer.cancel();
-                    }
-                };
-                timer.schedule(timerTask, 600); // milliseconds
+                EditorScheduler.getInstance().debounce(importDialogTaskKey, 600, // milliseconds
+                        () -> processImportJarFxml(jarAndFxmlFiles));
             }
         });
         
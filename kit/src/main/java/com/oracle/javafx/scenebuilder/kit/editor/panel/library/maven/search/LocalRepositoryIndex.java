@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor.panel.library.maven.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Index of the artifacts (groupId:artifactId) available in a local maven
+ * repository.
+ * 
+ * The index records the modification time and the sub directories of each
+ * directory of the repository. A refresh only lists the directories whose
+ * modification time changed since the previous refresh: other directories
+ * are simply checked. Refreshes run in background and the index is saved
+ * to disk so that it is immediately available at next launch.
+ * 
+ * Queries are served from memory using a trigram index. Artifacts discovered
+ * by a refresh are passed to the discovery listeners as soon as they are
+ * found, before the index is updated.
+ */
+public class LocalRepositoryIndex {
+    
+    private static final Logger LOGGER = Logger.getLogger(LocalRepositoryIndex.class.getName());
+    
+    private static final int MAGIC = 0x53424d49; // SBMI
+    private static final int VERSION = 1;
+    private static final int GRAM_LENGTH = 3;
+    private static final long REFRESH_PERIOD = 30_000; // ms
+    
+    private static final Map<Path, LocalRepositoryIndex> indexes = new HashMap<>();
+    private static ExecutorService refreshExecutor;
+    
+    private final Path repository;
+    private final Path indexFile;
+    private Map<String, DirectoryRecord> directories = new HashMap<>();
+    private List<String> coordinates = Collections.emptyList();
+    private Map<String, int[]> gramIndex = Collections.emptyMap();
+    private boolean loaded;
+    private CompletableFuture<Void> refresh;
+    private long lastRefreshTime;
+    private final List<Consumer<String>> discoveryListeners = new ArrayList<>();
+    
+    // Package-private for unit tests
+    LocalRepositoryIndex(Path repository, Path indexFile) {
+        this.repository = repository;
+        this.indexFile = indexFile;
+    }
+    
+    /**
+     * Returns the index of the specified repository.
+     * 
+     * @param repository path of a local maven repository
+     * @param indexFile file where the index is saved (null if not persistent)
+     * @return the index of the repository (never null)
+     */
+    public static synchronized LocalRepositoryIndex getIndex(Path repository, Path indexFile) {
+        assert repository != null;
+        return indexes.computeIfAbsent(repository.toAbsolutePath().normalize(), 
+                r -> new LocalRepositoryIndex(r, indexFile));
+    }
+    
+    /**
+     * Loads the saved index if it has not been loaded yet.
+     */
+    public synchronized void ensureLoaded() {
+        if (loaded == false) {
+            loaded = true;
+            if (indexFile != null) {
+                updateDirectories(load());
+            }
+        }
+    }
+    
+    /**
+     * Refreshes this index in background. If a refresh is already running
+     * or has been done recently, no new refresh is started.
+     * 
+     * @return a future completed when the index is up to date
+     */
+    public synchronized CompletableFuture<Void> refresh() {
+        final boolean recent = System.currentTimeMillis() - lastRefreshTime < REFRESH_PERIOD;
+        if ((refresh == null) || (refresh.isDone() && (recent == false))) {
+            refresh = CompletableFuture.runAsync(this::runRefresh, getRefreshExecutor());
+        }
+        return refresh;
+    }
+    
+    /**
+     * Adds a listener invoked (from the refresh thread) with the coordinates
+     * of each artifact discovered by a refresh.
+     * 
+     * @param listener a consumer of coordinates (never null)
+     */
+    public synchronized void addDiscoveryListener(Consumer<String> listener) {
+        assert listener != null;
+        discoveryListeners.add(listener);
+    }
+    
+    public synchronized void removeDiscoveryListener(Consumer<String> listener) {
+        discoveryListeners.remove(listener);
+    }
+    
+    /**
+     * Returns the coordinates (groupId:artifactId:version range) which contain
+     * the specified query.
+     * 
+     * @param query the searched string (never null)
+     * @return the matching coordinates (never null)
+     */
+    public List<String> search(String query) {
+        assert query != null;
+        
+        final List<String> currentCoordinates;
+        final Map<String, int[]> currentGramIndex;
+        synchronized(this) {
+            currentCoordinates = coordinates;
+            currentGramIndex = gramIndex;
+        }
+        
+        final List<String> result = new ArrayList<>();
+        if (query.length() < GRAM_LENGTH) {
+            for (String c : currentCoordinates) {
+                if (c.contains(query)) {
+                    result.add(c);
+                }
+            }
+        } else {
+            // Candidates are the coordinates containing the rarest gram of query
+            int[] candidates = null;
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                final int[] postings = currentGramIndex.get(query.substring(i, i + GRAM_LENGTH));
+                if (postings == null) {
+                    candidates = new int[0];
+                    break;
+                }
+                if ((candidates == null) || (postings.length < candidates.length)) {
+                    candidates = postings;
+                }
+            }
+            assert candidates != null;
+            for (int i : candidates) {
+                final String c = currentCoordinates.get(i);
+                if (c.contains(query)) {
+                    result.add(c);
+                }
+            }
+        }
+        
+        return result;
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private static synchronized ExecutorService getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+                final Thread result = new Thread(r, LocalRepositoryIndex.class.getSimpleName());
+                result.setDaemon(true);
+                result.setPriority(Thread.MIN_PRIORITY);
+                return result;
+            });
+        }
+        return refreshExecutor;
+    }
+    
+    // Package-private for unit tests
+    void runRefresh() {
+        final Map<String, DirectoryRecord> oldDirectories;
+        final Set<String> oldCoordinates;
+        
+        // Makes the saved index available while the repository is checked
+        ensureLoaded();
+        synchronized(this) {
+            oldDirectories = directories;
+            oldCoordinates = new HashSet<>(coordinates);
+        }
+        
+        final Map<String, DirectoryRecord> newDirectories = new HashMap<>();
+        if (Files.isDirectory(repository)) {
+            scanDirectory("", repository, oldDirectories, newDirectories, oldCoordinates); //NOI18N
+        }
+        
+        if (newDirectories.equals(oldDirectories) == false) {
+            updateDirectories(newDirectories);
+            if (indexFile != null) {
+                save(newDirectories);
+            }
+        }
+        synchronized(this) {
+            lastRefreshTime = System.currentTimeMillis();
+        }
+    }
+    
+    private void scanDirectory(String relativePath, Path directory, 
+            Map<String, DirectoryRecord> oldDirectories, Map<String, DirectoryRecord> newDirectories,
+            Set<String> oldCoordinates) {
+        long lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(directory, LinkOption.NOFOLLOW_LINKS).toMillis();
+        } catch(IOException x) {
+            // Directory has just been deleted
+            return;
+        }
+        
+        DirectoryRecord record = oldDirectories.get(relativePath);
+        if ((record == null) || (record.lastModified != lastModified)) {
+            record = listDirectory(directory, lastModified);
+            if (record.containsJar) {
+                final String coordinate = makeCoordinate(relativePath);
+                if ((coordinate != null) && (oldCoordinates.contains(coordinate) == false)) {
+                    fireDiscovery(coordinate);
+                }
+            }
+        }
+        newDirectories.put(relativePath, record);
+        
+        for (String subdirectory : record.subdirectories) {
+            final String subPath = relativePath.isEmpty() 
+                    ? subdirectory : relativePath + "/" + subdirectory; //NOI18N
+            scanDirectory(subPath, directory.resolve(subdirectory), 
+                    oldDirectories, newDirectories, oldCoordinates);
+        }
+    }
+    
+    private static DirectoryRecord listDirectory(Path directory, long lastModified) {
+        final List<String> subdirectories = new ArrayList<>();
+        boolean containsJar = false;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(directory)) {
+            for (Path p : ds) {
+                final String name = p.getFileName().toString();
+                if (Files.isDirectory(p, LinkOption.NOFOLLOW_LINKS)) {
+                    subdirectories.add(name);
+                } else if (name.endsWith(".jar")) { //NOI18N
+                    containsJar = true;
+                }
+            }
+        } catch(IOException x) {
+            // Unreadable directory : considered as empty
+        }
+        Collections.sort(subdirectories);
+        return new DirectoryRecord(lastModified, containsJar, subdirectories);
+    }
+    
+    private void updateDirectories(Map<String, DirectoryRecord> newDirectories) {
+        // groupId/artifactId/version directories containing a jar
+        final TreeSet<String> newCoordinates = new TreeSet<>();
+        for (Map.Entry<String, DirectoryRecord> e : newDirectories.entrySet()) {
+            if (e.getValue().containsJar) {
+                final String coordinate = makeCoordinate(e.getKey());
+                if (coordinate != null) {
+                    newCoordinates.add(coordinate);
+                }
+            }
+        }
+        
+        final List<String> coordinateList = new ArrayList<>(newCoordinates);
+        final Map<String, List<Integer>> grams = new HashMap<>();
+        for (int i = 0; i < coordinateList.size(); i++) {
+            final String c = coordinateList.get(i);
+            for (int j = 0; j + GRAM_LENGTH <= c.length(); j++) {
+                final List<Integer> postings 
+                        = grams.computeIfAbsent(c.substring(j, j + GRAM_LENGTH), k -> new ArrayList<>());
+                if (postings.isEmpty() || (postings.get(postings.size() - 1) != i)) {
+                    postings.add(i);
+                }
+            }
+        }
+        final Map<String, int[]> newGramIndex = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> e : grams.entrySet()) {
+            newGramIndex.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        
+        synchronized(this) {
+            directories = newDirectories;
+            coordinates = Collections.unmodifiableList(coordinateList);
+            gramIndex = newGramIndex;
+        }
+    }
+    
+    /*
+     * Returns the coordinates of a groupId/artifactId/version directory
+     * or null if relativePath is too short.
+     */
+    private static String makeCoordinate(String relativePath) {
+        final String[] d = relativePath.split("/"); //NOI18N
+        final int length = d.length;
+        final String result;
+        if (length >= 3) {
+            final String a = d[length - 2];
+            final String g = String.join(".", Arrays.asList(d).subList(0, length - 2)); //NOI18N
+            result = g + ":" + a + ":" + Search.MIN_VERSION; //NOI18N
+        } else {
+            result = null;
+        }
+        return result;
+    }
+    
+    private void fireDiscovery(String coordinate) {
+        final List<Consumer<String>> listeners;
+        synchronized(this) {
+            listeners = new ArrayList<>(discoveryListeners);
+        }
+        for (Consumer<String> l : listeners) {
+            l.accept(coordinate);
+        }
+    }
+    
+    private Map<String, DirectoryRecord> load() {
+        final Map<String, DirectoryRecord> result = new HashMap<>();
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if ((dis.readInt() == MAGIC) && (dis.readInt() == VERSION) 
+                    && dis.readUTF().equals(repository.toString())) {
+                final int directoryCount = dis.readInt();
+                for (int i = 0; i < directoryCount; i++) {
+                    final String relativePath = dis.readUTF();
+                    final long lastModified = dis.readLong();
+                    final boolean containsJar = dis.readBoolean();
+                    final int subdirectoryCount = dis.readInt();
+                    final List<String> subdirectories = new ArrayList<>(subdirectoryCount);
+                    for (int j = 0; j < subdirectoryCount; j++) {
+                        subdirectories.add(dis.readUTF());
+                    }
+                    result.put(relativePath, new DirectoryRecord(lastModified, containsJar, subdirectories));
+                }
+            }
+        } catch (NoSuchFileException x) {
+            // First run
+        } catch (IOException | RuntimeException x) {
+            // Corrupted index : it will be rebuilt
+            result.clear();
+        }
+        return result;
+    }
+    
+    private void save(Map<String, DirectoryRecord> records) {
+        final Path tmpFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp"); //NOI18N
+        try {
+            Files.createDirectories(indexFile.getParent());
+            try (DataOutputStream dos = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                dos.writeInt(MAGIC);
+                dos.writeInt(VERSION);
+                dos.writeUTF(repository.toString());
+                dos.writeInt(records.size());
+                for (Map.Entry<String, DirectoryRecord> e : records.entrySet()) {
+                    final DirectoryRecord record = e.getValue();
+                    dos.writeUTF(e.getKey());
+                    dos.writeLong(record.lastModified);
+                    dos.writeBoolean(record.containsJar);
+                    dos.writeInt(record.subdirectories.size());
+                    for (String s : record.subdirectories) {
+                        dos.writeUTF(s);
+                    }
+                }
+            }
+            Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch(IOException x) {
+            LOGGER.log(Level.INFO, "Unable to save local repository index", x); //NOI18N
+        }
+    }
+    
+    private static class DirectoryRecord {
+        final long lastModified;
+        final boolean containsJar;
+        final List<String> subdirectories;
+
+        DirectoryRecord(long lastModified, boolean containsJar, List<String> subdirectories) {
+            this.lastModified = lastModified;
+            this.containsJar = containsJar;
+            this.subdirectories = subdirectories;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if ((obj instanceof DirectoryRecord) == false) {
+                return false;
+            }
+            final DirectoryRecord other = (DirectoryRecord) obj;
+            return (lastModified == other.lastModified)
+                    && (containsJar == other.containsJar)
+                    && subdirectories.equals(other.subdirectories);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lastModified) * 31 + subdirectories.hashCode();
+        }
+    }
+}
@@ -32,54 +32,75 @@
 package com.oracle.javafx.scenebuilder.kit.editor.panel.library.maven.search;
 
 import com.oracle.javafx.scenebuilder.kit.editor.panel.library.maven.preset.MavenPresets;
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.eclipse.aether.artifact.DefaultArtifact;
 
+/**
+ * Searches the local repository through its {@link LocalRepositoryIndex}.
+ * 
+ * Results are taken from the index as it is when the query is performed.
+ * When the index is being refreshed, the matching artifacts found by the 
+ * refresh are passed to the late result consumer as soon as they are found.
+ */
 public class LocalSearch implements Search {
             
-    private final String m2;
+    private final LocalRepositoryIndex index;
+    private final Consumer<List<DefaultArtifact>> lateResultConsumer;
         
-    public LocalSearch(String userM2Repostory) {
-        m2 = userM2Repostory + File.separator;
+    public LocalSearch(LocalRepositoryIndex index, Consumer<List<DefaultArtifact>> lateResultConsumer) {
+        assert index != null;
+        this.index = index;
+        this.lateResultConsumer = lateResultConsumer;
     }
     
     @Override
     public List<DefaultArtifact> getCoordinates(String query) {
+        index.ensureLoaded();
+        final CompletableFuture<Void> refresh = index.refresh();
+        final List<String> coordinates = index.search(query);
+        
+        if ((refresh.isDone() == false) && (lateResultConsumer != null)) {
+            final Set<String> reported = ConcurrentHashMap.newKeySet();
+            reported.addAll(coordinates);
+            final Consumer<String> discoveryListener = c -> {
+                if (c.contains(query) && reported.add(c)) {
+                    lateResultConsumer.accept(makeArtifacts(Collections.singletonList(c)));
+                }
+            };
+            index.addDiscoveryListener(discoveryListener);
+            refresh.whenComplete((v, x) -> {
+                index.removeDiscoveryListener(discoveryListener);
+                // Catches the artifacts discovered before the listener was added
+                final List<String> lateCoordinates = index.search(query);
+                lateCoordinates.removeIf(c -> reported.add(c) == false);
+                if (lateCoordinates.isEmpty() == false) {
+                    lateResultConsumer.accept(makeArtifacts(lateCoordinates));
+                }
+            });
+        }
         
+        return makeArtifacts(coordinates);
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private static List<DefaultArtifact> makeArtifacts(List<String> coordinates) {
         final Map<String, String> map = new HashMap<>();
         map.put("Repository", MavenPresets.LOCAL);
         
-        try {
-            return Files
-                    .find(Paths.get(m2), 999, (p, bfa) -> bfa.isRegularFile())
-                    .map(p -> p.toAbsolutePath().toString())
-                    .filter(s -> s.endsWith(".jar"))
-                    .map(s -> {
-                        String d[] = s.substring(m2.length()).split("\\" + File.separator);
-                        int length = d.length;
-                        if (length > 3) {
-                            String a = d[length - 3];
-                            String g = Stream.of(d)
-                                    .limit(length - 3)
-                                    .collect(Collectors.joining("."));
-                            return g + ":" + a + ":" + MIN_VERSION;
-                        }
-                        return null;
-                    })
-                    .filter(gav -> gav != null && gav.contains(query))
-                    .distinct()
-                    .map(gav -> new DefaultArtifact(gav, map))
-                    .collect(Collectors.toList());
-        } catch (IOException ex) { }
-        return null;
+        return coordinates.stream()
+                .map(gav -> new DefaultArtifact(gav, map))
+                .collect(Collectors.toList());
     }
-    
 }
@@ -121,7 +121,7 @@ public class SearchMavenDialogController extends AbstractFxmlWindowController {
         maven = new MavenRepositorySystem(true, userM2Repository, tempM2Repository,
                 preferencesControllerBase.getRepositoryPreferences()); // only releases
         
-        searchService = new SearchService(userM2Repository);
+        searchService = new SearchService(userM2Repository, tempM2Repository);
         searchService.getResult().addListener((ListChangeListener.Change<? extends Artifact> c) -> {
             while (c.next()) {
                 resultsListView.getItems().setAll(searchService.getResult()
@@ -32,6 +32,7 @@
 package com.oracle.javafx.scenebuilder.kit.editor.panel.library.maven.search;
 
 import com.oracle.javafx.scenebuilder.kit.editor.panel.library.maven.preset.MavenPresets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -69,13 +70,17 @@ public class SearchService extends Service<Void> {
     
     private List<Task<ObservableList<DefaultArtifact>>> tasks;
 
-    private final String userM2Repository;
+    private final LocalRepositoryIndex localRepositoryIndex;
+    private final AtomicInteger searchGeneration = new AtomicInteger();
     
-    public SearchService(String userM2Repository) {
+    public SearchService(String userM2Repository, String tempM2Repository) {
         setExecutor(exec);
         result = FXCollections.observableArrayList();
         searching = new SimpleBooleanProperty();
-        this.userM2Repository = userM2Repository;
+        this.localRepositoryIndex = LocalRepositoryIndex.getIndex(Paths.get(userM2Repository),
+                Paths.get(tempM2Repository, "local-repository.index")); //NOI18N
+        // Index is refreshed while the user types the first query
+        localRepositoryIndex.refresh();
     }
     
     public void setQuery(String query) {
@@ -91,6 +96,7 @@ public class SearchService extends Service<Void> {
     }
 
     public void cancelSearch() {
+        searchGeneration.incrementAndGet();
         if (tasks != null) {
             tasks.forEach(Task::cancel);
         }
@@ -108,12 +114,20 @@ public class SearchService extends Service<Void> {
                 // TODO: Manage other search engines
                 // TODO: Retrieve user/password from Preferences
         
+                final int generation = searchGeneration.incrementAndGet();
                 tasks = Arrays.asList(
                     createSearchTask(new MavenSearch()),
                     createSearchTask(new NexusSearch(MavenPresets.SONATYPE, "http://oss.sonatype.org", "", "")),
                     createSearchTask(new JcenterSearch("", "")),
                     createSearchTask(new NexusSearch(MavenPresets.GLUON_NEXUS, "https://nexus.gluonhq.com/nexus", "", "")),
-                    createSearchTask(new LocalSearch(userM2Repository)));
+                    createSearchTask(new LocalSearch(localRepositoryIndex, 
+                            artifacts -> Platform.runLater(() -> {
+                                // Artifacts found while refreshing the local index
+                                // (delivered as soon as they are discovered)
+                                if (generation == searchGeneration.get()) {
+                                    addResults(artifacts);
+                                }
+                            }))));
                 
                 AtomicInteger count = new AtomicInteger();
                 tasks.forEach(task -> 
@@ -124,13 +138,7 @@ public class SearchService extends Service<Void> {
                                 searching.set(false);
                             }
                             if (newState == Worker.State.SUCCEEDED && task.getValue() != null) {
-                                List<DefaultArtifact> list = new ArrayList<>(result);
-                                list.addAll(task.getValue());
-                                
-                                result.setAll(getLatestVersions(
-                                            list.stream()
-                                                .distinct()
-                                                .collect(Collectors.groupingBy(a -> a.getGroupId() + ":" + a.getArtifactId()))));
+                                addResults(task.getValue());
                             }
                         }
                     }));
@@ -154,6 +162,16 @@ public class SearchService extends Service<Void> {
         };
     }
     
+    private void addResults(List<DefaultArtifact> artifacts) {
+        List<DefaultArtifact> list = new ArrayList<>(result);
+        list.addAll(artifacts);
+
+        result.setAll(getLatestVersions(
+                    list.stream()
+                        .distinct()
+                        .collect(Collectors.groupingBy(a -> a.getGroupId() + ":" + a.getArtifactId()))));
+    }
+    
     private List<DefaultArtifact> getLatestVersions(Map<String, List<DefaultArtifact>> mapArtifacts) {
         List<DefaultArtifact> list = new ArrayList<>();
         mapArtifacts.forEach((s, l) -> {
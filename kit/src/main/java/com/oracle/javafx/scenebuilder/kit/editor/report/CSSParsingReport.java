@@ -33,37 +33,39 @@
 
 package com.oracle.javafx.scenebuilder.kit.editor.report;
 
+import com.oracle.javafx.scenebuilder.kit.util.CssStylesheetCache;
 import javafx.css.CssParser;
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  *
  */
 public class CSSParsingReport {
     private final Path stylesheetPath;
-    private IOException ioException;
-    private final List<CssParser.ParseError> parseErrors = new ArrayList<>();
+    private final IOException ioException;
+    private final List<CssParser.ParseError> parseErrors;
     
     public CSSParsingReport(Path stylesheetPath) {
         assert stylesheetPath != null;
         
         this.stylesheetPath = stylesheetPath;
-        final Set<CssParser.ParseError> previousErrors = new HashSet<>(CssParser.errorsProperty());
+        CssStylesheetCache.Entry entry;
         try {
-            new CssParser().parse(stylesheetPath.toUri().toURL());
-            // Leave this.ioException to null
-            parseErrors.addAll(CssParser.errorsProperty());
-            parseErrors.removeAll(previousErrors);
-        } catch(IOException x) {
-            this.ioException = x;
-        } finally {
-            CssParser.errorsProperty().removeAll(parseErrors);
+            // Shares the parsing with CssInternal (style class lookups)
+            entry = CssStylesheetCache.lookup(stylesheetPath.toUri().toURL());
+        } catch(MalformedURLException x) {
+            entry = null;
+        }
+        if (entry == null) {
+            this.ioException = new IOException("Invalid stylesheet path " + stylesheetPath); //NOI18N
+            this.parseErrors = Collections.emptyList();
+        } else {
+            this.ioException = entry.getIOException();
+            this.parseErrors = entry.getParseErrors();
         }
     }
 
@@ -80,6 +82,6 @@ public class CSSParsingReport {
     }
     
     public List<CssParser.ParseError> getParseErrors() {
-        return Collections.unmodifiableList(parseErrors);
+        return parseErrors;
     }
 }
@@ -47,28 +47,50 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import javafx.beans.value.ChangeListener;
 
 /**
- *
+ * Errors detected in an fxom document : unresolved assets and classes,
+ * invalid stylesheets and unsupported expressions.
  * 
+ * The report is maintained incrementally : each scene graph refresh of the 
+ * document invalidates the entries of the refreshed objects and properties
+ * and only those are verified again on next query. Changes of asset files
+ * only invalidate the entries of the nodes referencing them. 
+ * {@link #forget()} invalidates the whole report. Stylesheet parsing reports
+ * are kept until their file changes.
  */
 public class ErrorReport {
     
     private final Map<FXOMNode, List<ErrorReportEntry>> entries = new HashMap<>();
     private final Map<Path, CSSParsingReport> cssParsingReports = new HashMap<>();
+    private final Set<FXOMNode> dirtyNodes = new LinkedHashSet<>();
     private FXOMDocument fxomDocument;
     private boolean dirty = true;
     
+    private final ChangeListener<Number> sceneGraphRevisionListener
+            = (ov, t, t1) -> sceneGraphDidRefresh();
+    
     public void setFxomDocument(FXOMDocument fxomDocument) {
+        if (this.fxomDocument != null) {
+            this.fxomDocument.sceneGraphRevisionProperty().removeListener(sceneGraphRevisionListener);
+        }
         this.fxomDocument = fxomDocument;
+        if (this.fxomDocument != null) {
+            this.fxomDocument.sceneGraphRevisionProperty().addListener(sceneGraphRevisionListener);
+        }
         forget();
     }
     
     public void forget() {
         this.entries.clear();
+        this.dirtyNodes.clear();
         this.dirty = true;
     }
     
@@ -111,9 +133,20 @@ public class ErrorReport {
     }
     
     public void cssFileDidChange(Path cssPath) {
-        if (cssParsingReports.containsKey(cssPath)) {
-            cssParsingReports.remove(cssPath);
-            forget();
+        cssParsingReports.remove(cssPath);
+        assetFileDidChange(cssPath);
+    }
+    
+    /**
+     * Invalidates the entries of the fxom nodes referencing the specified
+     * asset file (typically because the file has been created or deleted).
+     * 
+     * @param assetPath path of an asset file (never null)
+     */
+    public void assetFileDidChange(Path assetPath) {
+        assert assetPath != null;
+        if ((dirty == false) && (fxomDocument != null)) {
+            dirtyNodes.addAll(fxomDocument.getAssetIndex().lookupNodes(assetPath));
         }
     }
     
@@ -123,27 +156,116 @@ public class ErrorReport {
      */
     
     
+    private void sceneGraphDidRefresh() {
+        if (dirty == false) {
+            assert fxomDocument != null;
+            final List<FXOMObject> refreshedObjects = fxomDocument.getLastRefreshedObjects();
+            if (refreshedObjects.contains(fxomDocument.getFxomRoot())) {
+                forget();
+            } else {
+                dirtyNodes.addAll(refreshedObjects);
+                dirtyNodes.addAll(fxomDocument.getLastChangedProperties());
+            }
+        }
+    }
+    
+    
     private void updateReport() {
         if (dirty) {
             assert entries.isEmpty();
-            if (fxomDocument != null) {
-                verifyAssets();
-                verifyUnresolvedObjects();
-                verifyBindingExpressions();
+            if ((fxomDocument != null) && (fxomDocument.getFxomRoot() != null)) {
+                verifyNode(fxomDocument.getFxomRoot());
             }
+            dirtyNodes.clear();
             dirty = false;
+        } else if (dirtyNodes.isEmpty() == false) {
+            updateDirtyNodes();
+        }
+    }
+    
+    
+    private void updateDirtyNodes() {
+        assert fxomDocument != null;
+        
+        // Subtree of a dirty object is verified with it : keeps the topmost
+        // attached nodes only
+        final Set<FXOMObject> dirtyObjects = new HashSet<>();
+        for (FXOMNode n : dirtyNodes) {
+            if ((n instanceof FXOMObject) && isAttached(n)) {
+                dirtyObjects.add((FXOMObject) n);
+            }
+        }
+        final Set<FXOMNode> verifiedNodes = new LinkedHashSet<>();
+        for (FXOMNode n : dirtyNodes) {
+            if (isAttached(n)) {
+                final FXOMObject owner = getOwnerObject(n);
+                final boolean covered;
+                if (n instanceof FXOMObject) {
+                    covered = (lookupAncestor(owner, dirtyObjects) != null);
+                } else {
+                    covered = isInside(owner, dirtyObjects);
+                }
+                if (covered == false) {
+                    verifiedNodes.add(n);
+                }
+            }
+        }
+        dirtyNodes.clear();
+        
+        // Removes the entries of detached and dirty nodes
+        final Set<FXOMNode> staleNodes = new HashSet<>();
+        for (FXOMNode n : entries.keySet()) {
+            if (isStale(n, dirtyObjects, verifiedNodes)) {
+                staleNodes.add(n);
+            }
+        }
+        entries.keySet().removeAll(staleNodes);
+        
+        for (FXOMNode n : verifiedNodes) {
+            verifyNode(n);
+        }
+    }
+    
+    
+    private void verifyNode(FXOMNode fxomNode) {
+        verifyAssets(fxomNode);
+        if (fxomNode instanceof FXOMObject) {
+            final FXOMObject fxomObject = (FXOMObject) fxomNode;
+            verifyUnresolvedObjects(fxomObject);
+            verifyBindingExpressions(fxomObject.collectPropertiesT());
+        } else if (fxomNode instanceof FXOMPropertyT) {
+            verifyBindingExpressions(Collections.singletonList((FXOMPropertyT) fxomNode));
         }
     }
     
     
-    private void verifyAssets() {
-        final FXOMAssetIndex assetIndex = new FXOMAssetIndex(fxomDocument);
-        for (Map.Entry<Path, FXOMNode> e : assetIndex.getFileAssets().entrySet()) {
-            final Path assetPath = e.getKey();
+    private void verifyAssets(FXOMNode fxomNode) {
+        final FXOMAssetIndex assetIndex = fxomDocument.getAssetIndex();
+        if (fxomNode instanceof FXOMObject) {
+            // Asset index is keyed by FXOMPropertyT and FXOMIntrinsic :
+            // looks up the ones of the subtree
+            for (FXOMObject fxomObject : FXOMNodes.serializeObjects((FXOMObject) fxomNode)) {
+                if (fxomObject instanceof FXOMIntrinsic) {
+                    verifyAssets(fxomObject, assetIndex.lookupAssets(fxomObject));
+                } else if (fxomObject instanceof FXOMInstance) {
+                    for (FXOMProperty p : ((FXOMInstance) fxomObject).getProperties().values()) {
+                        if (p instanceof FXOMPropertyT) {
+                            verifyAssets(p, assetIndex.lookupAssets(p));
+                        }
+                    }
+                }
+            }
+        } else {
+            verifyAssets(fxomNode, assetIndex.lookupAssets(fxomNode));
+        }
+    }
+    
+    private void verifyAssets(FXOMNode fxomNode, Set<Path> assetPaths) {
+        for (Path assetPath : assetPaths) {
             if (assetPath.toFile().canRead() == false) {
                 final ErrorReportEntry newEntry 
-                        = new ErrorReportEntry(e.getValue(), ErrorReportEntry.Type.UNRESOLVED_LOCATION);
-                addEntry(e.getValue(), newEntry);
+                        = new ErrorReportEntry(fxomNode, ErrorReportEntry.Type.UNRESOLVED_LOCATION);
+                addEntry(fxomNode, newEntry);
             } else {
                 final String assetPathName = assetPath.toString();
                 if (assetPathName.toLowerCase(Locale.ROOT).endsWith(".css")) { //NOI18N
@@ -152,16 +274,16 @@ public class ErrorReport {
                     assert r != null;
                     if (r.isEmpty() == false) {
                         final ErrorReportEntry newEntry 
-                                = new ErrorReportEntry(e.getValue(), ErrorReportEntry.Type.INVALID_CSS_CONTENT, r);
-                        addEntry(e.getValue(), newEntry);
+                                = new ErrorReportEntry(fxomNode, ErrorReportEntry.Type.INVALID_CSS_CONTENT, r);
+                        addEntry(fxomNode, newEntry);
                     }
                 }
             }
         }
     }
     
-    private void verifyUnresolvedObjects() {
-        for (FXOMObject fxomObject : FXOMNodes.serializeObjects(fxomDocument.getFxomRoot())) {
+    private void verifyUnresolvedObjects(FXOMObject startObject) {
+        for (FXOMObject fxomObject : FXOMNodes.serializeObjects(startObject)) {
             final Object sceneGraphObject;
             if (fxomObject instanceof FXOMIntrinsic) {
                 final FXOMIntrinsic fxomIntrinsic = (FXOMIntrinsic) fxomObject;
@@ -177,8 +299,8 @@ public class ErrorReport {
         }
     }
     
-    private void verifyBindingExpressions() {
-        for (FXOMPropertyT p : fxomDocument.getFxomRoot().collectPropertiesT()) {
+    private void verifyBindingExpressions(List<FXOMPropertyT> properties) {
+        for (FXOMPropertyT p : properties) {
             final PrefixedValue pv = new PrefixedValue(p.getValue());
             if (pv.isBindingExpression()) {
                 final ErrorReportEntry newEntry 
@@ -188,6 +310,50 @@ public class ErrorReport {
         }
     }
     
+    private boolean isStale(FXOMNode fxomNode, Set<FXOMObject> dirtyObjects, Set<FXOMNode> verifiedNodes) {
+        final boolean result;
+        
+        if (isAttached(fxomNode) == false) {
+            result = true;
+        } else if (verifiedNodes.contains(fxomNode)) {
+            result = true;
+        } else {
+            result = isInside(getOwnerObject(fxomNode), dirtyObjects);
+        }
+        
+        return result;
+    }
+    
+    private static boolean isInside(FXOMObject fxomObject, Set<FXOMObject> candidates) {
+        return candidates.contains(fxomObject) 
+                || (lookupAncestor(fxomObject, candidates) != null);
+    }
+    
+    private static FXOMObject lookupAncestor(FXOMObject fxomObject, Set<FXOMObject> candidates) {
+        return candidates.isEmpty() ? null : FXOMNodes.lookupAncestor(fxomObject, candidates);
+    }
+    
+    private boolean isAttached(FXOMNode fxomNode) {
+        final FXOMObject owner = getOwnerObject(fxomNode);
+        final FXOMObject fxomRoot = fxomDocument.getFxomRoot();
+        return (owner != null)
+                && (owner.getFxomDocument() == fxomDocument)
+                && (fxomRoot != null)
+                && ((owner == fxomRoot) || owner.isDescendantOf(fxomRoot));
+    }
+    
+    private static FXOMObject getOwnerObject(FXOMNode fxomNode) {
+        final FXOMObject result;
+        if (fxomNode instanceof FXOMObject) {
+            result = (FXOMObject) fxomNode;
+        } else if (fxomNode instanceof FXOMProperty) {
+            result = ((FXOMProperty) fxomNode).getParentInstance();
+        } else {
+            result = null;
+        }
+        return result;
+    }
+    
     private void addEntry(FXOMNode fxomNode, ErrorReportEntry newEntry) {
         List<ErrorReportEntry> nodeEntries = entries.get(fxomNode);
         if (nodeEntries == null) {
@@ -40,7 +40,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- *
+ * A copy of some fxom objects, suitable for the clipboard.
+ * 
+ * Each object is cloned in a detached document (no scene graph) from which
+ * its FXML text is generated : copying does not load anything through
+ * FXMLLoader. Text is generated at construction time because the system
+ * clipboard serializes the archive as soon as it is put on it.
+ * Decoding parses the text of each entry once.
  */
 public class FXOMArchive implements Serializable {
     
@@ -53,7 +59,7 @@ public class FXOMArchive implements Serializable {
         
         for (FXOMObject o : fxomObjects) {
             final URL location = o.getFxomDocument().getLocation();
-            final String fxmlText = FXOMNodes.newDocument(o).getFxmlText(false);
+            final String fxmlText = FXOMNodes.newDetachedDocument(o).getFxmlText(false);
             entries.add(new Entry(fxmlText, location));
         }
     }
@@ -42,27 +42,182 @@ import java.net.URL;
 import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
 import javafx.fxml.FXMLLoader;
 
 /**
- *
+ * Live index of the file assets (images, stylesheets, included fxml...) 
+ * referenced by the objects reachable from the root of an fxom document.
+ * It is owned by the document (see FXOMDocument.getAssetIndex()) and kept
+ * current by FXOM node classes : only the nodes which are added, removed or
+ * modified are resolved again.
+ * 
+ * Listeners of {@link #getAssetPaths()} are notified when a file becomes
+ * referenced by the document or is no longer referenced.
  */
 public class FXOMAssetIndex {
     
     private final FXOMDocument fxomDocument;
-    private final Map<Path, FXOMNode> fileAssets;
+    private final Map<FXOMNode, Set<Path>> nodeAssets = new IdentityHashMap<>();
+    private final Map<Path, List<FXOMNode>> pathNodes = new HashMap<>();
+    private final ObservableSet<Path> assetPaths = FXCollections.observableSet(new HashSet<>());
+    private final ObservableSet<Path> unmodifiableAssetPaths 
+            = FXCollections.unmodifiableObservableSet(assetPaths);
     
-    public FXOMAssetIndex(FXOMDocument fxomDocument) {
+    FXOMAssetIndex(FXOMDocument fxomDocument) {
         assert fxomDocument != null;
         this.fxomDocument = fxomDocument;
-        this.fileAssets = Collections.unmodifiableMap(collectAssets());
     }
     
+    public FXOMDocument getFxomDocument() {
+        return fxomDocument;
+    }
+    
+    /**
+     * Returns the paths of the files referenced by the document.
+     * 
+     * @return an unmodifiable observable set of file paths (never null)
+     */
+    public ObservableSet<Path> getAssetPaths() {
+        return unmodifiableAssetPaths;
+    }
+    
+    /**
+     * Returns the file assets of the document. When a file is referenced
+     * several times, the map contains one of the referencing nodes.
+     * 
+     * @return a map (file path to FXOMPropertyT or FXOMIntrinsic)
+     */
     public Map<Path, FXOMNode> getFileAssets() {
-        return fileAssets;
+        final Map<Path, FXOMNode> result = new HashMap<>();
+        for (Map.Entry<Path, List<FXOMNode>> e : pathNodes.entrySet()) {
+            result.put(e.getKey(), e.getValue().get(0));
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the nodes referencing file assets and the paths they reference.
+     * 
+     * @return an unmodifiable map (FXOMPropertyT or FXOMIntrinsic to file paths)
+     */
+    public Map<FXOMNode, Set<Path>> getNodeAssets() {
+        return Collections.unmodifiableMap(nodeAssets);
+    }
+    
+    /**
+     * Returns the file paths referenced by the specified node.
+     * 
+     * @param fxomNode an fxom node (never null)
+     * @return an unmodifiable set of file paths (never null)
+     */
+    public Set<Path> lookupAssets(FXOMNode fxomNode) {
+        assert fxomNode != null;
+        final Set<Path> result = nodeAssets.get(fxomNode);
+        return (result == null) 
+                ? Collections.emptySet() 
+                : Collections.unmodifiableSet(result);
+    }
+    
+    /**
+     * Returns the nodes referencing the specified file.
+     * 
+     * @param assetPath a file path (never null)
+     * @return an unmodifiable list of FXOMPropertyT or FXOMIntrinsic (never null)
+     */
+    public List<FXOMNode> lookupNodes(Path assetPath) {
+        assert assetPath != null;
+        final List<FXOMNode> result = pathNodes.get(assetPath);
+        return (result == null) 
+                ? Collections.emptyList() 
+                : Collections.unmodifiableList(result);
+    }
+    
+    /*
+     * Package
+     */
+    
+    void reset(FXOMObject fxomRoot) {
+        for (FXOMNode node : new ArrayList<>(nodeAssets.keySet())) {
+            removeNode(node);
+        }
+        assert nodeAssets.isEmpty();
+        assert pathNodes.isEmpty();
+        if (fxomRoot != null) {
+            for (FXOMObject o : FXOMNodes.serializeObjects(fxomRoot)) {
+                addObject(o);
+            }
+        }
+    }
+    
+    void addObject(FXOMObject fxomObject) {
+        if (fxomObject instanceof FXOMIntrinsic) {
+            addNode(fxomObject);
+        } else if (fxomObject instanceof FXOMInstance) {
+            for (FXOMProperty p : ((FXOMInstance) fxomObject).getProperties().values()) {
+                if (p instanceof FXOMPropertyT) {
+                    addNode(p);
+                }
+            }
+        }
+    }
+    
+    void removeObject(FXOMObject fxomObject) {
+        if (fxomObject instanceof FXOMIntrinsic) {
+            removeNode(fxomObject);
+        } else if (fxomObject instanceof FXOMInstance) {
+            for (FXOMProperty p : ((FXOMInstance) fxomObject).getProperties().values()) {
+                if (p instanceof FXOMPropertyT) {
+                    removeNode(p);
+                }
+            }
+        }
+    }
+    
+    void addNode(FXOMNode node) {
+        assert (node instanceof FXOMIntrinsic) || (node instanceof FXOMPropertyT);
+        if (nodeAssets.containsKey(node) == false) {
+            final Set<Path> paths = collectAssets(node);
+            if (paths.isEmpty() == false) {
+                nodeAssets.put(node, paths);
+                for (Path path : paths) {
+                    final List<FXOMNode> nodes = pathNodes.computeIfAbsent(path, k -> new ArrayList<>());
+                    nodes.add(node);
+                    if (nodes.size() == 1) {
+                        assetPaths.add(path);
+                    }
+                }
+            }
+        }
+    }
+    
+    void removeNode(FXOMNode node) {
+        final Set<Path> paths = nodeAssets.remove(node);
+        if (paths != null) {
+            for (Path path : paths) {
+                final List<FXOMNode> nodes = pathNodes.get(path);
+                nodes.removeIf(n -> n == node);
+                if (nodes.isEmpty()) {
+                    pathNodes.remove(path);
+                    assetPaths.remove(path);
+                }
+            }
+        }
+    }
+    
+    void nodeDidChange(FXOMNode node) {
+        removeNode(node);
+        addNode(node);
     }
     
     /*
@@ -71,55 +226,39 @@ public class FXOMAssetIndex {
     
     private static final PropertyName valueName = new PropertyName("value"); //NOI18N
     
-    private Map<Path, FXOMNode> collectAssets() {
-        final Map<Path, FXOMNode> result = new HashMap<>();
+    private Set<Path> collectAssets(FXOMNode node) {
+        final Set<Path> result = new LinkedHashSet<>();
         
-        if (fxomDocument.getFxomRoot() != null) {
-            final FXOMObject fxomRoot = fxomDocument.getFxomRoot();
+        if (node instanceof FXOMPropertyT) {
+            final FXOMPropertyT p = (FXOMPropertyT) node;
             
             /*
-             * Collects properties containing prefixed values (ie @ expression).
+             * Properties containing prefixed values (ie @ expression).
              */
-            for (FXOMPropertyT p : fxomRoot.collectPropertiesT()) {
-                for (String s : StringListPropertyMetadata.splitValue(p.getValue())) {
-                    final Path path = extractPath(s);
-                    if (path != null) {
-                        result.put(path, p);
-                    }
-                }
+            for (String s : StringListPropertyMetadata.splitValue(p.getValue())) {
+                addPath(extractPath(s), result);
             }
             
-            
             /*
-             * Collects URL instances.
+             * URL instances.
              */
-            for (FXOMObject fxomObject : fxomRoot.collectObjectWithSceneGraphObjectClass(URL.class)) {
-                if (fxomObject instanceof FXOMInstance) {
-                    final FXOMInstance urlInstance = (FXOMInstance) fxomObject;
-                    final FXOMProperty valueProperty = urlInstance.getProperties().get(valueName);
-                    if (valueProperty instanceof FXOMPropertyT) {
-                        FXOMPropertyT valuePropertyT = (FXOMPropertyT) valueProperty;
-                        final Path path = extractPath(valuePropertyT.getValue());
-                        if (path != null) {
-                            result.put(path, valuePropertyT);
-                        }
-                    } else {
-                        assert false : "valueProperty.getName()=" + valueProperty.getName();
-                    }
-                }
+            final FXOMInstance parentInstance = p.getParentInstance();
+            if ((parentInstance != null)
+                    && (parentInstance.getDeclaredClass() == URL.class)
+                    && p.getName().equals(valueName)) {
+                addPath(extractPath(p.getValue()), result);
             }
+        } else if (node instanceof FXOMIntrinsic) {
+            final FXOMIntrinsic fxomIntrinsic = (FXOMIntrinsic) node;
             
             /*
-             * Collects fx:include
+             * fx:include
              */
-            for (FXOMIntrinsic fxomInclude : fxomRoot.collectIncludes(null)) {
+            if ((fxomIntrinsic.getType() == FXOMIntrinsic.Type.FX_INCLUDE)
+                    && (fxomIntrinsic.getSource() != null)) {
                 final String equivalentValue 
-                        = FXMLLoader.RELATIVE_PATH_PREFIX + fxomInclude.getSource();
-                final Path path 
-                        = extractPath(equivalentValue);
-                if (path != null) {
-                    result.put(path, fxomInclude);
-                }
+                        = FXMLLoader.RELATIVE_PATH_PREFIX + fxomIntrinsic.getSource();
+                addPath(extractPath(equivalentValue), result);
             }
         }
         
@@ -127,6 +266,13 @@ public class FXOMAssetIndex {
     }
     
     
+    private static void addPath(Path path, Set<Path> result) {
+        if (path != null) {
+            result.add(path);
+        }
+    }
+    
+    
     private Path extractPath(String stringValue) {
         Path result;
         
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Records the FXOM changes performed on an fxom document between two
+ * refreshes of its scene graph.
+ * 
+ * FXOMRefresher uses this record to rebuild only the parts of the scene graph
+ * affected by the changes. When a change cannot be localized (root change,
+ * location change...), the tracker is invalidated and a full refresh occurs.
+ */
+class FXOMChangeTracker {
+    
+    private final Set<FXOMObject> changedObjects = new LinkedHashSet<>();
+    private final Set<FXOMPropertyT> changedProperties = new LinkedHashSet<>();
+    private boolean localizable = true;
+    
+    /**
+     * Records that the structure or the attributes of the specified
+     * object changed : its scene graph object must be reconstructed.
+     * 
+     * @param fxomObject an fxom object (never null)
+     */
+    public void objectDidChange(FXOMObject fxomObject) {
+        assert fxomObject != null;
+        if (localizable) {
+            changedObjects.add(fxomObject);
+        }
+    }
+    
+    /**
+     * Records that the value of the specified property changed (or that
+     * the property has been added to its parent instance).
+     * 
+     * @param fxomProperty an fxom property (never null)
+     */
+    public void propertyValueDidChange(FXOMPropertyT fxomProperty) {
+        assert fxomProperty != null;
+        if (localizable) {
+            changedProperties.add(fxomProperty);
+        }
+    }
+    
+    /**
+     * Records a change that cannot be localized : next refresh must
+     * reconstruct the whole scene graph.
+     */
+    public void invalidate() {
+        localizable = false;
+        changedObjects.clear();
+        changedProperties.clear();
+    }
+    
+    public boolean isLocalizable() {
+        return localizable;
+    }
+    
+    public boolean isEmpty() {
+        return changedObjects.isEmpty() && changedProperties.isEmpty();
+    }
+    
+    public Set<FXOMObject> getChangedObjects() {
+        return Collections.unmodifiableSet(changedObjects);
+    }
+    
+    public Set<FXOMPropertyT> getChangedProperties() {
+        return Collections.unmodifiableSet(changedProperties);
+    }
+    
+    public void reset() {
+        localizable = true;
+        changedObjects.clear();
+        changedProperties.clear();
+    }
+}
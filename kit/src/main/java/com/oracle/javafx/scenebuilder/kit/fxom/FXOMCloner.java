@@ -34,7 +34,11 @@ package com.oracle.javafx.scenebuilder.kit.fxom;
 
 import com.oracle.javafx.scenebuilder.kit.metadata.util.PrefixedValue;
 import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -297,6 +301,23 @@ public class FXOMCloner {
             fxIds.remove(clonee.getFxId());
         }
         
+        if (fxIds.isEmpty()) {
+            return;
+        }
+        
+        // Collects references and expressions once (instead of once per fx:id)
+        final Map<String, List<FXOMIntrinsic>> referencesBySource = new HashMap<>();
+        for (FXOMIntrinsic reference : clone.collectReferences(null)) {
+            referencesBySource.computeIfAbsent(reference.getSource(), k -> new ArrayList<>()).add(reference);
+        }
+        final Map<String, List<FXOMPropertyT>> expressionsBySource = new HashMap<>();
+        for (FXOMPropertyT p : clone.collectPropertiesT()) {
+            final PrefixedValue pv = new PrefixedValue(p.getValue());
+            if (pv.isExpression()) {
+                expressionsBySource.computeIfAbsent(pv.getSuffix(), k -> new ArrayList<>()).add(p);
+            }
+        }
+        
         for (Map.Entry<String, FXOMObject> e : fxIds.entrySet()) {
             final String candidateFxId = e.getKey();
             final FXOMObject declarer = e.getValue();
@@ -316,7 +337,7 @@ public class FXOMCloner {
                 declarer.setFxId(renamedFxId);
 
                 // 2)
-                for (FXOMIntrinsic reference : clone.collectReferences(candidateFxId)) {
+                for (FXOMIntrinsic reference : referencesBySource.getOrDefault(candidateFxId, Collections.emptyList())) {
                     assert reference.getSource().equals(candidateFxId);
                     reference.setSource(renamedFxId);
                 }
@@ -324,7 +345,7 @@ public class FXOMCloner {
                 // 3)
                 final PrefixedValue pv = new PrefixedValue(PrefixedValue.Type.EXPRESSION, renamedFxId);
                 final String newValue = pv.toString();
-                for (FXOMPropertyT reference : FXOMNodes.collectReferenceExpression(clone, candidateFxId)) {
+                for (FXOMPropertyT reference : expressionsBySource.getOrDefault(candidateFxId, Collections.emptyList())) {
                     reference.setValue(newValue);
                 }
             }
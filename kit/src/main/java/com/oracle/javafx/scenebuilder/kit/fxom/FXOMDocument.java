@@ -32,18 +32,19 @@
  */
 package com.oracle.javafx.scenebuilder.kit.fxom;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 import com.oracle.javafx.scenebuilder.kit.editor.EditorPlatform;
 import javafx.beans.property.ReadOnlyIntegerProperty;
@@ -75,37 +76,63 @@ public class FXOMDocument {
     private final SimpleIntegerProperty cssRevision = new SimpleIntegerProperty();
     private SceneGraphHolder sceneGraphHolder;
     private int updateDepth;
+    private final FXOMChangeTracker changeTracker = new FXOMChangeTracker();
+    private final FXOMSceneGraphIndex sceneGraphIndex = new FXOMSceneGraphIndex();
+    private final FXOMFxIdIndex fxIdIndex = new FXOMFxIdIndex(this);
+    private final FXOMReferenceGraph referenceGraph = new FXOMReferenceGraph(this);
+    private final FXOMAssetIndex assetIndex = new FXOMAssetIndex(this);
+    private boolean incrementalRefreshEnabled = true;
+    private List<FXOMObject> lastRefreshedObjects = Collections.emptyList();
+    private Set<FXOMPropertyT> lastChangedProperties = Collections.emptySet();
 
     private boolean hasGluonControls;
     
     private List<Class<?>> initialDeclaredClasses;
     
     public FXOMDocument(String fxmlText, URL location, ClassLoader classLoader, ResourceBundle resources, boolean normalize) throws IOException {
-        this.glue = new GlueDocument(fxmlText);
+        this(fxmlText.getBytes(Charset.forName("UTF-8")), location, classLoader, resources, normalize); //NOI18N
+    }
+    
+    
+    public FXOMDocument(String fxmlText, URL location, ClassLoader classLoader, ResourceBundle resources) throws IOException {
+        this(fxmlText, location, classLoader, resources, true /* normalize */);
+    }
+    
+    
+    /**
+     * Builds an fxom document from UTF-8 encoded fxml content, typically
+     * obtained with {@link #readBytesFromURL(URL)}. The glue document and the
+     * scene graph are both built from this single buffer : the content is
+     * never decoded into a String.
+     * 
+     * @param fxmlBytes UTF-8 encoded fxml content (never null)
+     * @param location null or the location of the fxml content
+     * @param classLoader null or the class loader used to load the fxml content
+     * @param resources null or the resource bundle used to load the fxml content
+     * @param normalize true if the fxom document should be normalized
+     * @throws IOException if the content cannot be parsed and loaded
+     */
+    public FXOMDocument(byte[] fxmlBytes, URL location, ClassLoader classLoader, ResourceBundle resources, boolean normalize) throws IOException {
+        this.glue = new GlueDocument(fxmlBytes);
         this.location = location;
         this.classLoader = classLoader;
         this.resources = resources;
         initialDeclaredClasses = new ArrayList<>();
         if (this.glue.getRootElement() != null) {
             final FXOMLoader loader = new FXOMLoader(this);
-            loader.load(fxmlText);
+            loader.load(fxmlBytes);
             if (normalize) {
                 final FXOMNormalizer normalizer = new FXOMNormalizer(this);
                 normalizer.normalize();
             }
         } else {
             // Document is empty
-            assert GlueDocument.isEmptyXmlText(fxmlText);
+            assert GlueDocument.isEmptyXmlContent(fxmlBytes);
             // Keeps this.fxomRoot == null
             // Keeps this.sceneGraphRoot == null
         }
 
-        hasGluonControls = fxmlText.contains(EditorPlatform.GLUON_PACKAGE);
-    }
-    
-    
-    public FXOMDocument(String fxmlText, URL location, ClassLoader classLoader, ResourceBundle resources) throws IOException {
-        this(fxmlText, location, classLoader, resources, true /* normalize */);
+        hasGluonControls = containsAscii(fxmlBytes, EditorPlatform.GLUON_PACKAGE);
     }
     
     
@@ -128,6 +155,8 @@ public class FXOMDocument {
                 fxomRoot.documentLocationWillChange(location);
             }
             this.location = location;
+            changeTracker.invalidate();
+            assetIndex.reset(fxomRoot);
             endUpdate();
         }
     }
@@ -139,6 +168,8 @@ public class FXOMDocument {
     public void setClassLoader(ClassLoader classLoader) {
         beginUpdate();
         this.classLoader = classLoader;
+        changeTracker.invalidate();
+        assetIndex.reset(fxomRoot);
         endUpdate();
     }    
     
@@ -153,6 +184,7 @@ public class FXOMDocument {
     public void setResources(ResourceBundle resources) {
         beginUpdate();
         this.resources = resources;
+        changeTracker.invalidate();
         endUpdate();
     }
 
@@ -207,6 +239,11 @@ public class FXOMDocument {
         this.sceneGraphRoot = sceneGraphRoot;
         this.displayNode = null;
         this.displayStylesheets.clear();
+        this.changeTracker.invalidate();
+        this.sceneGraphIndex.reset(fxomRoot);
+        this.fxIdIndex.reset(fxomRoot);
+        this.referenceGraph.reset(fxomRoot);
+        this.assetIndex.reset(fxomRoot);
     }
 
     public Object getSceneGraphRoot() {
@@ -268,13 +305,48 @@ public class FXOMDocument {
         return result;
     }
 
+    /**
+     * Writes the UTF-8 encoded FXML representation of the FXOMDocument into
+     * the specified channel. The content is the same as getFxmlText() but it
+     * is encoded while the glue is traversed : saving a large document does
+     * not require an in-memory copy of its text. The channel is not closed.
+     * @param channel the channel receiving the FXML content (never null)
+     * @param wildcardImports If the FXML should have wildcards in its imports.
+     * @throws IOException if the channel fails
+     */
+    public void writeFxmlText(WritableByteChannel channel, boolean wildcardImports) throws IOException {
+        assert channel != null;
+        if (fxomRoot == null) {
+            assert glue.getRootElement() == null;
+            assert sceneGraphRoot == null;
+        } else {
+            assert glue.getRootElement() != null;
+            glue.updateIndent();
+            final FXOMSaver saver = new FXOMSaver(wildcardImports);
+            saver.save(this, channel);
+        }
+    }
+
     public FXOMObject searchWithSceneGraphObject(Object sceneGraphObject) {
         final FXOMObject result;
         
-        if (fxomRoot == null) {
+        if ((fxomRoot == null) || (sceneGraphObject == null)) {
             result = null;
         } else {
-            result = fxomRoot.searchWithSceneGraphObject(sceneGraphObject);
+            final List<FXOMObject> candidates = sceneGraphIndex.lookup(sceneGraphObject);
+            switch (candidates.size()) {
+                case 0:
+                    result = null;
+                    break;
+                case 1:
+                    result = candidates.get(0);
+                    break;
+                default:
+                    // Several objects share this scene graph object (like 
+                    // boxed values) : first one in document order wins
+                    result = fxomRoot.searchWithSceneGraphObject(sceneGraphObject);
+                    break;
+            }
         }
         
         return result;
@@ -286,12 +358,28 @@ public class FXOMDocument {
         if (fxomRoot == null) {
             result = null;
         } else {
-            result = fxomRoot.searchWithFxId(fxId);
+            final List<FXOMObject> declarers = fxIdIndex.lookupAll(fxId);
+            if (declarers.isEmpty()) {
+                result = null;
+            } else if (declarers.size() == 1) {
+                // Returns null if the declarer is an fx:reference or an fx:copy
+                result = declarers.get(0).searchWithFxId(fxId);
+            } else {
+                // Duplicated fx:id : first one in document order wins
+                result = fxomRoot.searchWithFxId(fxId);
+            }
         }
         
         return result;
     }
     
+    /**
+     * Returns the fx:ids declared in this document, in document order.
+     * When an fx:id is duplicated, the last declarer in document order wins.
+     * This method walks the whole document : use getFxIdIndex() for lookups.
+     * 
+     * @return a map (fx:id to declarer).
+     */
     public Map<String, FXOMObject> collectFxIds() {
         final Map<String, FXOMObject> result;
         
@@ -304,6 +392,33 @@ public class FXOMDocument {
         return result;
     }
     
+    /**
+     * Returns the live fx:id index of this document.
+     * 
+     * @return the fx:id index of this document (never null).
+     */
+    public FXOMFxIdIndex getFxIdIndex() {
+        return fxIdIndex;
+    }
+    
+    /**
+     * Returns the live reference graph of this document.
+     * 
+     * @return the reference graph of this document (never null).
+     */
+    public FXOMReferenceGraph getReferenceGraph() {
+        return referenceGraph;
+    }
+    
+    /**
+     * Returns the live asset index of this document.
+     * 
+     * @return the asset index of this document (never null).
+     */
+    public FXOMAssetIndex getAssetIndex() {
+        return assetIndex;
+    }
+    
     
     public void beginUpdate() {
         updateDepth++;
@@ -313,7 +428,7 @@ public class FXOMDocument {
         assert updateDepth >= 1;
         updateDepth--;
         if (updateDepth == 0) {
-            refreshSceneGraph();
+            refreshSceneGraph(incrementalRefreshEnabled);
         }
     }
     
@@ -321,14 +436,63 @@ public class FXOMDocument {
         return updateDepth >= 1;
     }
     
+    /**
+     * Returns true if endUpdate() only reconstructs the parts of the scene
+     * graph affected by the FXOM changes performed since the last refresh.
+     * 
+     * @return true if incremental refresh is enabled (default).
+     */
+    public boolean isIncrementalRefreshEnabled() {
+        return incrementalRefreshEnabled;
+    }
+    
+    /**
+     * Enables or disables incremental refresh of the scene graph.
+     * When disabled, each endUpdate() serializes and reloads the whole document.
+     * 
+     * @param incrementalRefreshEnabled true to enable incremental refresh
+     */
+    public void setIncrementalRefreshEnabled(boolean incrementalRefreshEnabled) {
+        this.incrementalRefreshEnabled = incrementalRefreshEnabled;
+        // Changes are not tracked while disabled
+        changeTracker.invalidate();
+    }
+    
+    /**
+     * Reconstructs the whole scene graph of this document.
+     */
     public void refreshSceneGraph() {
+        refreshSceneGraph(false /* incremental */);
+    }
+    
+    private void refreshSceneGraph(boolean incremental) {
         if (sceneGraphHolder != null) {
             sceneGraphHolder.fxomDocumentWillRefreshSceneGraph(this);
         }
         final FXOMRefresher fxomRefresher = new FXOMRefresher();
-        fxomRefresher.refresh(this);
-        if ((sampleDataGenerator != null) && (fxomRoot != null)) {
-            sampleDataGenerator.assignSampleData(fxomRoot);
+        List<FXOMObject> refreshedObjects = null;
+        if (incremental) {
+            refreshedObjects = fxomRefresher.refresh(this, changeTracker);
+        }
+        final Set<FXOMPropertyT> changedProperties;
+        if (refreshedObjects == null) {
+            fxomRefresher.refresh(this);
+            refreshedObjects = (fxomRoot == null) 
+                    ? Collections.emptyList() 
+                    : Collections.singletonList(fxomRoot);
+            changedProperties = Collections.emptySet();
+        } else {
+            changedProperties = new LinkedHashSet<>(changeTracker.getChangedProperties());
+        }
+        lastRefreshedObjects = Collections.unmodifiableList(refreshedObjects);
+        lastChangedProperties = Collections.unmodifiableSet(changedProperties);
+        // Changes performed by the refresher itself (like SplitPane divider
+        // synchronization) are already reflected in the scene graph.
+        changeTracker.reset();
+        if (sampleDataGenerator != null) {
+            for (FXOMObject fxomObject : refreshedObjects) {
+                sampleDataGenerator.assignSampleData(fxomObject);
+            }
         }
         if (sceneGraphHolder != null) {
             sceneGraphHolder.fxomDocumentDidRefreshSceneGraph(this);
@@ -336,6 +500,27 @@ public class FXOMDocument {
         sceneGraphRevision.set(sceneGraphRevision.get()+1);
     }
     
+    /**
+     * Returns the fxom objects whose scene graph has been reconstructed by
+     * the last refresh. After a full refresh, the list only contains the
+     * fxom root.
+     * 
+     * @return the fxom objects reconstructed by the last refresh (never null)
+     */
+    public List<FXOMObject> getLastRefreshedObjects() {
+        return lastRefreshedObjects;
+    }
+    
+    /**
+     * Returns the text properties whose value change has been applied by
+     * the last refresh. The set is empty after a full refresh.
+     * 
+     * @return the text properties applied by the last refresh (never null)
+     */
+    public Set<FXOMPropertyT> getLastChangedProperties() {
+        return lastChangedProperties;
+    }
+    
     /**
      * Returns the property holding the revision number of the scene graph.
      * refreshSceneGraph() method increments the revision by one each time it
@@ -387,23 +572,22 @@ public class FXOMDocument {
      * @throws IOException if something goes wrong
      */
     public static String readContentFromURL(URL url) throws IOException {
-        final StringBuilder result = new StringBuilder();
-        
-        try (InputStream is =url.openConnection().getInputStream()) {
-            try (BufferedReader r = new BufferedReader(
-                    new InputStreamReader(is, Charset.forName("UTF-8")))) {
-                char[] buffer = new char[1024];
-
-                int readLength = r.read(buffer, 0, buffer.length);
-                while (readLength != -1) {
-                    result.append(buffer, 0, readLength);
-                    readLength = r.read(buffer, 0, buffer.length);
-                }
-                
-            }
+        return new String(readBytesFromURL(url), Charset.forName("UTF-8")); //NOI18N
+    }
+    
+    /**
+     * Utility method that fetches the raw (UTF-8 encoded) content from a URL.
+     * The result can be passed as is to 
+     * {@link #FXOMDocument(byte[], URL, ClassLoader, ResourceBundle, boolean)}.
+     * 
+     * @param url a URL
+     * @return  the raw content read from the URL.
+     * @throws IOException if something goes wrong
+     */
+    public static byte[] readBytesFromURL(URL url) throws IOException {
+        try (InputStream is = url.openConnection().getInputStream()) {
+            return is.readAllBytes();
         }
-        
-        return result.toString();
     }
     
     /**
@@ -439,6 +623,112 @@ public class FXOMDocument {
         return sceneGraphHolder;
     }
     
+    /*
+     * Package
+     */
+    
+    /* Reserved to FXOM node classes : fxomObject must be reconstructed */
+    void fxomObjectDidChange(FXOMObject fxomObject) {
+        if (isChangeTrackingNeeded()) {
+            changeTracker.objectDidChange(fxomObject);
+        }
+    }
+    
+    /* Reserved to FXOM node classes : fxomProperty value has changed */
+    void fxomPropertyValueDidChange(FXOMPropertyT fxomProperty) {
+        if (isAttached(fxomProperty.getParentInstance())) {
+            referenceGraph.referenceDidChange(fxomProperty);
+            assetIndex.nodeDidChange(fxomProperty);
+        }
+        if (isChangeTrackingNeeded()) {
+            changeTracker.propertyValueDidChange(fxomProperty);
+        }
+    }
+    
+    /* Reserved to FXOMPropertyT : fxomProperty has been removed from its parent */
+    void fxomPropertyDidRemoveFromParent(FXOMPropertyT fxomProperty) {
+        referenceGraph.removeReference(fxomProperty);
+        assetIndex.removeNode(fxomProperty);
+    }
+    
+    /* Reserved to FXOMIntrinsic.setSource() */
+    void fxomIntrinsicSourceDidChange(FXOMIntrinsic fxomIntrinsic) {
+        if (isAttached(fxomIntrinsic)) {
+            referenceGraph.referenceDidChange(fxomIntrinsic);
+            assetIndex.nodeDidChange(fxomIntrinsic);
+        }
+    }
+    
+    /* Reserved to FXOM node classes : fxomObject has been added to its parent */
+    void fxomObjectDidAddToParent(FXOMObject fxomObject) {
+        if (isAttached(fxomObject)) {
+            for (FXOMObject o : FXOMNodes.serializeObjects(fxomObject)) {
+                sceneGraphIndex.add(o);
+                fxIdIndex.add(o);
+                referenceGraph.addObject(o);
+                assetIndex.addObject(o);
+            }
+        }
+    }
+    
+    /* Reserved to FXOM node classes : fxomObject has been removed from its parent */
+    void fxomObjectDidRemoveFromParent(FXOMObject fxomObject) {
+        for (FXOMObject o : FXOMNodes.serializeObjects(fxomObject)) {
+            sceneGraphIndex.remove(o);
+            fxIdIndex.remove(o);
+            referenceGraph.removeObject(o);
+            assetIndex.removeObject(o);
+        }
+    }
+    
+    /* Reserved to FXOMObject.setFxId() */
+    void fxIdDidChange(FXOMObject fxomObject, String previousFxId) {
+        if (isAttached(fxomObject)) {
+            fxIdIndex.fxIdDidChange(fxomObject, previousFxId);
+            referenceGraph.fxIdDidChange(previousFxId, fxomObject.getFxId());
+        }
+    }
+    
+    /* Reserved to FXOMObject.setSceneGraphObject() */
+    void sceneGraphObjectDidChange(FXOMObject fxomObject, Object oldSceneGraphObject) {
+        sceneGraphIndex.sceneGraphObjectDidChange(fxomObject, oldSceneGraphObject);
+    }
+    
+    /* Reserved to FXOMNodes : ends an update without constructing the scene graph */
+    void endUpdateWithoutRefresh() {
+        assert updateDepth >= 1;
+        updateDepth--;
+    }
+    
+    /*
+     * Private
+     */
+    
+    private static boolean containsAscii(byte[] bytes, String ascii) {
+        final int n = ascii.length();
+        final int last = bytes.length - n;
+        for (int i = 0; i <= last; i++) {
+            int k = 0;
+            while ((k < n) && (bytes[i + k] == ascii.charAt(k))) {
+                k++;
+            }
+            if (k == n) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean isAttached(FXOMObject fxomObject) {
+        return (fxomRoot != null) && (fxomObject != null)
+                && ((fxomObject == fxomRoot) || fxomObject.isDescendantOf(fxomRoot));
+    }
+    
+    private boolean isChangeTrackingNeeded() {
+        // Without a scene graph, next refresh will be a full refresh anyway
+        return (sceneGraphRoot != null) && incrementalRefreshEnabled;
+    }
+    
     public static interface SceneGraphHolder {
         public void fxomDocumentWillRefreshSceneGraph(FXOMDocument fxomDocument);
         public void fxomDocumentDidRefreshSceneGraph(FXOMDocument fxomDocument);
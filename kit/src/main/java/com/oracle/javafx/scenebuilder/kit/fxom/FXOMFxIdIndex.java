@@ -33,22 +33,30 @@
 package com.oracle.javafx.scenebuilder.kit.fxom;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import javafx.scene.control.ToggleGroup;
 
 /**
- *
+ * Live index of the fx:ids declared by the objects reachable from the root
+ * of an fxom document. It is owned by the document (see 
+ * FXOMDocument.getFxIdIndex()) and kept current by FXOMObject 
+ * (fx:id change, attachment / detachment).
  */
 public class FXOMFxIdIndex {
     
     private final FXOMDocument fxomDocument;
-    private final Map<String, FXOMObject> fxIds;
+    private final Map<String, List<FXOMObject>> declarers = new HashMap<>();
+    private final Map<String, FXOMObject> fxIds = new LinkedHashMap<>();
+    private final Map<String, TreeMap<Integer, Integer>> suffixes = new HashMap<>();
     
-    public FXOMFxIdIndex(FXOMDocument fxomDocument) {
+    FXOMFxIdIndex(FXOMDocument fxomDocument) {
         assert fxomDocument != null;
         this.fxomDocument = fxomDocument;
-        this.fxIds = fxomDocument.collectFxIds();
     }
 
     public FXOMDocument getFxomDocument() {
@@ -60,8 +68,36 @@ public class FXOMFxIdIndex {
         return fxIds.get(fxId);
     }
     
+    public boolean contains(String fxId) {
+        assert fxId != null;
+        return fxIds.containsKey(fxId);
+    }
+    
+    /**
+     * Returns the objects declaring the specified fx:id. 
+     * Result contains more than one object when fx:id is duplicated.
+     * 
+     * @param fxId an fx:id (never null)
+     * @return the objects declaring fxId (never null)
+     */
+    public List<FXOMObject> lookupAll(String fxId) {
+        assert fxId != null;
+        final List<FXOMObject> result = declarers.get(fxId);
+        return (result == null) 
+                ? Collections.emptyList() 
+                : Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * Returns an unmodifiable view of the fx:ids of the document.
+     * When an fx:id is duplicated, the map contains one of its declarers
+     * (use lookupAll() to get all of them). Unlike 
+     * FXOMDocument.collectFxIds(), iteration order is not document order.
+     * 
+     * @return an unmodifiable map (fx:id to declarer)
+     */
     public Map<String, FXOMObject> getFxIds() {
-        return fxIds;
+        return Collections.unmodifiableMap(fxIds);
     }
     
     public List<FXOMInstance> collectToggleGroups() {
@@ -104,14 +140,106 @@ public class FXOMFxIdIndex {
     
     
     /**
-     * Facility : creates an FXOMFxIdIndex and check if the specified object is
- self-contained. Use this only if you have one object to check.
+     * Facility : checks if the specified object is self-contained using
+     * the fx:id index of its document.
      * 
      * @param fxomObject an fxom object (cannot be null)
      * @return true if fxom object is self contained
      */
     public static boolean isSelfContainedObject(FXOMObject fxomObject) {
-        final FXOMFxIdIndex fxomIndex = new FXOMFxIdIndex(fxomObject.getFxomDocument());
+        final FXOMFxIdIndex fxomIndex = fxomObject.getFxomDocument().getFxIdIndex();
         return fxomIndex.isSelfContained(fxomObject);
     }
+    
+    
+    /*
+     * Package
+     */
+    
+    /*
+     * Returns 1 + the greatest numerical suffix used by the fx:ids starting 
+     * with the specified prefix or -1 if no fx:id has this prefix.
+     * For example, if the document contains button, button1 and button3, 
+     * getNextIndex("button") returns 4.
+     */
+    int getNextIndex(String prefix) {
+        final TreeMap<Integer, Integer> prefixSuffixes = suffixes.get(prefix);
+        return (prefixSuffixes == null) ? -1 : prefixSuffixes.lastKey() + 1;
+    }
+    
+    void reset(FXOMObject fxomRoot) {
+        declarers.clear();
+        fxIds.clear();
+        suffixes.clear();
+        if (fxomRoot != null) {
+            for (FXOMObject o : FXOMNodes.serializeObjects(fxomRoot)) {
+                add(o);
+            }
+        }
+    }
+    
+    void add(FXOMObject fxomObject) {
+        final String fxId = fxomObject.getFxId();
+        if (fxId != null) {
+            addDeclarer(fxId, fxomObject);
+        }
+    }
+    
+    void remove(FXOMObject fxomObject) {
+        final String fxId = fxomObject.getFxId();
+        if (fxId != null) {
+            removeDeclarer(fxId, fxomObject);
+        }
+    }
+    
+    void fxIdDidChange(FXOMObject fxomObject, String previousFxId) {
+        if (previousFxId != null) {
+            removeDeclarer(previousFxId, fxomObject);
+        }
+        add(fxomObject);
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private void addDeclarer(String fxId, FXOMObject fxomObject) {
+        final List<FXOMObject> fxIdDeclarers 
+                = declarers.computeIfAbsent(fxId, k -> new ArrayList<>(1));
+        if (fxIdDeclarers.isEmpty()) {
+            fxIds.put(fxId, fxomObject);
+            updateSuffixes(fxId, +1);
+        }
+        fxIdDeclarers.add(fxomObject);
+    }
+    
+    private void removeDeclarer(String fxId, FXOMObject fxomObject) {
+        final List<FXOMObject> fxIdDeclarers = declarers.get(fxId);
+        if ((fxIdDeclarers != null) && fxIdDeclarers.removeIf(o -> o == fxomObject)) {
+            if (fxIdDeclarers.isEmpty()) {
+                declarers.remove(fxId);
+                fxIds.remove(fxId);
+                updateSuffixes(fxId, -1);
+            } else if (fxIds.get(fxId) == fxomObject) {
+                fxIds.put(fxId, fxIdDeclarers.get(0));
+            }
+        }
+    }
+    
+    private void updateSuffixes(String fxId, int delta) {
+        final FxIdCollector.PrefixSuffix ps = new FxIdCollector.PrefixSuffix(fxId);
+        final TreeMap<Integer, Integer> prefixSuffixes 
+                = suffixes.computeIfAbsent(ps.getPrefix(), k -> new TreeMap<>());
+        final int count = prefixSuffixes.getOrDefault(ps.getSuffix(), 0) + delta;
+        assert count >= 0;
+        if (count == 0) {
+            prefixSuffixes.remove(ps.getSuffix());
+            if (prefixSuffixes.isEmpty()) {
+                suffixes.remove(ps.getPrefix());
+            }
+        } else {
+            prefixSuffixes.put(ps.getSuffix(), count);
+        }
+    }
 }
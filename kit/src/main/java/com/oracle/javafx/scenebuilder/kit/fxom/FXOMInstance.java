@@ -135,6 +135,7 @@ public class FXOMInstance extends FXOMObject {
             getGlueElement().getAttributes().put(FXMLLoader.ROOT_TYPE_ATTRIBUTE, getGlueElement().getTagName());
             getGlueElement().setTagName("fx:root");
         }
+        getFxomDocument().fxomObjectDidChange(this);
     }
     
     public String getType() {
@@ -127,6 +127,8 @@ public class FXOMIntrinsic extends FXOMObject {
         } else {
             getGlueElement().getAttributes().put(SOURCE_PROPERTY, source);
         }
+        getFxomDocument().fxomIntrinsicSourceDidChange(this);
+        getFxomDocument().fxomObjectDidChange(this);
     }
     
     public Object getSourceSceneGraphObject() {
@@ -72,6 +72,11 @@ class FXOMLoader implements LoadListener {
 
     public void load(String fxmlText) throws java.io.IOException {
         assert fxmlText != null;
+        load(fxmlText.getBytes(Charset.forName("UTF-8"))); //NOI18N
+    }
+
+    public void load(byte[] fxmlBytes) throws java.io.IOException {
+        assert fxmlBytes != null;
 
         final ClassLoader classLoader;
         if (document.getClassLoader() != null) {
@@ -87,8 +92,7 @@ class FXOMLoader implements LoadListener {
         fxmlLoader.setLoadListener(this);
         Deprecation.setStaticLoad(fxmlLoader, true);
 
-        final Charset utf8 = Charset.forName("UTF-8");
-        try (final InputStream is = new ByteArrayInputStream(fxmlText.getBytes(utf8))) {
+        try (final InputStream is = new ByteArrayInputStream(fxmlBytes)) {
             glueCursor = new GlueCursor(document.getGlue());
             currentTransientNode = null;
             assert is.markSupported();
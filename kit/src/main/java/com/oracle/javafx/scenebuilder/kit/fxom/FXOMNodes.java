@@ -225,48 +225,25 @@ public class FXOMNodes {
     public static FXOMDocument newDocument(FXOMObject source) {
         assert source != null;
         
-        final FXOMDocument result = new FXOMDocument();
-        
-        /*
-         * If source's document contains unresolved objects,
-         * then clones import instructions from the source document
-         * to the new document.
-         */
-        final FXOMDocument sourceDocument 
-                = source.getFxomDocument();
-        assert sourceDocument.getFxomRoot() != null; // contains at least source
-        final List<FXOMObject> unresolvedObjects 
-                = collectUnresolvedObjects(sourceDocument.getFxomRoot());
-        if (unresolvedObjects.isEmpty() == false) {
-            // Copy all the imports from the source document to the new document
-            final GlueDocument sourceGlue = sourceDocument.getGlue();
-            final GlueDocument resultGlue = result.getGlue();
-            for (GlueInstruction i : sourceGlue.collectInstructions("import")) {
-                final GlueInstruction ci = new GlueInstruction(resultGlue, i.getTarget(), i.getData());
-                resultGlue.getHeader().add(ci);
-            }
-        }
-        
-        /*
-         * Clones source to the new document
-         */
-        final FXOMCloner cloner = new FXOMCloner(result);
-        final FXOMObject sourceClone = cloner.clone(source);
-        
-        /*
-         * Setup new document : sourceClone is the root, 
-         * same location, same class loader.
-         */
-        result.beginUpdate();
-        result.setLocation(sourceDocument.getLocation());
-        result.setClassLoader(sourceDocument.getClassLoader());
-        result.setFxomRoot(sourceClone);
-        if (result.getFxomRoot() instanceof FXOMInstance) {
-            trimStaticProperties((FXOMInstance) result.getFxomRoot());
-        }
-        result.endUpdate();
+        final FXOMDocument sourceDocument = source.getFxomDocument();
+        return makeDocument(source, sourceDocument.getLocation(), 
+                sourceDocument.getClassLoader(), true /* buildSceneGraph */);
+    }
+    
+    /**
+     * Same as {@link #newDocument(FXOMObject)} but the scene graph of the new
+     * document is not constructed. Such a document can be serialized or
+     * cloned but must not be edited.
+     * 
+     * @param source the object to be cloned (never null)
+     * @return a new document whose root is a clone of source
+     */
+    public static FXOMDocument newDetachedDocument(FXOMObject source) {
+        assert source != null;
         
-        return result;
+        final FXOMDocument sourceDocument = source.getFxomDocument();
+        return makeDocument(source, sourceDocument.getLocation(), 
+                sourceDocument.getClassLoader(), false /* buildSceneGraph */);
     }
 
 
@@ -684,6 +661,58 @@ public class FXOMNodes {
     }
 
     
+    private static FXOMDocument makeDocument(FXOMObject source, URL location,
+            ClassLoader classLoader, boolean buildSceneGraph) {
+        assert source != null;
+        
+        final FXOMDocument result = new FXOMDocument();
+        
+        /*
+         * If source's document contains unresolved objects,
+         * then clones import instructions from the source document
+         * to the new document.
+         */
+        final FXOMDocument sourceDocument 
+                = source.getFxomDocument();
+        assert sourceDocument.getFxomRoot() != null; // contains at least source
+        final List<FXOMObject> unresolvedObjects 
+                = collectUnresolvedObjects(sourceDocument.getFxomRoot());
+        if (unresolvedObjects.isEmpty() == false) {
+            // Copy all the imports from the source document to the new document
+            final GlueDocument sourceGlue = sourceDocument.getGlue();
+            final GlueDocument resultGlue = result.getGlue();
+            for (GlueInstruction i : sourceGlue.collectInstructions("import")) {
+                final GlueInstruction ci = new GlueInstruction(resultGlue, i.getTarget(), i.getData());
+                resultGlue.getHeader().add(ci);
+            }
+        }
+        
+        /*
+         * Clones source to the new document
+         */
+        final FXOMCloner cloner = new FXOMCloner(result);
+        final FXOMObject sourceClone = cloner.clone(source);
+        
+        /*
+         * Setup new document : sourceClone is the root.
+         */
+        result.beginUpdate();
+        result.setLocation(location);
+        result.setClassLoader(classLoader);
+        result.setFxomRoot(sourceClone);
+        if (result.getFxomRoot() instanceof FXOMInstance) {
+            trimStaticProperties((FXOMInstance) result.getFxomRoot());
+        }
+        if (buildSceneGraph) {
+            result.endUpdate();
+        } else {
+            result.endUpdateWithoutRefresh();
+        }
+        
+        return result;
+    }
+    
+    
     private static void trimStaticProperties(FXOMInstance fxomInstance) {
         final List<FXOMProperty> properties = 
                 new ArrayList<>(fxomInstance.getProperties().values());
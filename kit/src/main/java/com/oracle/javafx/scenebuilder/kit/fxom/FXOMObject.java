@@ -43,6 +43,7 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -109,6 +110,10 @@ public abstract class FXOMObject extends FXOMNode {
         
         final GlueElement newParentElement = parentProperty.getGlueElement();
         glueElement.addToParent(index, newParentElement);
+        if (parentProperty.getParentInstance() != null) {
+            getFxomDocument().fxomObjectDidAddToParent(this);
+            getFxomDocument().fxomObjectDidChange(parentProperty.getParentInstance());
+        }
         
         // May be this object was a root : properties like fx:controller must
         // be reset to preserve FXML validity.
@@ -126,6 +131,10 @@ public abstract class FXOMObject extends FXOMNode {
         final FXOMPropertyC keepParentProperty = parentProperty;
         parentProperty = null;
         keepParentProperty.removeValue(this);
+        getFxomDocument().fxomObjectDidRemoveFromParent(this);
+        if (keepParentProperty.getParentInstance() != null) {
+            getFxomDocument().fxomObjectDidChange(keepParentProperty.getParentInstance());
+        }
     }
     
     public int getIndexInParentProperty() {
@@ -159,6 +168,8 @@ public abstract class FXOMObject extends FXOMNode {
         
         final GlueElement newParentElement = parentCollection.getGlueElement();
         glueElement.addToParent(index, newParentElement);
+        getFxomDocument().fxomObjectDidAddToParent(this);
+        getFxomDocument().fxomObjectDidChange(parentCollection);
         
         // May be this object was a root : properties like fx:controller must
         // be reset to preserve FXML validity.
@@ -174,6 +185,8 @@ public abstract class FXOMObject extends FXOMNode {
         final FXOMCollection keepParentCollection = parentCollection;
         parentCollection = null;
         keepParentCollection.removeValue(this);
+        getFxomDocument().fxomObjectDidRemoveFromParent(this);
+        getFxomDocument().fxomObjectDidChange(keepParentCollection);
     }
     
     public int getIndexInParentCollection() {
@@ -194,7 +207,11 @@ public abstract class FXOMObject extends FXOMNode {
     }
 
     public void setSceneGraphObject(Object sceneGraphObject) {
+        final Object oldSceneGraphObject = this.sceneGraphObject;
         this.sceneGraphObject = sceneGraphObject;
+        if (oldSceneGraphObject != sceneGraphObject) {
+            getFxomDocument().sceneGraphObjectDidChange(this, oldSceneGraphObject);
+        }
     }
     
     public FXOMObject getNextSlibing() {
@@ -519,10 +536,12 @@ public abstract class FXOMObject extends FXOMNode {
     
     public void setFxId(String fxId) {
         assert (fxId == null) || JavaLanguage.isIdentifier(fxId);
-        if (fxId == null) {
-            glueElement.getAttributes().remove("fx:id");
-        } else {
-            glueElement.getAttributes().put("fx:id", fxId);
+        final String previousValue = (fxId == null)
+                ? glueElement.getAttributes().remove("fx:id")
+                : glueElement.getAttributes().put("fx:id", fxId);
+        if (Objects.equals(previousValue, fxId) == false) {
+            getFxomDocument().fxIdDidChange(this, previousValue);
+            getFxomDocument().fxomObjectDidChange(this);
         }
     }
         
@@ -532,10 +551,11 @@ public abstract class FXOMObject extends FXOMNode {
     }
     
     public void setFxValue(String fxValue) {
-        if (fxValue == null) {
-            glueElement.getAttributes().remove("fx:value");
-        } else {
-            glueElement.getAttributes().put("fx:value", fxValue);
+        final String previousValue = (fxValue == null)
+                ? glueElement.getAttributes().remove("fx:value")
+                : glueElement.getAttributes().put("fx:value", fxValue);
+        if (Objects.equals(previousValue, fxValue) == false) {
+            getFxomDocument().fxomObjectDidChange(this);
         }
     }
     
@@ -545,10 +565,11 @@ public abstract class FXOMObject extends FXOMNode {
     }
     
     public void setFxConstant(String fxConstant) {
-        if (fxConstant == null) {
-            glueElement.getAttributes().remove("fx:constant");
-        } else {
-            glueElement.getAttributes().put("fx:constant", fxConstant);
+        final String previousValue = (fxConstant == null)
+                ? glueElement.getAttributes().remove("fx:constant")
+                : glueElement.getAttributes().put("fx:constant", fxConstant);
+        if (Objects.equals(previousValue, fxConstant) == false) {
+            getFxomDocument().fxomObjectDidChange(this);
         }
     }
     
@@ -569,10 +590,11 @@ public abstract class FXOMObject extends FXOMNode {
     }
     
     public void setFxFactory(String fxFactory) {
-        if (fxFactory == null) {
-            glueElement.getAttributes().remove("fx:factory");
-        } else {
-            glueElement.getAttributes().put("fx:factory", fxFactory);
+        final String previousValue = (fxFactory == null)
+                ? glueElement.getAttributes().remove("fx:factory")
+                : glueElement.getAttributes().put("fx:factory", fxFactory);
+        if (Objects.equals(previousValue, fxFactory) == false) {
+            getFxomDocument().fxomObjectDidChange(this);
         }
     }
     
@@ -616,9 +638,9 @@ public abstract class FXOMObject extends FXOMNode {
             documentLocationWillChange(destination.getLocation());
         }
         
-        final Map<String, FXOMObject> destinationFxIds = destination.collectFxIds();
+        final Set<String> destinationFxIds = destination.getFxIdIndex().getFxIds().keySet();
         final Map<String, FXOMObject> importedFxIds = collectFxIds();
-        final FXOMFxIdMerger merger = new FXOMFxIdMerger(destinationFxIds.keySet(), importedFxIds.keySet());
+        final FXOMFxIdMerger merger = new FXOMFxIdMerger(destinationFxIds, importedFxIds.keySet());
         for (Map.Entry<String, FXOMObject> e : importedFxIds.entrySet()) {
             final String originalFxId = e.getKey();
             final FXOMObject fxomObject = e.getValue();
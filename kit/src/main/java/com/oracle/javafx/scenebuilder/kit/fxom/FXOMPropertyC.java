@@ -125,6 +125,10 @@ public class FXOMPropertyC extends FXOMProperty {
         
         final GlueElement newParentElement = newParentInstance.getGlueElement();
         glueElement.addToParent(index, newParentElement);
+        for (FXOMObject value : values) {
+            getFxomDocument().fxomObjectDidAddToParent(value);
+        }
+        getFxomDocument().fxomObjectDidChange(newParentInstance);
     }
 
     @Override
@@ -139,6 +143,10 @@ public class FXOMPropertyC extends FXOMProperty {
         
         setParentInstance(null);
         currentParentInstance.removeProperty(this);
+        for (FXOMObject value : values) {
+            getFxomDocument().fxomObjectDidRemoveFromParent(value);
+        }
+        getFxomDocument().fxomObjectDidChange(currentParentInstance);
     }
  
     @Override
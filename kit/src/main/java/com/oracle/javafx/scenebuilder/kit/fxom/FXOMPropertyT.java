@@ -40,6 +40,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  *
@@ -125,7 +126,11 @@ public class FXOMPropertyT extends FXOMProperty {
             }
         }
         
+        final boolean changed = Objects.equals(value, newValue) == false;
         value = newValue;
+        if (changed && (getParentInstance() != null)) {
+            getFxomDocument().fxomPropertyValueDidChange(this);
+        }
     }
 
     public GlueElement getPropertyElement() {
@@ -164,6 +169,7 @@ public class FXOMPropertyT extends FXOMProperty {
             assert index <= newParentElement.getChildren().size();
             propertyElement.addToParent(index, newParentElement);
         }
+        getFxomDocument().fxomPropertyValueDidChange(this);
     }
 
     
@@ -185,6 +191,8 @@ public class FXOMPropertyT extends FXOMProperty {
 
         setParentInstance(null);
         currentParentInstance.removeProperty(this);
+        getFxomDocument().fxomPropertyDidRemoveFromParent(this);
+        getFxomDocument().fxomObjectDidChange(currentParentInstance);
     }
     
  
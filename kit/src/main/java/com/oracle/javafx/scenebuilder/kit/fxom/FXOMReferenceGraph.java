@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Graph of the references (fx:reference, fx:copy and $expression) of an 
+ * fxom document. It is owned by the document (see 
+ * FXOMDocument.getReferenceGraph()) and kept current by FXOM node classes.
+ * 
+ * Declarations are available from the fx:id index of the document. 
+ * In addition, the graph records the fx:ids whose declarations or references
+ * have been added, moved or removed: only references to those fx:ids may
+ * have become forward references.
+ */
+public class FXOMReferenceGraph {
+    
+    private final FXOMDocument fxomDocument;
+    private final Map<String, List<FXOMNode>> references = new HashMap<>();
+    private final Map<FXOMNode, String> referenceSources = new IdentityHashMap<>();
+    private final Set<String> changedFxIds = new LinkedHashSet<>();
+    
+    FXOMReferenceGraph(FXOMDocument fxomDocument) {
+        assert fxomDocument != null;
+        this.fxomDocument = fxomDocument;
+    }
+    
+    public FXOMDocument getFxomDocument() {
+        return fxomDocument;
+    }
+    
+    /**
+     * Returns the references (FXOMIntrinsic or FXOMPropertyT) to the 
+     * specified fx:id.
+     * 
+     * @param fxId an fx:id (never null)
+     * @return the references to fxId (never null)
+     */
+    public List<FXOMNode> lookupReferences(String fxId) {
+        assert fxId != null;
+        final List<FXOMNode> result = references.get(fxId);
+        return (result == null) 
+                ? Collections.emptyList() 
+                : Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * Returns the references to the specified fx:ids sorted in document order.
+     * 
+     * @param fxIds a collection of fx:ids (never null)
+     * @return the references to fxIds in document order (never null)
+     */
+    public List<FXOMNode> collectReferences(Collection<String> fxIds) {
+        assert fxIds != null;
+        
+        final Map<FXOMNode, List<Integer>> positions = new IdentityHashMap<>();
+        for (String fxId : fxIds) {
+            for (FXOMNode reference : lookupReferences(fxId)) {
+                positions.put(reference, makePosition(reference));
+            }
+        }
+        final List<FXOMNode> result = new ArrayList<>(positions.keySet());
+        result.sort((r1, r2) -> comparePositions(positions.get(r1), positions.get(r2)));
+        
+        return result;
+    }
+    
+    /**
+     * Returns true if the specified node is a reference of this graph
+     * (ie it is attached to the document and refers to an fx:id).
+     * 
+     * @param node an fxom node (never null)
+     * @return true if node is a reference of this graph
+     */
+    public boolean containsReference(FXOMNode node) {
+        assert node != null;
+        return referenceSources.containsKey(node);
+    }
+    
+    /**
+     * Returns the fx:ids whose declarations or references have changed
+     * since last call to clearChangedFxIds().
+     * 
+     * @return an unmodifiable set of fx:ids.
+     */
+    public Set<String> getChangedFxIds() {
+        return Collections.unmodifiableSet(changedFxIds);
+    }
+    
+    public void clearChangedFxIds() {
+        changedFxIds.clear();
+    }
+    
+    /**
+     * Returns true if the specified reference is not preceded by the 
+     * declaration of its source in the document (ie FXMLLoader would 
+     * fail to resolve it).
+     * 
+     * @param reference an FXOMIntrinsic or an FXOMPropertyT of this graph
+     * @return true if reference is a forward reference.
+     */
+    public boolean isForwardReference(FXOMNode reference) {
+        final String fxId = FXOMNodes.extractReferenceSource(reference);
+        assert fxId != null;
+        
+        final List<Integer> referencePosition = makePosition(reference);
+        boolean declared = false;
+        for (FXOMObject declarer : fxomDocument.getFxIdIndex().lookupAll(fxId)) {
+            if ((declarer instanceof FXOMIntrinsic) == false) {
+                declared = declared || isBefore(makePosition(declarer), referencePosition);
+            }
+        }
+        
+        return declared == false;
+    }
+    
+    /*
+     * Package
+     */
+    
+    void reset(FXOMObject fxomRoot) {
+        references.clear();
+        referenceSources.clear();
+        changedFxIds.clear();
+        if (fxomRoot != null) {
+            for (FXOMObject o : FXOMNodes.serializeObjects(fxomRoot)) {
+                addObject(o);
+            }
+        }
+    }
+    
+    void addObject(FXOMObject fxomObject) {
+        fxIdDidChange(null, fxomObject.getFxId());
+        if (fxomObject instanceof FXOMIntrinsic) {
+            addReference(fxomObject);
+        } else if (fxomObject instanceof FXOMInstance) {
+            for (FXOMProperty p : ((FXOMInstance) fxomObject).getProperties().values()) {
+                if (p instanceof FXOMPropertyT) {
+                    addReference(p);
+                }
+            }
+        }
+    }
+    
+    void removeObject(FXOMObject fxomObject) {
+        fxIdDidChange(fxomObject.getFxId(), null);
+        if (fxomObject instanceof FXOMIntrinsic) {
+            removeReference(fxomObject);
+        } else if (fxomObject instanceof FXOMInstance) {
+            for (FXOMProperty p : ((FXOMInstance) fxomObject).getProperties().values()) {
+                if (p instanceof FXOMPropertyT) {
+                    removeReference(p);
+                }
+            }
+        }
+    }
+    
+    void fxIdDidChange(String previousFxId, String newFxId) {
+        if (previousFxId != null) {
+            changedFxIds.add(previousFxId);
+        }
+        if (newFxId != null) {
+            changedFxIds.add(newFxId);
+        }
+    }
+    
+    void addReference(FXOMNode node) {
+        assert (node instanceof FXOMIntrinsic) || (node instanceof FXOMPropertyT);
+        final String fxId = FXOMNodes.extractReferenceSource(node);
+        if ((fxId != null) && (referenceSources.containsKey(node) == false)) {
+            referenceSources.put(node, fxId);
+            references.computeIfAbsent(fxId, k -> new ArrayList<>()).add(node);
+            changedFxIds.add(fxId);
+        }
+    }
+    
+    void removeReference(FXOMNode node) {
+        final String fxId = referenceSources.remove(node);
+        if (fxId != null) {
+            final List<FXOMNode> fxIdReferences = references.get(fxId);
+            fxIdReferences.removeIf(r -> r == node);
+            if (fxIdReferences.isEmpty()) {
+                references.remove(fxId);
+            }
+            changedFxIds.add(fxId);
+        }
+    }
+    
+    void referenceDidChange(FXOMNode node) {
+        removeReference(node);
+        addReference(node);
+    }
+    
+    /*
+     * Private
+     */
+    
+    /*
+     * Position of a node in the walk order used by FXMLLoader : an object
+     * comes before its properties, properties are sorted like in 
+     * FXOMInstance.getProperties() and values like in their parent property.
+     */
+    private static List<Integer> makePosition(FXOMNode node) {
+        final List<Integer> result = new ArrayList<>();
+        
+        FXOMNode current = node;
+        while (current != null) {
+            if (current instanceof FXOMProperty) {
+                final FXOMProperty property = (FXOMProperty) current;
+                final FXOMInstance parentInstance = property.getParentInstance();
+                if (parentInstance != null) {
+                    result.add(indexOfProperty(parentInstance, property));
+                }
+                current = parentInstance;
+            } else {
+                final FXOMObject object = (FXOMObject) current;
+                if (object.getParentProperty() != null) {
+                    result.add(object.getIndexInParentProperty());
+                    current = object.getParentProperty();
+                } else if (object.getParentCollection() != null) {
+                    result.add(object.getIndexInParentCollection());
+                    current = object.getParentCollection();
+                } else {
+                    current = null;
+                }
+            }
+        }
+        Collections.reverse(result);
+        
+        return result;
+    }
+    
+    private static int indexOfProperty(FXOMInstance instance, FXOMProperty property) {
+        int result = 0;
+        for (FXOMProperty p : instance.getProperties().values()) {
+            if (p == property) {
+                break;
+            }
+            result++;
+        }
+        return result;
+    }
+    
+    private static boolean isBefore(List<Integer> position1, List<Integer> position2) {
+        return comparePositions(position1, position2) < 0;
+    }
+    
+    private static int comparePositions(List<Integer> position1, List<Integer> position2) {
+        final int count = Math.min(position1.size(), position2.size());
+        for (int i = 0; i < count; i++) {
+            final int delta = Integer.compare(position1.get(i), position2.get(i));
+            if (delta != 0) {
+                return delta;
+            }
+        }
+        // An object comes before its descendants
+        return Integer.compare(position1.size(), position2.size());
+    }
+}
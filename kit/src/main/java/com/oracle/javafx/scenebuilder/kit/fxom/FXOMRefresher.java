@@ -34,10 +34,18 @@ package com.oracle.javafx.scenebuilder.kit.fxom;
 
 import com.oracle.javafx.scenebuilder.kit.metadata.Metadata;
 import com.oracle.javafx.scenebuilder.kit.metadata.property.ValuePropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.property.value.BooleanPropertyMetadata;
 import com.oracle.javafx.scenebuilder.kit.metadata.property.value.DoubleArrayPropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.property.value.DoublePropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.property.value.EnumerationPropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.property.value.IntegerPropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.property.value.SingleValuePropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.property.value.StringPropertyMetadata;
 import com.oracle.javafx.scenebuilder.kit.metadata.property.value.list.ListValuePropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PrefixedValue;
 import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
 
+import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -47,7 +55,14 @@ import javafx.stage.Window;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -74,7 +89,9 @@ class FXOMRefresher {
                 refreshDocument(document, newDocument);
             }
             backup.restore();
-            synchronizeDividerPositions(document);
+            if (document.getFxomRoot() != null) {
+                synchronizeDividerPositions(document.getFxomRoot());
+            }
         } catch (RuntimeException | IOException x) {
             final StringBuilder sb = new StringBuilder();
             sb.append("Bug in ");
@@ -97,6 +114,339 @@ class FXOMRefresher {
         }
     }
 
+    /**
+     * Refreshes the parts of the scene graph affected by the changes recorded
+     * in the specified tracker:
+     * <ul>
+     * <li>text property values that can be converted safely are patched in
+     * place on their live scene graph object
+     * <li>other changed objects have their subtree reconstructed and the
+     * new scene graph object replaces the old one in its parent
+     * </ul>
+     * 
+     * @param document the fxom document to refresh (never null)
+     * @param tracker the changes performed since the last refresh (never null)
+     * @return the fxom objects whose subtree has been reconstructed or null
+     *         if changes cannot be localized (caller must do a full refresh).
+     */
+    public List<FXOMObject> refresh(FXOMDocument document, FXOMChangeTracker tracker) {
+        assert document != null;
+        assert tracker != null;
+        
+        if ((tracker.isLocalizable() == false)
+                || (document.getFxomRoot() == null)
+                || (document.getSceneGraphRoot() instanceof Node == false)
+                || (document.getDisplayNode() != null)) {
+            return null;
+        }
+        
+        /*
+         * #1 : sorts changes between value patches and objects to rebuild
+         */
+        final Set<FXOMObject> changedObjects = new LinkedHashSet<>(tracker.getChangedObjects());
+        final Map<FXOMPropertyT, Object> patches = new LinkedHashMap<>();
+        for (FXOMPropertyT p : tracker.getChangedProperties()) {
+            final FXOMInstance parentInstance = p.getParentInstance();
+            if ((parentInstance != null) && isAttached(document, parentInstance)) {
+                final Object patchValue = makePatchValue(p);
+                if (patchValue == null) {
+                    changedObjects.add(parentInstance);
+                } else {
+                    patches.put(p, patchValue);
+                }
+            }
+        }
+        
+        final List<FXOMObject> rebuiltObjects = new ArrayList<>();
+        final FxIdUsages fxIdUsages = new FxIdUsages(document.getFxomRoot());
+        for (FXOMObject o : changedObjects) {
+            if ((o.getFxomDocument() == document) 
+                    && isAttached(document, o)
+                    && (hasChangedAncestor(o, changedObjects) == false)) {
+                if (canRebuild(document, o, fxIdUsages) == false) {
+                    return null;
+                }
+                rebuiltObjects.add(o);
+            }
+        }
+        patches.keySet().removeIf(p -> {
+            final FXOMInstance parentInstance = p.getParentInstance();
+            return changedObjects.contains(parentInstance) 
+                    || hasChangedAncestor(parentInstance, changedObjects);
+        });
+        
+        /*
+         * #2 : reconstructs the scene graph of each rebuilt object
+         * (live scene graph is untouched until all loads succeed)
+         */
+        final List<FXOMObject> newObjects = new ArrayList<>();
+        try {
+            for (FXOMObject o : rebuiltObjects) {
+                newObjects.add(loadSubtree(document, o));
+            }
+        } catch (RuntimeException x) {
+            return null;
+        }
+        
+        /*
+         * #3 : updates the live scene graph
+         */
+        final List<FXOMObject> parentObjects = new ArrayList<>();
+        for (FXOMObject o : rebuiltObjects) {
+            parentObjects.add(o.getParentObject());
+        }
+        try {
+            final TransientStateBackup backup = new TransientStateBackup(document, parentObjects);
+            for (int i = 0, count = rebuiltObjects.size(); i < count; i++) {
+                final FXOMObject currentObject = rebuiltObjects.get(i);
+                final FXOMObject newObject = newObjects.get(i);
+                replaceSceneGraphObject(currentObject, newObject.getSceneGraphObject());
+                refreshFxomObject(currentObject, newObject);
+            }
+            final Metadata metadata = Metadata.getMetadata();
+            for (Map.Entry<FXOMPropertyT, Object> e : patches.entrySet()) {
+                final FXOMPropertyT p = e.getKey();
+                final ValuePropertyMetadata vpm 
+                        = metadata.queryValueProperty(p.getParentInstance(), p.getName());
+                vpm.setValueInSceneGraphObject(p.getParentInstance(), e.getValue());
+            }
+            backup.restore();
+            for (FXOMObject o : parentObjects) {
+                synchronizeDividerPositions(o);
+            }
+        } catch (RuntimeException x) {
+            // Scene graph is partially updated : caller will rebuild it all
+            return null;
+        }
+        
+        return rebuiltObjects;
+    }
+
+    /*
+     * Private (incremental refresh)
+     */
+
+    private static boolean isAttached(FXOMDocument document, FXOMObject fxomObject) {
+        final FXOMObject fxomRoot = document.getFxomRoot();
+        return (fxomObject == fxomRoot) || fxomObject.isDescendantOf(fxomRoot);
+    }
+
+    private static boolean hasChangedAncestor(FXOMObject fxomObject, Set<FXOMObject> changedObjects) {
+        return (changedObjects.isEmpty() == false)
+                && (FXOMNodes.lookupAncestor(fxomObject, changedObjects) != null);
+    }
+
+    /*
+     * Returns the value to be assigned to the scene graph object or null if 
+     * the property value cannot be converted without FXMLLoader.
+     */
+    private static Object makePatchValue(FXOMPropertyT fxomProperty) {
+        final FXOMInstance parentInstance = fxomProperty.getParentInstance();
+        final String value = fxomProperty.getValue();
+        if ((parentInstance.getSceneGraphObject() == null)
+                || value.startsWith(FXMLLoader.ESCAPE_PREFIX)
+                || (new PrefixedValue(value).isPlainString() == false)) {
+            return null;
+        }
+        
+        final ValuePropertyMetadata vpm = Metadata.getMetadata()
+                .queryValueProperty(parentInstance, fxomProperty.getName());
+        if ((vpm == null) || (vpm.isReadWrite() == false)) {
+            return null;
+        }
+        
+        Object result;
+        try {
+            if ((vpm instanceof StringPropertyMetadata)
+                    || (vpm instanceof BooleanPropertyMetadata)
+                    || (vpm instanceof DoublePropertyMetadata)
+                    || (vpm instanceof IntegerPropertyMetadata)) {
+                result = ((SingleValuePropertyMetadata<?>) vpm).makeValueFromProperty(fxomProperty);
+            } else if (vpm instanceof EnumerationPropertyMetadata) {
+                result = null;
+                for (Object e : vpm.getValueClass().getEnumConstants()) {
+                    if (((Enum<?>) e).name().equals(value)) {
+                        result = e;
+                        break;
+                    }
+                }
+            } else {
+                result = null;
+            }
+        } catch (RuntimeException x) {
+            // For example, NumberFormatException : FXMLLoader will report it
+            result = null;
+        }
+        
+        return result;
+    }
+
+    private static boolean canRebuild(FXOMDocument document, FXOMObject fxomObject, FxIdUsages fxIdUsages) {
+        if ((fxomObject == document.getFxomRoot())
+                || (fxomObject instanceof FXOMIntrinsic)
+                || (fxomObject.getSceneGraphObject() == null)
+                || (fxomObject.getParentObject().getSceneGraphObject() == null)) {
+            return false;
+        }
+        
+        // Subtree must be loadable alone
+        final List<FXOMObject> subtree = FXOMNodes.serializeObjects(fxomObject);
+        for (FXOMObject o : subtree) {
+            if ((o instanceof FXOMIntrinsic) || (o.getSceneGraphObject() == null)) {
+                return false;
+            }
+        }
+        for (FXOMPropertyT p : fxomObject.collectPropertiesT()) {
+            final PrefixedValue pv = new PrefixedValue(p.getValue());
+            if (pv.isExpression() || pv.isBindingExpression()) {
+                return false;
+            }
+        }
+        
+        // fx:ids declared in the subtree must not be used from outside
+        final Set<String> fxIds = fxomObject.collectFxIds().keySet();
+        if ((fxIds.isEmpty() == false) 
+                && fxIdUsages.isUsedOutside(fxIds, new HashSet<>(subtree))) {
+            return false;
+        }
+        
+        return true;
+    }
+
+    /*
+     * Objects of the document which may use an fx:id (fx:reference / fx:copy
+     * sources, $fxId expressions and binding expressions).
+     * Document is serialized at first query only and once per refresh.
+     */
+    private static class FxIdUsages {
+        
+        private final FXOMObject fxomRoot;
+        private Map<String, List<FXOMObject>> users;
+        private List<FXOMObject> bindingUsers;
+        
+        FxIdUsages(FXOMObject fxomRoot) {
+            this.fxomRoot = fxomRoot;
+        }
+        
+        boolean isUsedOutside(Set<String> fxIds, Set<FXOMObject> subtreeObjects) {
+            if (users == null) {
+                collectUsers();
+            }
+            
+            for (FXOMObject o : bindingUsers) {
+                if (subtreeObjects.contains(o) == false) {
+                    return true;
+                }
+            }
+            for (String fxId : fxIds) {
+                for (FXOMObject o : users.getOrDefault(fxId, Collections.emptyList())) {
+                    if (subtreeObjects.contains(o) == false) {
+                        return true;
+                    }
+                }
+            }
+            
+            return false;
+        }
+        
+        private void collectUsers() {
+            users = new HashMap<>();
+            bindingUsers = new ArrayList<>();
+            for (FXOMObject o : FXOMNodes.serializeObjects(fxomRoot)) {
+                if (o instanceof FXOMIntrinsic) {
+                    final String source = ((FXOMIntrinsic) o).getSource();
+                    if (source != null) {
+                        addUser(source, o);
+                    }
+                } else if (o instanceof FXOMInstance) {
+                    for (FXOMProperty p : ((FXOMInstance) o).getProperties().values()) {
+                        if (p instanceof FXOMPropertyT) {
+                            final PrefixedValue pv 
+                                    = new PrefixedValue(((FXOMPropertyT) p).getValue());
+                            if (pv.isExpression()) {
+                                addUser(pv.getSuffix(), o);
+                            } else if (pv.isBindingExpression()) {
+                                bindingUsers.add(o);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        
+        private void addUser(String fxId, FXOMObject fxomObject) {
+            users.computeIfAbsent(fxId, k -> new ArrayList<>()).add(fxomObject);
+        }
+    }
+
+    /*
+     * Loads a copy of fxomObject in a transient document and returns the
+     * copy once its scene graph has been constructed.
+     */
+    private static FXOMObject loadSubtree(FXOMDocument document, FXOMObject fxomObject) {
+        final FXOMDocument subDocument = new FXOMDocument();
+        final FXOMCloner cloner = new FXOMCloner(subDocument);
+        final FXOMObject result = cloner.clone(fxomObject, true /* preserveFxId */);
+        
+        subDocument.beginUpdate();
+        subDocument.setLocation(document.getLocation());
+        subDocument.setClassLoader(document.getClassLoader());
+        subDocument.setResources(document.getResources());
+        subDocument.setFxomRoot(result);
+        subDocument.endUpdate();
+        
+        if (result.getSceneGraphObject() == null) {
+            throw new IllegalStateException("Unresolved subtree " + fxomObject); //NOI18N
+        }
+        // Undoes the "root" style class added by FXOMRefresher.refreshDocument()
+        if (result.getSceneGraphObject() instanceof Parent) {
+            final Parent parent = (Parent) result.getSceneGraphObject();
+            assert "root".equals(parent.getStyleClass().get(0));
+            parent.getStyleClass().remove(0);
+        }
+        
+        return result;
+    }
+
+    private static void replaceSceneGraphObject(FXOMObject fxomObject, Object newSceneGraphObject) {
+        final Object oldSceneGraphObject = fxomObject.getSceneGraphObject();
+        final FXOMPropertyC parentProperty = fxomObject.getParentProperty();
+        final FXOMCollection parentCollection = fxomObject.getParentCollection();
+        
+        if (parentProperty != null) {
+            final Object parentSceneGraphObject 
+                    = parentProperty.getParentInstance().getSceneGraphObject();
+            final PropertyName name = parentProperty.getName();
+            final Object currentValue = name.getValue(parentSceneGraphObject);
+            if (currentValue instanceof List && (currentValue != oldSceneGraphObject)) {
+                replaceItem(castList(currentValue), oldSceneGraphObject, newSceneGraphObject);
+            } else {
+                name.setValue(parentSceneGraphObject, newSceneGraphObject);
+            }
+        } else {
+            assert parentCollection != null;
+            assert parentCollection.getSceneGraphObject() instanceof List;
+            replaceItem(castList(parentCollection.getSceneGraphObject()), 
+                    oldSceneGraphObject, newSceneGraphObject);
+        }
+    }
+
+    private static void replaceItem(List<Object> items, Object oldItem, Object newItem) {
+        int index = 0;
+        while ((index < items.size()) && (items.get(index) != oldItem)) {
+            index++;
+        }
+        if (index >= items.size()) {
+            throw new IllegalStateException("Scene graph object not found in its parent"); //NOI18N
+        }
+        items.set(index, newItem);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> castList(Object list) {
+        return (List<Object>) list;
+    }
+
     private void removeIntrinsicProperty(FXOMDocument document) {
         FXOMInstance fxomRoot = (FXOMInstance) document.getFxomRoot();
         if (fxomRoot != null) {
@@ -258,31 +608,28 @@ class FXOMRefresher {
      * dividerPositions in FXOM.
      */
 
-    private void synchronizeDividerPositions(FXOMDocument document) {
-        final FXOMObject fxomRoot = document.getFxomRoot();
-        if (fxomRoot != null) {
-            final Metadata metadata
-                    = Metadata.getMetadata();
-            final PropertyName dividerPositionsName
-                    = new PropertyName("dividerPositions");
-            final List<FXOMObject> candidates
-                    = fxomRoot.collectObjectWithSceneGraphObjectClass(SplitPane.class);
-
-            for (FXOMObject fxomObject : candidates) {
-                if (fxomObject instanceof FXOMInstance) {
-                    final FXOMInstance fxomInstance = (FXOMInstance) fxomObject;
-                    assert fxomInstance.getSceneGraphObject() instanceof SplitPane;
-                    final SplitPane splitPane
-                            = (SplitPane) fxomInstance.getSceneGraphObject();
-                    splitPane.layout();
-                    final ValuePropertyMetadata vpm
-                            = metadata.queryValueProperty(fxomInstance, dividerPositionsName);
-                    assert vpm instanceof ListValuePropertyMetadata
-                            : "vpm.getClass()=" + vpm.getClass().getSimpleName();
-                    final DoubleArrayPropertyMetadata davpm
-                            = (DoubleArrayPropertyMetadata) vpm;
-                    davpm.synchronizeWithSceneGraphObject(fxomInstance);
-                }
+    private void synchronizeDividerPositions(FXOMObject startObject) {
+        final Metadata metadata
+                = Metadata.getMetadata();
+        final PropertyName dividerPositionsName
+                = new PropertyName("dividerPositions");
+        final List<FXOMObject> candidates
+                = startObject.collectObjectWithSceneGraphObjectClass(SplitPane.class);
+
+        for (FXOMObject fxomObject : candidates) {
+            if (fxomObject instanceof FXOMInstance) {
+                final FXOMInstance fxomInstance = (FXOMInstance) fxomObject;
+                assert fxomInstance.getSceneGraphObject() instanceof SplitPane;
+                final SplitPane splitPane
+                        = (SplitPane) fxomInstance.getSceneGraphObject();
+                splitPane.layout();
+                final ValuePropertyMetadata vpm
+                        = metadata.queryValueProperty(fxomInstance, dividerPositionsName);
+                assert vpm instanceof ListValuePropertyMetadata
+                        : "vpm.getClass()=" + vpm.getClass().getSimpleName();
+                final DoubleArrayPropertyMetadata davpm
+                        = (DoubleArrayPropertyMetadata) vpm;
+                davpm.synchronizeWithSceneGraphObject(fxomInstance);
             }
         }
     }
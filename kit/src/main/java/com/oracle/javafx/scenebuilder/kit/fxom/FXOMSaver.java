@@ -35,6 +35,8 @@ package com.oracle.javafx.scenebuilder.kit.fxom;
 import com.oracle.javafx.scenebuilder.kit.fxom.glue.GlueDocument;
 import com.oracle.javafx.scenebuilder.kit.fxom.glue.GlueInstruction;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -68,18 +70,16 @@ class FXOMSaver {
     }
     
     public String save(FXOMDocument fxomDocument) {
-        
-        assert fxomDocument != null;
-        assert fxomDocument.getGlue() != null;
-        
-        if (fxomDocument.getFxomRoot() != null) {
-            updateNameSpace(fxomDocument);
-            updateImportInstructions(fxomDocument);
-        }
-
+        prepareGlue(fxomDocument);
         return fxomDocument.getGlue().toString();
     }
     
+    public void save(FXOMDocument fxomDocument, WritableByteChannel channel) throws IOException {
+        assert channel != null;
+        prepareGlue(fxomDocument);
+        fxomDocument.getGlue().writeTo(channel);
+    }
+    
     
     /*
      * Private
@@ -88,6 +88,16 @@ class FXOMSaver {
     private static final String NAME_SPACE_FX = "http://javafx.com/javafx/" + FXMLLoader.JAVAFX_VERSION;
     private static final String NAME_SPACE_FXML = "http://javafx.com/fxml/1";
     
+    private void prepareGlue(FXOMDocument fxomDocument) {
+        assert fxomDocument != null;
+        assert fxomDocument.getGlue() != null;
+        
+        if (fxomDocument.getFxomRoot() != null) {
+            updateNameSpace(fxomDocument);
+            updateImportInstructions(fxomDocument);
+        }
+    }
+    
     private void updateNameSpace(FXOMDocument fxomDocument) {
         assert fxomDocument.getFxomRoot() != null;
         
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Identity index from scene graph objects to the fxom objects of an fxom
+ * document.
+ * 
+ * Only objects reachable from the fxom root are indexed (ie those that
+ * FXOMObject.searchWithSceneGraphObject() can find). The index is kept
+ * current by FXOMObject (attachment / detachment, scene graph object change).
+ */
+class FXOMSceneGraphIndex {
+    
+    private final Map<Object, List<FXOMObject>> objects = new IdentityHashMap<>();
+    private final Set<FXOMObject> indexedObjects 
+            = Collections.newSetFromMap(new IdentityHashMap<>());
+    
+    public void reset(FXOMObject fxomRoot) {
+        objects.clear();
+        indexedObjects.clear();
+        if (fxomRoot != null) {
+            for (FXOMObject o : FXOMNodes.serializeObjects(fxomRoot)) {
+                add(o);
+            }
+        }
+    }
+    
+    public void add(FXOMObject fxomObject) {
+        assert fxomObject != null;
+        if (isSearchable(fxomObject) && indexedObjects.add(fxomObject)) {
+            addEntry(fxomObject.getSceneGraphObject(), fxomObject);
+        }
+    }
+    
+    public void remove(FXOMObject fxomObject) {
+        assert fxomObject != null;
+        if (indexedObjects.remove(fxomObject)) {
+            removeEntry(fxomObject.getSceneGraphObject(), fxomObject);
+        }
+    }
+    
+    public void sceneGraphObjectDidChange(FXOMObject fxomObject, Object oldSceneGraphObject) {
+        assert fxomObject != null;
+        if (indexedObjects.contains(fxomObject)) {
+            removeEntry(oldSceneGraphObject, fxomObject);
+            addEntry(fxomObject.getSceneGraphObject(), fxomObject);
+        }
+    }
+    
+    /**
+     * Returns the indexed fxom objects associated to the specified scene
+     * graph object. Most of the time, the result contains at most one object.
+     * 
+     * @param sceneGraphObject a scene graph object (never null)
+     * @return the fxom objects associated to sceneGraphObject (never null)
+     */
+    public List<FXOMObject> lookup(Object sceneGraphObject) {
+        assert sceneGraphObject != null;
+        final List<FXOMObject> result = objects.get(sceneGraphObject);
+        return (result == null) ? Collections.emptyList() : result;
+    }
+    
+    /*
+     * Private
+     */
+    
+    private static boolean isSearchable(FXOMObject fxomObject) {
+        // Consistent with FXOMIntrinsic.searchWithSceneGraphObject()
+        return (fxomObject instanceof FXOMIntrinsic == false)
+                || (((FXOMIntrinsic) fxomObject).getType() == FXOMIntrinsic.Type.FX_INCLUDE);
+    }
+    
+    private void addEntry(Object sceneGraphObject, FXOMObject fxomObject) {
+        if (sceneGraphObject != null) {
+            final List<FXOMObject> entry 
+                    = objects.computeIfAbsent(sceneGraphObject, k -> new ArrayList<>(1));
+            entry.add(fxomObject);
+        }
+    }
+    
+    private void removeEntry(Object sceneGraphObject, FXOMObject fxomObject) {
+        if (sceneGraphObject != null) {
+            final List<FXOMObject> entry = objects.get(sceneGraphObject);
+            if (entry != null) {
+                entry.removeIf(o -> o == fxomObject);
+                if (entry.isEmpty()) {
+                    objects.remove(sceneGraphObject);
+                }
+            }
+        }
+    }
+}
@@ -42,39 +42,38 @@ import java.util.Set;
  */
 class FxIdCollector {
     
+    private final FXOMFxIdIndex fxIdIndex; // null if fx:ids are provided as a set
     private final Set<String> fxIds = new HashSet<>();
-    private Map<String, Integer> nextIndexes ; // Created lazily
+    private final Map<String, Integer> nextIndexes = new HashMap<>();
     
     public FxIdCollector(Set<String> fxIds) {
         assert fxIds != null;
-        this.fxIds.addAll(fxIds);
+        this.fxIdIndex = null;
+        for (String fxId : fxIds) {
+            addFxId(fxId);
+        }
     }
     
     public FxIdCollector(FXOMDocument fxomDocument) {
-        this(fxomDocument.collectFxIds().keySet());
+        // fx:ids of the document are queried from its index : 
+        // fxIds and nextIndexes only contain the imported fx:ids
+        this.fxIdIndex = fxomDocument.getFxIdIndex();
     }
     
     public String importFxId(String sourceFxId) {
         assert sourceFxId != null;
         
         final String result;
-        if (fxIds.contains(sourceFxId)) {
-            if (nextIndexes == null) {
-                createNextIndexes();
-                assert nextIndexes != null;
-            }
+        if (contains(sourceFxId)) {
             final PrefixSuffix pf = new PrefixSuffix(sourceFxId);
-            final Integer nextIndex = nextIndexes.get(pf.getPrefix());
-            assert nextIndex != null;
+            final int nextIndex = getNextIndex(pf.getPrefix());
+            assert nextIndex != -1;
             result = pf.getPrefix() + nextIndex;
         } else {
             result = sourceFxId;
         }
         
-        fxIds.add(result);
-        if (nextIndexes != null) {
-            updateNextIndexes(result);
-        }
+        addFxId(result);
         
         return result;
     }
@@ -84,17 +83,23 @@ class FxIdCollector {
      * Private
      */
     
-    private void createNextIndexes() {
-        nextIndexes = new HashMap<>();
-        
-        for (String fxId : fxIds) {
-            updateNextIndexes(fxId);
-        }
+    private boolean contains(String fxId) {
+        return fxIds.contains(fxId) 
+                || ((fxIdIndex != null) && fxIdIndex.contains(fxId));
     }
     
+    private int getNextIndex(String prefix) {
+        final Integer nextIndex = nextIndexes.get(prefix);
+        final int result = (nextIndex == null) ? -1 : nextIndex;
+        if (fxIdIndex == null) {
+            return result;
+        } else {
+            return Math.max(result, fxIdIndex.getNextIndex(prefix));
+        }
+    }
     
-    private void updateNextIndexes(String fxId) {
-        assert nextIndexes != null;
+    private void addFxId(String fxId) {
+        fxIds.add(fxId);
         
         final PrefixSuffix pf = new PrefixSuffix(fxId);
         final Integer nextIndex = nextIndexes.get(pf.getPrefix());
@@ -105,7 +110,7 @@ class FxIdCollector {
     
     
     
-    private static class PrefixSuffix {
+    static class PrefixSuffix {
         private final String prefix;
         private final int suffix;
         
@@ -117,9 +122,11 @@ class FxIdCollector {
             while ((endIndex >= 1) && Character.isDigit(fxId.charAt(endIndex-1))) {
                 endIndex--;
             }
-            if (endIndex < fxId.length()) {
+            final int digits = (endIndex < fxId.length()) 
+                    ? parseSuffix(fxId.substring(endIndex)) : -1;
+            if (digits != -1) {
                 this.prefix = fxId.substring(0, endIndex);
-                this.suffix = Integer.parseInt(fxId.substring(endIndex));
+                this.suffix = digits;
             } else {
                 this.prefix = fxId;
                 this.suffix = -1;
@@ -138,5 +145,22 @@ class FxIdCollector {
         public String toString() {
             return (suffix == -1) ? prefix : prefix+suffix;
         }
+        
+        /*
+         * Returns -1 if the digits do not fit in an int (e.g. a timestamp)
+         * or leave no room for a next index : fx:id has no suffix then.
+         */
+        private static int parseSuffix(String digits) {
+            int result;
+            try {
+                result = Integer.parseInt(digits);
+                if (result == Integer.MAX_VALUE) {
+                    result = -1;
+                }
+            } catch(NumberFormatException x) {
+                result = -1;
+            }
+            return result;
+        }
     }
 }
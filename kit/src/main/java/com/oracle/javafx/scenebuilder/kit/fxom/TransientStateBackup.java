@@ -33,6 +33,8 @@
 package com.oracle.javafx.scenebuilder.kit.fxom;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,16 +51,29 @@ class TransientStateBackup {
     private final FXOMDocument fxomDocument;
     private final Map<FXOMObject, FXOMObject> tabPaneMap = new HashMap<>();
     private final Map<FXOMObject, FXOMObject> accordionMap = new HashMap<>();
+    private final List<FXOMObject> startObjects = new ArrayList<>();
 
     public TransientStateBackup(FXOMDocument fxomDocument) {
+        this(fxomDocument, (fxomDocument.getFxomRoot() == null)
+                ? Collections.emptyList()
+                : Collections.singletonList(fxomDocument.getFxomRoot()));
+    }
+    
+    /**
+     * Backups the transient state of the specified objects and of their
+     * descendants only.
+     * 
+     * @param fxomDocument the fxom document (never null)
+     * @param startObjects the roots of the subtrees to backup (never null)
+     */
+    public TransientStateBackup(FXOMDocument fxomDocument, Collection<FXOMObject> startObjects) {
         assert fxomDocument != null;
+        assert startObjects != null;
         
         this.fxomDocument = fxomDocument;
+        this.startObjects.addAll(startObjects);
         
-        final List<FXOMObject> candidates = new ArrayList<>();
-        if (this.fxomDocument.getFxomRoot() != null) {
-            candidates.add(this.fxomDocument.getFxomRoot());
-        }
+        final List<FXOMObject> candidates = new ArrayList<>(this.startObjects);
         
         while (candidates.isEmpty() == false) {
             final FXOMObject candidate = candidates.get(0);
@@ -92,10 +107,7 @@ class TransientStateBackup {
     }
     
     public void restore() {
-        final List<FXOMObject> candidates = new ArrayList<>();
-        if (this.fxomDocument.getFxomRoot() != null) {
-            candidates.add(this.fxomDocument.getFxomRoot());
-        }
+        final List<FXOMObject> candidates = new ArrayList<>(startObjects);
         
         while (candidates.isEmpty() == false) {
             final FXOMObject candidate = candidates.get(0);
@@ -31,7 +31,10 @@
  */
 package com.oracle.javafx.scenebuilder.kit.fxom.glue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -56,6 +59,24 @@ public class GlueDocument extends GlueNode {
         }
     }
     
+    /**
+     * Builds a glue document from UTF-8 encoded xml content. This avoids
+     * decoding and re-encoding the content when it has been read from a file.
+     * 
+     * @param xmlBytes UTF-8 encoded xml content (never null)
+     * @throws IOException if the content cannot be parsed
+     */
+    public GlueDocument(byte[] xmlBytes) throws IOException {
+        assert xmlBytes != null;
+        if (isEmptyXmlContent(xmlBytes) == false) {
+            final GlueLoader loader = new GlueLoader(this);
+            try (final InputStream is = new ByteArrayInputStream(xmlBytes)) {
+                loader.load(is);
+            }
+            adjustRootElementIndentation();
+        }
+    }
+    
     public GlueElement getRootElement() {
         return rootElement;
     }
@@ -78,6 +99,23 @@ public class GlueDocument extends GlueNode {
     }
     
     
+    /**
+     * Writes the UTF-8 encoded xml text of this document into the specified
+     * channel. Writes the same content as toString() but without building
+     * it in memory. Nothing is written if this document is empty.
+     * 
+     * @param channel a writable byte channel (never null)
+     * @throws IOException if the channel fails
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        assert channel != null;
+        if (rootElement != null) {
+            final GlueSerializer serializer = new GlueSerializer(this);
+            serializer.writeTo(channel);
+        }
+    }
+    
+    
     /*
      * Utilities
      */
@@ -104,6 +142,17 @@ public class GlueDocument extends GlueNode {
         return xmlText.trim().isEmpty();
     }
     
+    public static boolean isEmptyXmlContent(byte[] xmlBytes) {
+        assert xmlBytes != null;
+        // Same as isEmptyXmlText() : UTF-8 multi-byte sequences are >= 0x80
+        for (byte b : xmlBytes) {
+            if ((b & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     /*
      * Object
      */
@@ -32,6 +32,15 @@
  */
 package com.oracle.javafx.scenebuilder.kit.fxom.glue;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -58,6 +67,34 @@ class GlueSerializer {
     }
     
     
+    /**
+     * Writes the UTF-8 encoded xml text of the glue document into the
+     * specified channel. Text is encoded on the fly : no String holding
+     * the whole document is built. The channel is not closed.
+     * 
+     * @param channel a writable byte channel (never null)
+     * @throws IOException if the channel fails
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        assert channel != null;
+        
+        // Malformed characters (eg unpaired surrogates) are replaced 
+        // like String.getBytes() does
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final Writer channelWriter = Channels.newWriter(channel, encoder, WRITER_BUFFER_SIZE);
+        final Writer writer = new BufferedWriter(channelWriter, WRITER_BUFFER_SIZE);
+        try {
+            serialize(new XMLBuffer(writer));
+        } catch(UncheckedIOException x) {
+            throw x.getCause();
+        }
+        // Flushes the encoder into the channel (closing would close the channel)
+        writer.flush();
+    }
+    
+    
     /*
      * Object
      */
@@ -65,7 +102,18 @@ class GlueSerializer {
     @Override
     public String toString() {
         final XMLBuffer result = new XMLBuffer();
-        
+        serialize(result);
+        return result.toString();
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+    
+    private void serialize(XMLBuffer result) {
         result.addLineSeparator();
         result.addLineSeparator();
         
@@ -87,8 +135,6 @@ class GlueSerializer {
         
         serializeElement(document.getRootElement(), result);
         result.addLineSeparator();
-        
-        return result.toString();
     }
     
     private void serializeElement(GlueElement element, XMLBuffer xmlBuffer) {
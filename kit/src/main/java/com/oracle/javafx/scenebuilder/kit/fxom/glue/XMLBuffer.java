@@ -31,16 +31,21 @@
  */
 package com.oracle.javafx.scenebuilder.kit.fxom.glue;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Accumulates xml text either in memory (see toString()) or in a writer.
  * 
- * 
+ * When writing to a writer, I/O errors are reported as UncheckedIOException
+ * by the append methods.
  */
 class XMLBuffer {
     
-    private final StringBuffer buffer = new StringBuffer();
+    private final Appendable buffer;
     private final List<String> elementStack = new ArrayList<>();
     private boolean tagOpened;
     
@@ -49,14 +54,14 @@ class XMLBuffer {
      */
     
     public XMLBuffer() {
-        clear();
+        this.buffer = new StringBuilder();
+        begin();
     }
     
-    public final void clear() {
-        elementStack.clear();
-        tagOpened = false;
-        buffer.delete(0, buffer.length());
-        buffer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"); //NOI18N
+    public XMLBuffer(Writer writer) {
+        assert writer != null;
+        this.buffer = writer;
+        begin();
     }
     
     public void addProcessingInstruction(String target, String content) {
@@ -65,21 +70,21 @@ class XMLBuffer {
         assert elementStack.isEmpty();
         assert tagOpened == false;
         
-        buffer.append("<?"); //NOI18N
-        buffer.append(target);
-        buffer.append(' ');
-        buffer.append(content);
-        buffer.append("?>"); //NOI18N
+        append("<?"); //NOI18N
+        append(target);
+        append(' ');
+        append(content);
+        append("?>"); //NOI18N
     }
     
     public void beginElement(String elementName) {
         assert elementName != null;
         
         if (tagOpened) {
-            buffer.append(">"); //NOI18N
+            append(">"); //NOI18N
         }
-        buffer.append('<');
-        buffer.append(elementName);
+        append('<');
+        append(elementName);
         elementStack.add(elementName);
         tagOpened = true;
     }
@@ -89,11 +94,11 @@ class XMLBuffer {
         assert attributeValue != null;
         assert tagOpened;
         
-        buffer.append(' ');
-        buffer.append(attributeName);
-        buffer.append("=\""); //NOI18N
-        buffer.append(encodeToAttributeValue(attributeValue));
-        buffer.append('"');
+        append(' ');
+        append(attributeName);
+        append("=\""); //NOI18N
+        appendAttributeValue(attributeValue);
+        append('"');
     }
     
     public void endElement() {
@@ -102,38 +107,38 @@ class XMLBuffer {
         final String elementName = elementStack.get(elementStack.size()-1);
         elementStack.remove(elementStack.size()-1);
         if (tagOpened) {
-            buffer.append(" />"); //NOI18N
+            append(" />"); //NOI18N
             tagOpened = false;
         } else {
-            buffer.append("</"); //NOI18N
-            buffer.append(elementName);
-            buffer.append(">"); //NOI18N
+            append("</"); //NOI18N
+            append(elementName);
+            append(">"); //NOI18N
         }
     }
     
     
     public void addText(String text) {
         if (tagOpened) {
-            buffer.append(">"); //NOI18N
+            append(">"); //NOI18N
             tagOpened = false;
         }
-        buffer.append(text);
+        append(text);
     }
     
     
     public void addComment(String comment) {
         assert tagOpened == false;
-        buffer.append("<!--"); //NOI18N
-        buffer.append(comment);
-        buffer.append("-->"); //NOI18N
+        append("<!--"); //NOI18N
+        append(comment);
+        append("-->"); //NOI18N
     }
     
     public void addLineSeparator() {
         if (tagOpened) {
-            buffer.append(">"); //NOI18N
+            append(">"); //NOI18N
             tagOpened = false;
         }
-        buffer.append('\n');
+        append('\n');
     }
     
     /*
@@ -143,6 +148,7 @@ class XMLBuffer {
     @Override
     public String toString() {
         assert elementStack.isEmpty();
+        assert buffer instanceof StringBuilder;
         return buffer.toString();
     }
     
@@ -150,38 +156,53 @@ class XMLBuffer {
      * Private
      */    
     
+    private void begin() {
+        append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"); //NOI18N
+    }
     
-    private String encodeToAttributeValue(String s) {
-        final StringBuffer result = new StringBuffer();
-        
+    private void append(CharSequence s) {
+        try {
+            buffer.append(s);
+        } catch(IOException x) {
+            throw new UncheckedIOException(x);
+        }
+    }
+    
+    private void append(char c) {
+        try {
+            buffer.append(c);
+        } catch(IOException x) {
+            throw new UncheckedIOException(x);
+        }
+    }
+    
+    private void appendAttributeValue(String s) {
         for (int i = 0; i < s.length(); i++) {
             final char c = s.charAt(i);
             switch (c) {
                 case '&': 
-                    result.append("&amp;");  //NOI18N
+                    append("&amp;");  //NOI18N
                     break;
                 case '<':
-                    result.append("&lt;"); //NOI18N
+                    append("&lt;"); //NOI18N
                     break;
                 case '>':
-                    result.append("&gt;"); //NOI18N
+                    append("&gt;"); //NOI18N
                     break;
                 case '"': 
-                    result.append("&quot;"); //NOI18N
+                    append("&quot;"); //NOI18N
                     break;
                 default :
                     if (Character.isISOControl(c)) {
-                        result.append("&#"); //NOI18N
-                        result.append((int) c);
-                        result.append(';');
+                        append("&#"); //NOI18N
+                        append(Integer.toString(c));
+                        append(';');
                     } else {
-                        result.append(c);
+                        append(c);
                     }
                     break;
             }
         }
-        
-        return result.toString();
     }
 
 }
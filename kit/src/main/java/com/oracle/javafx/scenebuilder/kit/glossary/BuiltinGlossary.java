@@ -37,6 +37,9 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  *
@@ -44,6 +47,11 @@ import java.util.List;
  */
 public class BuiltinGlossary extends Glossary {
     
+    private static ExecutorService warmUpExecutor;
+    
+    private final ControllerClassIndex index = new ControllerClassIndex(this::incrementRevision);
+    private URL preparedLocation;
+    
     public BuiltinGlossary() {
     }
 
@@ -62,7 +70,7 @@ public class BuiltinGlossary extends Glossary {
                 return Collections.emptyList();
             } else {
                 List<String> res = new ArrayList<>();
-                for (ControllerClass cc : ControllerClass.discoverFXMLControllerClasses(fxmlFile)) {
+                for (ControllerClass cc : ControllerClass.discoverFXMLControllerClasses(fxmlFile, index)) {
                     if (! res.contains(cc.getClassName())) {
                         res.add(cc.getClassName());
                     }
@@ -86,7 +94,7 @@ public class BuiltinGlossary extends Glossary {
                 return Collections.emptyList();
             } else {
                 List<String> res = new ArrayList<>();
-                for (ControllerClass cc : ControllerClass.discoverFXMLControllerClasses(fxmlFile)) {
+                for (ControllerClass cc : ControllerClass.discoverFXMLControllerClasses(fxmlFile, index)) {
                     if (controllerClass.equals(cc.getClassName())) {
                         res.addAll(cc.getFxIds());
                         break;  // discoverFXMLControllerClasses may return duplicates.
@@ -111,7 +119,7 @@ public class BuiltinGlossary extends Glossary {
                 return Collections.emptyList();
             } else {
                 List<String> res = new ArrayList<>();
-                for (ControllerClass cc : ControllerClass.discoverFXMLControllerClasses(fxmlFile)) {
+                for (ControllerClass cc : ControllerClass.discoverFXMLControllerClasses(fxmlFile, index)) {
                     if (controllerClass.equals(cc.getClassName())) {
                         res.addAll(cc.getEventHandlers());
                         break;  // discoverFXMLControllerClasses may return duplicates.
@@ -124,6 +132,46 @@ public class BuiltinGlossary extends Glossary {
         }
     }
     
+    @Override
+    public void prepare(URL fxmlLocation) {
+        if (Objects.equals(preparedLocation, fxmlLocation) == false) {
+            // Entries indexed for the previous location are dropped and
+            // their files are no longer watched
+            preparedLocation = fxmlLocation;
+            index.clear();
+        }
+        if (fxmlLocation != null) {
+            final File fxmlFile = getFileFromURL(fxmlLocation);
+            if (fxmlFile.exists()) {
+                // Parses the candidate controller classes in background
+                // so that first queries are served from the index
+                getWarmUpExecutor().execute(
+                        () -> ControllerClass.discoverFXMLControllerClasses(fxmlFile, index));
+            }
+        }
+    }
+    
+    @Override
+    public void dispose() {
+        index.dispose();
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private static synchronized ExecutorService getWarmUpExecutor() {
+        if (warmUpExecutor == null) {
+            warmUpExecutor = Executors.newSingleThreadExecutor(r -> {
+                final Thread result = new Thread(r, BuiltinGlossary.class.getSimpleName());
+                result.setDaemon(true);
+                return result;
+            });
+        }
+        return warmUpExecutor;
+    }
+    
     // It's better to use URL.toURI than URL.getPath to feed File constructor.
     private File getFileFromURL(URL location) {
         File res;
@@ -101,7 +101,7 @@ class ControllerClass {
     private static final String MAVEN_DIR_REPLACEMENT_STRING = "$1" + MAVEN_JAVA_SOURCES_DIR + "$2";
     private static final boolean IGNORE_MAVEN_DIR_STRUCTURE = System.getProperty("ignore.maven.structure") != null;
 
-    private ControllerClass(File file) throws IOException, JavaTokenizer.ParseException {
+    ControllerClass(File file) throws IOException, JavaTokenizer.ParseException {
         assert file != null;
         this.file = file;
         javaContent = readFile(file);
@@ -123,7 +123,7 @@ class ControllerClass {
         return isInitializable;
     }
 
-    public static Set<ControllerClass> discoverFXMLControllerClasses(File fxmlFile) {
+    public static Set<ControllerClass> discoverFXMLControllerClasses(File fxmlFile, ControllerClassIndex index) {
         ScanData data = new ScanData();
         String name;
         File parentFile = fxmlFile.getParentFile();
@@ -142,7 +142,7 @@ class ControllerClass {
             // Current + go up 1 dir level and scan.
             int maxDepth = 2;
             for (int i = 0; i < maxDepth; i++) {
-                scanDirectory(name, parentFile, data);
+                scanDirectory(name, parentFile, data, index);
                 if (!data.continueScanning()) {
                     break;
                 }
@@ -153,44 +153,38 @@ class ControllerClass {
         return data.getClasses();
     }
 
-    private static void scanDirectory(String name, File directory, ScanData data) {
+    private static void scanDirectory(String name, File directory, ScanData data, ControllerClassIndex index) {
         try {
             //1) Same name .java
             File f = new File(directory, name + ".java");//NOI18N
             if (f.exists()) {
-                try {
-                    ControllerClass clazz = new ControllerClass(f);
+                ControllerClass clazz = index.getControllerClass(f);
+                if (clazz != null) {
                     data.add(clazz);
-                } catch (IOException | JavaTokenizer.ParseException ex) {
-                    // NOTE skipping class
                 }
             }
             //2) Same nameController.java
             File f2 = new File(directory, name + "Controller.java");//NOI18N
             if (f2.exists()) {
-                try {
-                    ControllerClass clazz = new ControllerClass(f2);
+                ControllerClass clazz = index.getControllerClass(f2);
+                if (clazz != null) {
                     data.add(clazz);
-                } catch (IOException | JavaTokenizer.ParseException ex) {
-                    // NOTE skipping class
                 }
             }
             //3) Contains FXML, requires list all java files in the same directory.
             // Enter the list if it exists.
-            for (File javaFile : filterJavaFiles(directory)) {
+            for (File javaFile : index.listJavaFiles(directory)) {
                 if (javaFile.equals(f) || javaFile.equals(f2)) {
                     continue;
                 }
-                try {
-                    ControllerClass clazz = new ControllerClass(javaFile);
+                ControllerClass clazz = index.getControllerClass(javaFile);
+                if (clazz != null) {
                     if (!clazz.getFxIds().isEmpty()
                             || !clazz.getEventHandlers().isEmpty() || clazz.isInitializable()) {
                         data.add(clazz);
                     } else {
                         data.javaScanned();
                     }
-                } catch (IOException | JavaTokenizer.ParseException ex) {
-                    // NOTE skipping class
                 }
                 if (!data.continueScanning()) {
                     return;
@@ -210,7 +204,7 @@ class ControllerClass {
         return name.substring(0, index);
     }
 
-    private static File[] filterJavaFiles(File directory) {
+    static File[] filterJavaFiles(File directory) {
         // final int[] count = {0};
         final List<File> fileList = new ArrayList<>();
         FilenameFilter ff = (dir, name) -> {
@@ -275,7 +269,7 @@ class ControllerClass {
         return extract(p, tokenizedContent);
     }
 
-    public Set<String> getFxIds() {
+    public synchronized Set<String> getFxIds() {
         if (fxids == null) {
             Set<String> fxids1 = cleanFxIds(extract(FXID_PATTERN_1));
             Set<String> fxids2 = cleanFxIds(extract(FXID_PATTERN_2));
@@ -286,7 +280,7 @@ class ControllerClass {
         return fxids;
     }
 
-    public Set<String> getEventHandlers() {
+    public synchronized Set<String> getEventHandlers() {
         if (events == null) {
             List<String> events1 = extract(EVENT_PATTERN_1);
             List<String> events2 = extract(EVENT_PATTERN_2);
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.glossary;
+
+import com.oracle.javafx.scenebuilder.kit.util.FileWatcher;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory index of the java files scanned by ControllerClass.
+ * 
+ * Parsed controller classes are kept per file and reused as long as the file
+ * modification time and size are unchanged. Java file listings are kept per
+ * directory and reused as long as the directory modification time is
+ * unchanged. Indexed files and directories are watched: when one of them
+ * changes, its entry is dropped and the owner is notified so that it can
+ * refresh its suggestions.
+ * 
+ * The file watcher is started by the first query : owners must invoke
+ * {@link #dispose()} when the index is no longer used.
+ */
+class ControllerClassIndex implements FileWatcher.Delegate {
+    
+    private final Map<Path, FileEntry> fileEntries = new HashMap<>();
+    private final Map<Path, DirectoryEntry> directoryEntries = new HashMap<>();
+    private final FileWatcher fileWatcher 
+            = new FileWatcher(2000 /* ms */, this, ControllerClassIndex.class.getSimpleName());
+    private final Runnable onChange;
+    private boolean disposed;
+    
+    /**
+     * @param onChange invoked (on the FX thread) when an indexed file or 
+     * directory has changed.
+     */
+    public ControllerClassIndex(Runnable onChange) {
+        assert onChange != null;
+        this.onChange = onChange;
+    }
+    
+    /**
+     * Returns the controller class defined in the specified java file.
+     * 
+     * @param javaFile a java file (never null)
+     * @return the controller class or null if the file cannot be read or parsed
+     */
+    public synchronized ControllerClass getControllerClass(File javaFile) {
+        assert javaFile != null;
+        
+        final Path path = javaFile.toPath().toAbsolutePath();
+        final long lastModified = javaFile.lastModified();
+        final long size = javaFile.length();
+        
+        FileEntry entry = fileEntries.get(path);
+        if ((entry == null) || (entry.lastModified != lastModified) || (entry.size != size)) {
+            ControllerClass controllerClass;
+            try {
+                controllerClass = new ControllerClass(javaFile);
+            } catch (IOException | JavaTokenizer.ParseException ex) {
+                // NOTE skipping class
+                controllerClass = null;
+            }
+            entry = new FileEntry(lastModified, size, controllerClass);
+            if (disposed == false) {
+                fileEntries.put(path, entry);
+                watch(path);
+            }
+        }
+        
+        return entry.controllerClass;
+    }
+    
+    /**
+     * Returns the readable java files of the specified directory.
+     * 
+     * @param directory a directory (may be null)
+     * @return the java files of directory (never null)
+     */
+    public synchronized File[] listJavaFiles(File directory) {
+        final File[] result;
+        
+        if (directory == null) {
+            result = new File[0];
+        } else {
+            final Path path = directory.toPath().toAbsolutePath();
+            final long lastModified = directory.lastModified();
+            DirectoryEntry entry = directoryEntries.get(path);
+            if ((entry == null) || (entry.lastModified != lastModified)) {
+                entry = new DirectoryEntry(lastModified, ControllerClass.filterJavaFiles(directory));
+                if (disposed == false) {
+                    directoryEntries.put(path, entry);
+                    watch(path);
+                }
+            }
+            result = entry.javaFiles.clone();
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Drops all the entries of this index and stops watching their files
+     * and directories.
+     */
+    public synchronized void clear() {
+        fileEntries.clear();
+        directoryEntries.clear();
+        fileWatcher.setTargets(Collections.emptySet());
+    }
+    
+    /**
+     * Clears this index and stops its file watcher. Subsequent queries are
+     * still answered but their results are no longer cached nor watched.
+     */
+    public synchronized void dispose() {
+        clear();
+        if (fileWatcher.isStarted()) {
+            fileWatcher.stop();
+        }
+        disposed = true;
+    }
+    
+    /*
+     * FileWatcher.Delegate
+     */
+    
+    @Override
+    public void fileWatcherDidWatchTargetCreation(Path target) {
+        targetDidChange(target);
+    }
+
+    @Override
+    public void fileWatcherDidWatchTargetDeletion(Path target) {
+        targetDidChange(target);
+    }
+
+    @Override
+    public void fileWatcherDidWatchTargetModification(Path target) {
+        targetDidChange(target);
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private void watch(Path path) {
+        if (fileWatcher.getTargets().contains(path) == false) {
+            fileWatcher.addTarget(path);
+        }
+        if (fileWatcher.isStarted() == false) {
+            fileWatcher.start();
+        }
+    }
+    
+    private void targetDidChange(Path target) {
+        final boolean changed;
+        synchronized(this) {
+            changed = (fileEntries.remove(target) != null) 
+                    | (directoryEntries.remove(target) != null);
+            if (changed) {
+                fileWatcher.removeTarget(target);
+            }
+        }
+        if (changed) {
+            onChange.run();
+        }
+    }
+    
+    private static class FileEntry {
+        final long lastModified;
+        final long size;
+        final ControllerClass controllerClass;
+
+        FileEntry(long lastModified, long size, ControllerClass controllerClass) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.controllerClass = controllerClass;
+        }
+    }
+    
+    private static class DirectoryEntry {
+        final long lastModified;
+        final File[] javaFiles;
+
+        DirectoryEntry(long lastModified, File[] javaFiles) {
+            this.lastModified = lastModified;
+            this.javaFiles = javaFiles;
+        }
+    }
+}
@@ -79,6 +79,24 @@ public abstract class Glossary {
      */
     public abstract List<String> queryEventHandlers(URL fxmlLocation, String controllerClass);
     
+    /**
+     * Invoked when the editor starts working on the specified fxml location.
+     * This glossary may anticipate the queries related to this location.
+     * Default implementation does nothing.
+     * 
+     * @param fxmlLocation null or the location of the fxml document being edited
+     */
+    public void prepare(URL fxmlLocation) {
+    }
+    
+    /**
+     * Invoked when the editor using this glossary is closed.
+     * This glossary should release the resources (file watchers...)
+     * it holds. Default implementation does nothing.
+     */
+    public void dispose() {
+    }
+    
     /**
      * Returns the property holding the revision number of this glossary.
      * Glossary class adds +1 to this number each time the glossary content changes.
@@ -110,14 +110,18 @@ public class BuiltinLibrary extends Library {
      * @return a String with the FXML content
      */
     public static String makeFxmlText(Class<?> componentClass) {
+        return makeFxmlText(componentClass.getCanonicalName(), componentClass.getSimpleName());
+    }
+
+    public static String makeFxmlText(String canonicalName, String simpleName) {
         final StringBuilder sb = new StringBuilder();
 
         sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"); //NOI18N
         sb.append("<?import "); //NOI18N
-        sb.append(componentClass.getCanonicalName());
+        sb.append(canonicalName);
         sb.append("?>"); //NOI18N
         sb.append("<"); //NOI18N
-        sb.append(componentClass.getSimpleName());
+        sb.append(simpleName);
         sb.append("/>\n"); //NOI18N
 
         return sb.toString();
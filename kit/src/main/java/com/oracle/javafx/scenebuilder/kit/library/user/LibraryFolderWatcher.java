@@ -50,10 +50,18 @@ import java.nio.file.WatchService;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -62,10 +70,10 @@ import com.oracle.javafx.scenebuilder.kit.editor.panel.library.LibraryUtil;
 import com.oracle.javafx.scenebuilder.kit.i18n.I18N;
 import com.oracle.javafx.scenebuilder.kit.library.BuiltinLibrary;
 import com.oracle.javafx.scenebuilder.kit.library.LibraryItem;
-import com.oracle.javafx.scenebuilder.kit.library.util.FolderExplorer;
-import com.oracle.javafx.scenebuilder.kit.library.util.JarExplorer;
 import com.oracle.javafx.scenebuilder.kit.library.util.JarReport;
+import com.oracle.javafx.scenebuilder.kit.library.util.JarReportCache;
 import com.oracle.javafx.scenebuilder.kit.library.util.JarReportEntry;
+import com.oracle.javafx.scenebuilder.kit.library.util.LibraryExplorer;
 
 /**
  *
@@ -79,6 +87,17 @@ class LibraryFolderWatcher implements Runnable {
 
     private enum FILE_TYPE {FXML, JAR, FOLDER_MARKER}
 
+    // Events received within this delay are handled as a single update
+    private static final long DEBOUNCE_DELAY = 500; // milliseconds
+
+    // State of the library as built by this watcher
+    // (only accessed from the watcher thread)
+    private final Map<Path, LibraryItem> fxmlItems = new TreeMap<>();
+    private final Map<Path, JarReport> jarOrFolderReports = new HashMap<>();
+    private final Map<Path, Collection<LibraryItem>> jarOrFolderItems = new HashMap<>();
+    private Set<LibraryItem> userItems = new LinkedHashSet<>();
+    private boolean classLoaderInitialized;
+
     private static final List<String> JAVAFX_MODULES = Arrays.asList(
             "javafx-base", "javafx-graphics", "javafx-controls",
             "javafx-fxml", "javafx-media", "javafx-web", "javafx-swing");
@@ -151,8 +170,8 @@ class LibraryFolderWatcher implements Runnable {
         try {
             library.setExploring(true);
             try {
-                updateLibrary(currentFxmls);
-                exploreAndUpdateLibrary(currentJarsOrFolders);
+                updateFxmlItems(currentFxmls);
+                exploreAndUpdateLibrary(currentJarsOrFolders, Collections.emptySet());
             }
             finally {
                 library.setExploring(false);
@@ -183,71 +202,51 @@ class LibraryFolderWatcher implements Runnable {
                     StandardWatchEventKinds.ENTRY_DELETE, 
                     StandardWatchEventKinds.ENTRY_MODIFY);
 
-                    WatchKey wk;
+                    boolean valid;
                     do {
-                        wk = watchService.take();
+                        final WatchKey wk = watchService.take();
                         assert wk == watchKey;
                         
-                        boolean isDirty = false;
-                        for (WatchEvent<?> e: wk.pollEvents()) {
-                            final WatchEvent.Kind<?> kind = e.kind();
-                            final Object context = e.context();
-
-                            if (kind == StandardWatchEventKinds.ENTRY_CREATE
-                                    || kind == StandardWatchEventKinds.ENTRY_DELETE
-                                    || kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-                                assert context instanceof Path;
-                                if (LibraryUtil.isJarPath((Path) context)) {
-                                    if (!hasJarBeenAdded((Path) context)) {
-                                        isDirty = true;
+                        final Set<Path> changedFiles = new HashSet<>();
+                        valid = collectChangedFiles(wk, folder, changedFiles);
+                        
+                        // A burst of events (eg a maven install writing
+                        // several files) is handled as a single update:
+                        // we wait until the folder stays quiet.
+                        while (valid) {
+                            final WatchKey nextKey = watchService.poll(DEBOUNCE_DELAY, TimeUnit.MILLISECONDS);
+                            if (nextKey == null) {
+                                break;
+                            }
+                            assert nextKey == watchKey;
+                            valid = collectChangedFiles(nextKey, folder, changedFiles);
+                        }
+                        
+                        if (changedFiles.isEmpty() == false) {
+                            library.setExploring(true);
+                            try {
+                                updateFxmlItems(changedFiles.stream()
+                                        .filter(LibraryUtil::isFxmlPath)
+                                        .collect(Collectors.toSet()));
+                                
+                                final Set<Path> modifiedJarsOrFolders = new HashSet<>();
+                                for (Path p : changedFiles) {
+                                    if (LibraryUtil.isJarPath(p)) {
+                                        modifiedJarsOrFolders.add(p);
+                                    } else if (LibraryUtil.isFolderMarkerPath(p) && Files.exists(p)) {
+                                        // Folders are not watched: they are re-explored
+                                        // each time their marker file changes.
+                                        modifiedJarsOrFolders.addAll(LibraryUtil.getFolderPaths(p));
                                     }
-                                } else if (LibraryUtil.isFxmlPath((Path)context)){
-                                    isDirty = true;
-                                } else if (LibraryUtil.isFolderMarkerPath((Path)context)) {
-                               		isDirty = true;
                                 }
-                            } else {
-                                assert kind == StandardWatchEventKinds.OVERFLOW;
+                                exploreAndUpdateLibrary(collectJarsAndFolders(), modifiedJarsOrFolders);
+                                
+                                library.updateExplorationCount(library.getExplorationCount()+1);
+                            } finally {
+                                library.setExploring(false);
                             }
                         }
-                                                
-                        // We reconstruct a full set from scratch as soon as the
-                        // dirty flag is set.
-                        if (isDirty) {
-                            // First put the builtin items in the library
-                        	library.setExploring(true);
-                        	try {
-                        	    library.setItems(BuiltinLibrary.getLibrary().getItems());
-
-                        	    // Now attempts to add the maven jars
-                        	    List<Path> currentMavenJars = library.getAdditionalJarPaths().get();
-
-                        	    final Set<Path> fxmls = new HashSet<>();
-                        	    fxmls.addAll(getAllFiles(FILE_TYPE.FXML));
-                        	    updateLibrary(fxmls);
-
-                        	    final Set<Path> jarsAndFolders = new HashSet<>(currentMavenJars);
-                        	    jarsAndFolders.addAll(getAllFiles(FILE_TYPE.JAR));
-
-                        	    Set<Path> foldersMarkers = getAllFiles(FILE_TYPE.FOLDER_MARKER);
-                        	    for (Path path : foldersMarkers) {
-                        	        // open folders marker file: every line should be a single folder entry
-                        	        // we scan the file and add the path to currentJarsOrFolders
-                        	        List<Path> folderPaths = LibraryUtil.getFolderPaths(path);
-                        	        for (Path f : folderPaths) {
-                        	            jarsAndFolders.add(f);
-                        	        }
-                        	    }
-
-                        	    exploreAndUpdateLibrary(jarsAndFolders);
-
-                        	    library.updateExplorationCount(library.getExplorationCount()+1);
-                        	}
-                        	finally {
-                        		library.setExploring(false);
-                        	}
-                        }
-                    } while (wk.reset());
+                    } while (valid);
                 } catch(IOException x) {
                     Thread.sleep(1000 /* ms */);
                 }
@@ -255,6 +254,52 @@ class LibraryFolderWatcher implements Runnable {
 
         }
     }
+    
+    /**
+     * Adds to changedFiles the files of the library folder affected by the
+     * events pending on the specified key and resets the key.
+     * 
+     * @return the result of WatchKey.reset()
+     */
+    private boolean collectChangedFiles(WatchKey wk, Path folder, Set<Path> changedFiles) throws IOException {
+        for (WatchEvent<?> e: wk.pollEvents()) {
+            final WatchEvent.Kind<?> kind = e.kind();
+            final Object context = e.context();
+
+            if (kind == StandardWatchEventKinds.ENTRY_CREATE
+                    || kind == StandardWatchEventKinds.ENTRY_DELETE
+                    || kind == StandardWatchEventKinds.ENTRY_MODIFY) {
+                assert context instanceof Path;
+                final Path path = folder.resolve((Path) context);
+                if (LibraryUtil.isJarPath(path)
+                        || LibraryUtil.isFxmlPath(path)
+                        || LibraryUtil.isFolderMarkerPath(path)) {
+                    changedFiles.add(path);
+                }
+            } else {
+                assert kind == StandardWatchEventKinds.OVERFLOW;
+                // Some events have been lost: let's consider every file changed
+                changedFiles.addAll(getAllFiles(FILE_TYPE.FXML));
+                changedFiles.addAll(getAllFiles(FILE_TYPE.JAR));
+                changedFiles.addAll(getAllFiles(FILE_TYPE.FOLDER_MARKER));
+            }
+        }
+        return wk.reset();
+    }
+    
+    private Set<Path> collectJarsAndFolders() throws IOException {
+        // Maven jars may have changed too
+        final Set<Path> result = new HashSet<>(library.getAdditionalJarPaths().get());
+        result.addAll(getAllFiles(FILE_TYPE.JAR));
+
+        for (Path path : getAllFiles(FILE_TYPE.FOLDER_MARKER)) {
+            // open folders marker file: every line should be a single folder entry
+            // we scan the file and add the path to currentJarsOrFolders
+            result.addAll(LibraryUtil.getFolderPaths(path));
+        }
+        
+        return result;
+    }
 
     private Set<Path> getAllFiles(FILE_TYPE fileType) throws IOException {
         Set<Path> res = new HashSet<>();
@@ -288,27 +333,22 @@ class LibraryFolderWatcher implements Runnable {
     }
     
     
-    private boolean hasJarBeenAdded(Path context) {
-        boolean hasJarBeenAdded = false;
-        for (JarReport report : library.getJarReports()) {
-            if (report.getJar().getFileName().equals(context)) {
-                hasJarBeenAdded = true;
-                break;
-            }
-        }
-        return hasJarBeenAdded;
-    }
 
 
-    private void updateLibrary(Collection<Path> paths) throws IOException {
-        final List<LibraryItem> newItems = new ArrayList<>();
-        
-        for (Path path : paths) {
-            newItems.add(makeLibraryItem(path));
+    /**
+     * Adds, replaces or removes the library items of the specified fxml files.
+     */
+    private void updateFxmlItems(Collection<Path> changedFxmls) throws IOException {
+        for (Path path : changedFxmls) {
+            if (Files.exists(path)) {
+                fxmlItems.put(path, makeLibraryItem(path));
+            } else {
+                fxmlItems.remove(path);
+            }
         }
 
-        library.addItems(newItems);
-        library.updateFxmlFileReports(paths);
+        publishItems();
+        library.updateFxmlFileReports(new ArrayList<>(fxmlItems.keySet()));
         library.updateExplorationDate(new Date());
     }
     
@@ -334,89 +374,135 @@ class LibraryFolderWatcher implements Runnable {
     }
     
     
-    private void exploreAndUpdateLibrary(Collection<Path> jarsOrFolders) throws IOException {
+    /**
+     * Updates the reports and the items of the library so that they match
+     * the specified jars and folders. Only jars and folders selected by
+     * {@link #selectPathsToExplore} are explored.
+     */
+    private void exploreAndUpdateLibrary(Collection<Path> jarsOrFolders, 
+            Collection<Path> modifiedJarsOrFolders) throws IOException {
 
-        //  1) we create a classloader
-        //  2) we explore all the jars and folders
-        //  3) we construct a list of library items
+        //  1) we create a classloader if the class path changed
+        //  2) we explore the new and modified jars and folders
+        //  3) we construct the list of library items of the explored ones
         //  4) we update the user library with the class loader and items
         //  5) on startup only, we allow opening files that may/may not rely on the user library
 
-        // 1)
-        final ClassLoader classLoader;
-        if (jarsOrFolders.isEmpty()) {
-            classLoader = null;
-        } else {
-            classLoader = new URLClassLoader(makeURLArrayFromPaths(jarsOrFolders));
-        }
-
-        // 2)
-        final List<JarReport> jarOrFolderReports = new ArrayList<>();
-//        boolean shouldShowImportGluonJarAlert = false;
-        for (Path currentJarOrFolder : jarsOrFolders) {
+        // 2) (before 1 because it tells us if the class path changed)
+        final List<Path> explorablePaths = new ArrayList<>();
+        for (Path currentJarOrFolder : new TreeSet<>(jarsOrFolders)) {
             String jarName = currentJarOrFolder.getName(currentJarOrFolder.getNameCount() - 1).toString();
             if (JAVAFX_MODULES.stream().anyMatch(jarName::startsWith)) {
                 continue;
             }
-
-            JarReport jarReport;
-            String resultText = "";
-            if (LibraryUtil.isJarPath(currentJarOrFolder)) {
-                LOGGER.info(I18N.getString("log.info.explore.jar", currentJarOrFolder));
-                final JarExplorer explorer = new JarExplorer(currentJarOrFolder);
-                jarReport = explorer.explore(classLoader);
-                resultText = I18N.getString("log.info.explore.jar.results", jarName);
+            if (LibraryUtil.isJarPath(currentJarOrFolder) && Files.exists(currentJarOrFolder)) {
+                explorablePaths.add(currentJarOrFolder);
+            } else if (Files.isDirectory(currentJarOrFolder)) {
+                explorablePaths.add(currentJarOrFolder);
             }
-            else if (Files.isDirectory(currentJarOrFolder)) {
-                LOGGER.info(I18N.getString("log.info.explore.folder", currentJarOrFolder));
-                final FolderExplorer explorer = new FolderExplorer(currentJarOrFolder);
-                jarReport = explorer.explore(classLoader);
-                resultText = I18N.getString("log.info.explore.folder.results", jarName);
+        }
+        final List<Path> unexploredPaths = selectPathsToExplore(explorablePaths, 
+                jarOrFolderReports, modifiedJarsOrFolders);
+        final boolean removedPaths = jarOrFolderReports.keySet().retainAll(explorablePaths);
+        jarOrFolderItems.keySet().retainAll(explorablePaths);
+        final boolean classPathChanged = (classLoaderInitialized == false)
+                || removedPaths 
+                || (unexploredPaths.isEmpty() == false);
+
+        if (classPathChanged) {
+            // 1)
+            final ClassLoader classLoader;
+            if (jarsOrFolders.isEmpty()) {
+                classLoader = null;
             } else {
-                continue;
+                classLoader = new URLClassLoader(makeURLArrayFromPaths(jarsOrFolders));
             }
 
-            jarOrFolderReports.add(jarReport);
-
-            StringBuilder sb = new StringBuilder(resultText).append("\n");
-            if (jarReport.getEntries().isEmpty()) {
-                sb.append("> ").append(I18N.getString("log.info.explore.no.results"));
-            } else {
-                jarReport.getEntries().forEach(entry -> sb.append("> ").append(entry.toString()).append("\n"));
+            // Jars which did not change since their last exploration with the
+            // same class path are taken from the cache: their classes are 
+            // neither loaded nor instantiated. Others are explored in parallel.
+            final JarReportCache cache = library.getJarReportCache();
+            final List<JarReport> newReports = new ArrayList<>();
+            final List<Path> pathsToExplore = new ArrayList<>();
+            for (Path p : unexploredPaths) {
+                final JarReport cachedReport 
+                        = LibraryUtil.isJarPath(p) ? cache.lookup(p, jarsOrFolders) : null;
+                if (cachedReport != null) {
+                    newReports.add(cachedReport);
+                } else {
+                    pathsToExplore.add(p);
+                    if (LibraryUtil.isJarPath(p)) {
+                        LOGGER.info(I18N.getString("log.info.explore.jar", p));
+                    } else {
+                        LOGGER.info(I18N.getString("log.info.explore.folder", p));
+                    }
+                }
+            }
+            for (JarReport r : new LibraryExplorer(pathsToExplore).explore(classLoader)) {
+                if (LibraryUtil.isJarPath(r.getJar())) {
+                    cache.update(r, jarsOrFolders);
+                }
+                newReports.add(r);
+            }
+            cache.retainAll(explorablePaths);
+            try {
+                cache.save();
+            } catch (IOException x) {
+                LOGGER.log(Level.WARNING, "Cannot save " + cache.getCacheFile(), x); //NOI18N
             }
-            LOGGER.info(sb.toString());
 
-            LOGGER.info(I18N.getString("log.info.explore.end", currentJarOrFolder));
-            
-            //            if (jarReport.hasGluonControls()) {
-//                // We check if the jar has already been imported to avoid showing the import gluon jar
-//                // alert every time Scene Builder starts for jars that have already been imported
-//                if (!hasGluonJarBeenImported(jarReport.getJar().getFileName().toString())) {
-//                    shouldShowImportGluonJarAlert = true;
-//                }
+//            boolean shouldShowImportGluonJarAlert = false;
+            for (JarReport jarReport : newReports) {
+                final Path currentJarOrFolder = jarReport.getJar();
+                String jarName = currentJarOrFolder.getName(currentJarOrFolder.getNameCount() - 1).toString();
+                final String resultText;
+                if (LibraryUtil.isJarPath(currentJarOrFolder)) {
+                    resultText = I18N.getString("log.info.explore.jar.results", jarName);
+                } else {
+                    resultText = I18N.getString("log.info.explore.folder.results", jarName);
+                }
+
+                StringBuilder sb = new StringBuilder(resultText).append("\n");
+                if (jarReport.getEntries().isEmpty()) {
+                    sb.append("> ").append(I18N.getString("log.info.explore.no.results"));
+                } else {
+                    jarReport.getEntries().forEach(entry -> sb.append("> ").append(entry.toString()).append("\n"));
+                }
+                LOGGER.info(sb.toString());
+
+                LOGGER.info(I18N.getString("log.info.explore.end", currentJarOrFolder));
+
+//                if (jarReport.hasGluonControls()) {
+//                    // We check if the jar has already been imported to avoid showing the import gluon jar
+//                    // alert every time Scene Builder starts for jars that have already been imported
+//                    if (!hasGluonJarBeenImported(jarReport.getJar().getFileName().toString())) {
+//                        shouldShowImportGluonJarAlert = true;
+//                    }
 //
-//            }
-        }
+//                }
+
+                // 3)
+                jarOrFolderReports.put(currentJarOrFolder, jarReport);
+                jarOrFolderItems.put(currentJarOrFolder, makeLibraryItems(jarReport));
+            }
 
-//        if (shouldShowImportGluonJarAlert && onImportingGluonControls != null) {
-//            onImportingGluonControls.run();
-//        }
+//            if (shouldShowImportGluonJarAlert && onImportingGluonControls != null) {
+//                onImportingGluonControls.run();
+//            }
 
-        // 3)
-        final List<LibraryItem> newItems = new ArrayList<>();
-        for (JarReport jarOrFolderReport : jarOrFolderReports) {
-            newItems.addAll(makeLibraryItems(jarOrFolderReport));
+            // 4)
+            library.updateClassLoader(classLoader);
+            classLoaderInitialized = true;
         }
 
-        // 4)
-        library.updateClassLoader(classLoader);
-        // Remove duplicated items
-        library.addItems(newItems
-                .stream()
-                .distinct()
-                .collect(Collectors.toList()));
-        library.updateJarReports(new ArrayList<>(jarOrFolderReports));
-        library.getOnFinishedUpdatingJarReports().accept(jarOrFolderReports);
+        publishItems();
+        // Reports are published in the order of explorablePaths
+        final List<JarReport> reports = new ArrayList<>();
+        for (Path p : explorablePaths) {
+            reports.add(jarOrFolderReports.get(p));
+        }
+        library.updateJarReports(reports);
+        library.getOnFinishedUpdatingJarReports().accept(reports);
         library.updateExplorationDate(new Date());
         
         // 5
@@ -424,6 +510,79 @@ class LibraryFolderWatcher implements Runnable {
         library.updateFirstExplorationCompleted();
     }
     
+    /**
+     * Returns the jars and folders to be explored among explorablePaths:
+     * <ul>
+     * <li>those which are new or listed in modifiedJarsOrFolders
+     * <li>all of them when some jars or folders have been removed : classes
+     * which were loaded from the removed ones may not be resolved anymore
+     * <li>those whose report has CANNOT_LOAD entries when some jars or folders
+     * have been added or modified : the missing classes may now be resolved
+     * </ul>
+     */
+    // Package-private for unit tests
+    static List<Path> selectPathsToExplore(List<Path> explorablePaths, 
+            Map<Path, JarReport> previousReports, Collection<Path> modifiedJarsOrFolders) {
+        final Set<Path> explorableSet = new HashSet<>(explorablePaths);
+        final boolean removed = previousReports.keySet().stream()
+                .anyMatch(p -> explorableSet.contains(p) == false);
+        final boolean added = (modifiedJarsOrFolders.isEmpty() == false)
+                || explorablePaths.stream().anyMatch(p -> previousReports.containsKey(p) == false);
+        
+        final List<Path> result = new ArrayList<>();
+        for (Path p : explorablePaths) {
+            final JarReport previousReport = previousReports.get(p);
+            if ((previousReport == null) 
+                    || removed
+                    || modifiedJarsOrFolders.contains(p)
+                    || (added && hasCannotLoadEntries(previousReport))) {
+                result.add(p);
+            }
+        }
+        
+        return result;
+    }
+    
+    private static boolean hasCannotLoadEntries(JarReport jarReport) {
+        for (JarReportEntry e : jarReport.getEntries()) {
+            if (e.getStatus() == JarReportEntry.Status.CANNOT_LOAD) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Computes the user items from the fxml files and the jar reports and
+     * transmits to the library the items added and removed since the previous
+     * invocation.
+     */
+    private void publishItems() {
+        final Set<LibraryItem> newUserItems = new LinkedHashSet<>(fxmlItems.values());
+        for (Path p : new TreeSet<>(jarOrFolderItems.keySet())) {
+            // Duplicated items are removed by the set
+            newUserItems.addAll(jarOrFolderItems.get(p));
+        }
+        
+        final List<LibraryItem> removedItems = new ArrayList<>();
+        for (LibraryItem item : userItems) {
+            if (newUserItems.contains(item) == false) {
+                removedItems.add(item);
+            }
+        }
+        final List<LibraryItem> addedItems = new ArrayList<>();
+        for (LibraryItem item : newUserItems) {
+            if (userItems.contains(item) == false) {
+                addedItems.add(item);
+            }
+        }
+        
+        userItems = newUserItems;
+        if (removedItems.isEmpty() == false || addedItems.isEmpty() == false) {
+            library.updateItems(removedItems, addedItems);
+        }
+    }
+    
     
     private Collection<LibraryItem> makeLibraryItems(JarReport jarOrFolderReport) throws IOException {
         final List<LibraryItem> result = new ArrayList<>();
@@ -434,11 +593,11 @@ class LibraryFolderWatcher implements Runnable {
         for (JarReportEntry e : jarOrFolderReport.getEntries()) {
             if ((e.getStatus() == JarReportEntry.Status.OK) && e.isNode()) {
                 // We filter out items listed in the excluded list, based on canonical name of the class.
-                final String canonicalName = e.getKlass().getCanonicalName();
+                final String canonicalName = e.getCanonicalName();
                 if (!excludedItems.contains(canonicalName) && 
                     !artifactsFilter.contains(canonicalName)) {
-                    final String name = e.getKlass().getSimpleName();
-                    final String fxmlText = BuiltinLibrary.makeFxmlText(e.getKlass());
+                    final String name = e.getSimpleName();
+                    final String fxmlText = BuiltinLibrary.makeFxmlText(canonicalName, name);
                     result.add(new LibraryItem(name, UserLibrary.TAG_USER_DEFINED, fxmlText, iconURL, library));
                 }
             }
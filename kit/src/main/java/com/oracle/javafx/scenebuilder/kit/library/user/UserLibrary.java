@@ -57,6 +57,7 @@ import com.oracle.javafx.scenebuilder.kit.library.BuiltinSectionComparator;
 import com.oracle.javafx.scenebuilder.kit.library.Library;
 import com.oracle.javafx.scenebuilder.kit.library.LibraryItem;
 import com.oracle.javafx.scenebuilder.kit.library.util.JarReport;
+import com.oracle.javafx.scenebuilder.kit.library.util.JarReportCache;
 
 import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyBooleanProperty;
@@ -100,6 +101,9 @@ public class UserLibrary extends Library {
     // the user defined one displayed in the Library panel.
     // As a consequence an empty file means we display all items.
     private final String filterFileName = "filter.txt"; //NOI18N
+    // Where we persist the results of jar explorations (see JarReportCache).
+    private final String jarReportCacheFileName = "jar-reports.cache"; //NOI18N
+    private JarReportCache jarReportCache;
 
     private Supplier<List<Path>> additionalJarPaths;
     private Supplier<List<String>> additionalFilter;
@@ -307,6 +311,14 @@ public class UserLibrary extends Library {
         return getPath() + File.separator + filterFileName;
     }
     
+    synchronized JarReportCache getJarReportCache() {
+        if (jarReportCache == null) {
+            jarReportCache = new JarReportCache(Paths.get(getPath(), jarReportCacheFileName));
+            jarReportCache.load();
+        }
+        return jarReportCache;
+    }
+    
     void updateJarReports(Collection<JarReport> newJarReports) {
         previousJarReports.setAll(jarReports);
         jarReports.setAll(newJarReports);
@@ -340,6 +352,15 @@ public class UserLibrary extends Library {
         }
     }
     
+    void updateItems(Collection<LibraryItem> removedItems, Collection<LibraryItem> addedItems) {
+        if (Platform.isFxApplicationThread()) {
+            itemsProperty.removeAll(removedItems);
+            itemsProperty.addAll(addedItems);
+        } else {
+            Platform.runLater(() -> updateItems(removedItems, addedItems));
+        }
+    }
+    
     void updateClassLoader(ClassLoader newClassLoader) {
         if (Platform.isFxApplicationThread()) {
             changeClassLoader(newClassLoader);
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.library.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the superclass chain of classes by reading their class files
+ * instead of loading them. This lets explorers discard classes which are not
+ * concrete javafx.scene.Node subclasses without defining them in the class
+ * loader.
+ * 
+ * Class files are looked up through the class loader resources and parsed
+ * only once: a ClassFileHierarchy can be shared by several explorers running
+ * in parallel.
+ */
+class ClassFileHierarchy {
+    
+    /**
+     * Result of {@link #classify(java.lang.String)}.
+     */
+    enum Verdict {
+        /** Concrete class extending javafx.scene.Node */
+        NODE,
+        /** Interface, abstract class or class not extending javafx.scene.Node */
+        NOT_NODE,
+        /** Some class file could not be read : the class must be loaded to decide */
+        UNKNOWN
+    }
+    
+    private static final String NODE_CLASS = "javafx/scene/Node"; //NOI18N
+    private static final String OBJECT_CLASS = "java/lang/Object"; //NOI18N
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    
+    private final ClassLoader classLoader;
+    private final Map<String, Optional<ClassFileInfo>> infos = new ConcurrentHashMap<>();
+    
+    public ClassFileHierarchy(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+    
+    /**
+     * Classifies the specified class by walking its superclass chain.
+     * 
+     * @param className a binary class name (eg com.foo.Bar)
+     * @return the verdict (never null)
+     */
+    public Verdict classify(String className) {
+        assert className != null;
+        
+        final Verdict result;
+        final ClassFileInfo info = lookup(className.replace('.', '/'));
+        if (info == null) {
+            result = Verdict.UNKNOWN;
+        } else if (info.isAbstract()) {
+            result = Verdict.NOT_NODE;
+        } else {
+            Verdict verdict = null;
+            String current = info.getSuperName();
+            while (verdict == null) {
+                if (current == null || current.equals(OBJECT_CLASS)) {
+                    verdict = Verdict.NOT_NODE;
+                } else if (current.equals(NODE_CLASS)) {
+                    verdict = Verdict.NODE;
+                } else if (current.startsWith("java/")) { //NOI18N
+                    // JDK classes never extend javafx.scene.Node
+                    verdict = Verdict.NOT_NODE;
+                } else {
+                    final ClassFileInfo superInfo = lookup(current);
+                    if (superInfo == null) {
+                        verdict = Verdict.UNKNOWN;
+                    } else {
+                        current = superInfo.getSuperName();
+                    }
+                }
+            }
+            result = verdict;
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Reads the name, super class name and access flags from the specified
+     * class file content. The stream is left positioned after the super
+     * class index.
+     * 
+     * @param is a stream on a class file (never null)
+     * @return the information read from the class file
+     * @throws IOException if the stream is not a valid class file
+     */
+    static ClassFileInfo readClassFile(InputStream is) throws IOException {
+        final DataInputStream dis = new DataInputStream(is);
+        if (dis.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file"); //NOI18N
+        }
+        dis.readUnsignedShort(); // minor version
+        dis.readUnsignedShort(); // major version
+        
+        final int constantPoolCount = dis.readUnsignedShort();
+        final String[] utf8s = new String[constantPoolCount];
+        final int[] classNameIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = dis.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8s[i] = dis.readUTF();
+                    break;
+                case 7: // Class
+                    classNameIndexes[i] = dis.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    dis.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    dis.skipBytes(3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    dis.skipBytes(4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    dis.skipBytes(8);
+                    i++; // Takes two entries
+                    break;
+                default:
+                    throw new IOException("Unexpected constant pool tag " + tag); //NOI18N
+            }
+        }
+        
+        final int accessFlags = dis.readUnsignedShort();
+        final String name = resolveClassName(dis.readUnsignedShort(), utf8s, classNameIndexes);
+        final String superName = resolveClassName(dis.readUnsignedShort(), utf8s, classNameIndexes);
+        if (name == null) {
+            throw new IOException("Missing this_class"); //NOI18N
+        }
+        
+        return new ClassFileInfo(name, superName, accessFlags);
+    }
+    
+    
+    static class ClassFileInfo {
+        private final String name;
+        private final String superName;
+        private final int accessFlags;
+
+        ClassFileInfo(String name, String superName, int accessFlags) {
+            this.name = name;
+            this.superName = superName;
+            this.accessFlags = accessFlags;
+        }
+
+        /** Internal name (eg com/foo/Bar) */
+        public String getName() {
+            return name;
+        }
+
+        /** Internal name of the super class, null for java.lang.Object and module-info */
+        public String getSuperName() {
+            return superName;
+        }
+
+        public boolean isAbstract() {
+            return (accessFlags & (ACC_ABSTRACT | ACC_INTERFACE)) != 0;
+        }
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private ClassFileInfo lookup(String internalName) {
+        Optional<ClassFileInfo> result = infos.get(internalName);
+        if (result == null) {
+            result = Optional.ofNullable(read(internalName));
+            final Optional<ClassFileInfo> previous = infos.putIfAbsent(internalName, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result.orElse(null);
+    }
+    
+    private ClassFileInfo read(String internalName) {
+        final String resourceName = internalName + ".class"; //NOI18N
+        ClassFileInfo result;
+        try (InputStream is = (classLoader == null)
+                ? ClassLoader.getSystemResourceAsStream(resourceName)
+                : classLoader.getResourceAsStream(resourceName)) {
+            if (is == null) {
+                result = null;
+            } else {
+                result = readClassFile(new BufferedInputStream(is));
+            }
+        } catch (IOException | RuntimeException x) {
+            result = null;
+        }
+        return result;
+    }
+    
+    private static String resolveClassName(int classIndex, String[] utf8s, int[] classNameIndexes) {
+        final String result;
+        if (classIndex <= 0 || classIndex >= classNameIndexes.length) {
+            result = null;
+        } else {
+            result = utf8s[classNameIndexes[classIndex]];
+        }
+        return result;
+    }
+}
@@ -44,7 +44,17 @@ import java.nio.charset.Charset;
 
 abstract class ExplorerBase {
 
+    // Explorers may run in parallel (see LibraryExplorer) but the instantiation
+    // of the user classes through FXMLLoader is kept sequential.
+    private static final Object INSTANTIATION_LOCK = new Object();
+
     static Object instantiateWithFXMLLoader(Class<?> klass, ClassLoader classLoader) throws IOException {
+        synchronized (INSTANTIATION_LOCK) {
+            return instantiateWithFXMLLoaderUnsync(klass, classLoader);
+        }
+    }
+
+    private static Object instantiateWithFXMLLoaderUnsync(Class<?> klass, ClassLoader classLoader) throws IOException {
         Object result;
 
         final String fxmlText = BuiltinLibrary.makeFxmlText(klass);
@@ -79,7 +89,8 @@ abstract class ExplorerBase {
         return result;
     }
 
-    JarReportEntry exploreEntry(String entryName, ClassLoader classLoader, String className) {
+    JarReportEntry exploreEntry(String entryName, ClassLoader classLoader, String className,
+            ClassFileHierarchy hierarchy) {
         JarReportEntry.Status status;
         Throwable entryException;
         Class<?> entryClass = null;
@@ -94,6 +105,11 @@ abstract class ExplorerBase {
             status = JarReportEntry.Status.IGNORED;
             entryClass = null;
             entryException = null;
+        } else if (hierarchy.classify(className) == ClassFileHierarchy.Verdict.NOT_NODE) {
+            // Superclass chain read from the class files: no need to load it
+            status = JarReportEntry.Status.IGNORED;
+            entryClass = null;
+            entryException = null;
         } else {
             try {
                 // Some reading explaining why using Class.forName is not appropriate:
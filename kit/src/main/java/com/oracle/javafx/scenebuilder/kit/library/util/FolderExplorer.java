@@ -38,6 +38,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Stream;
 
 public class FolderExplorer extends ExplorerBase {
@@ -52,14 +54,20 @@ public class FolderExplorer extends ExplorerBase {
     }
 
     public JarReport explore(ClassLoader classLoader) throws IOException {
+        return explore(classLoader, new ClassFileHierarchy(classLoader), () -> false);
+    }
+
+    JarReport explore(ClassLoader classLoader, ClassFileHierarchy hierarchy,
+            BooleanSupplier cancelled) throws IOException {
         final JarReport result = new JarReport(rootFolderPath);
 
-        try (Stream<Path> stream = Files.walk(rootFolderPath).filter(p -> !p.toFile().isDirectory())) {
-            stream.forEach(p -> {
-                JarReportEntry explored = exploreEntry(rootFolderPath, p, classLoader);
+        try (Stream<Path> stream = Files.walk(rootFolderPath).filter(p -> !p.toFile().isDirectory()).sorted()) {
+            final Iterator<Path> i = stream.iterator();
+            while (i.hasNext() && (cancelled.getAsBoolean() == false)) {
+                JarReportEntry explored = exploreEntry(rootFolderPath, i.next(), classLoader, hierarchy);
                 if (explored.getStatus() != Status.IGNORED)
                     result.getEntries().add(explored);
-            });
+            }
         };
 
         return result;
@@ -69,7 +77,7 @@ public class FolderExplorer extends ExplorerBase {
      * Private
      */
 
-    private JarReportEntry exploreEntry(Path rootpath, Path path, ClassLoader classLoader) {
+    private JarReportEntry exploreEntry(Path rootpath, Path path, ClassLoader classLoader, ClassFileHierarchy hierarchy) {
         File file = path.toFile();
 
         if (file.isDirectory()) {
@@ -78,7 +86,7 @@ public class FolderExplorer extends ExplorerBase {
             Path relativepath = rootpath.relativize(path);
 
             String className = makeClassName(relativepath.toString(), File.separator);
-            return super.exploreEntry(file.getName(), classLoader, className);
+            return super.exploreEntry(file.getName(), classLoader, className, hierarchy);
         }
     }
 
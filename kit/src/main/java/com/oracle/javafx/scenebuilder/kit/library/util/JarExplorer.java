@@ -37,6 +37,7 @@ import com.oracle.javafx.scenebuilder.kit.library.util.JarReportEntry.Status;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Enumeration;
+import java.util.function.BooleanSupplier;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -56,13 +57,18 @@ public class JarExplorer extends ExplorerBase {
     }
     
     public JarReport explore(ClassLoader classLoader) throws IOException {
+        return explore(classLoader, new ClassFileHierarchy(classLoader), () -> false);
+    }
+    
+    JarReport explore(ClassLoader classLoader, ClassFileHierarchy hierarchy, 
+            BooleanSupplier cancelled) throws IOException {
         final JarReport result = new JarReport(jar);
         
         try (JarFile jarFile = new JarFile(jar.toFile())) {
             final Enumeration<JarEntry> e = jarFile.entries();
-            while (e.hasMoreElements()) {
+            while (e.hasMoreElements() && (cancelled.getAsBoolean() == false)) {
                 final JarEntry entry = e.nextElement();
-                JarReportEntry explored = exploreEntry(entry, classLoader);
+                JarReportEntry explored = exploreEntry(entry, classLoader, hierarchy);
                 if (explored.getStatus() != Status.IGNORED)
                     result.getEntries().add(explored);
             }
@@ -75,12 +81,12 @@ public class JarExplorer extends ExplorerBase {
      * Private
      */
     
-    private JarReportEntry exploreEntry(JarEntry entry, ClassLoader classLoader) {
+    private JarReportEntry exploreEntry(JarEntry entry, ClassLoader classLoader, ClassFileHierarchy hierarchy) {
         if (entry.isDirectory()) {
             return new JarReportEntry(entry.getName(), JarReportEntry.Status.IGNORED, null, null, null);
         } else {
             String className = makeClassName(entry.getName(), "/");
-            return super.exploreEntry(entry.getName(), classLoader, className);
+            return super.exploreEntry(entry.getName(), classLoader, className, hierarchy);
         }
     }
 
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.library.util;
+
+import com.oracle.javafx.scenebuilder.kit.library.util.JarReportEntry.Status;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Persistent cache of jar exploration results.
+ * 
+ * A cached report is keyed by the jar path and validated against the jar
+ * size, modification time and content hash: when size and modification time
+ * are unchanged the report is reused as is; when only the modification time
+ * changed (jar copied or touched), the content hash decides.
+ * 
+ * The status of an entry also depends on the other jars of the class path
+ * (a superclass may come from a dependency). So a report is only reused with
+ * the class path it has been computed with: each report records a digest of
+ * the other elements of the class path (paths, sizes and modification times).
+ * 
+ * Entries restored from the cache do not hold any Class instance: reusing a
+ * cached report neither loads nor instantiates any class of the jar.
+ * 
+ * Reports containing {@link Status#CANNOT_LOAD} entries are not cached:
+ * such failures usually come from a dependency missing from the class path
+ * and may disappear when another jar is added.
+ */
+public class JarReportCache {
+    
+    private static final int MAGIC = 0x53424a52; // SBJR
+    private static final int VERSION = 2;
+    
+    private final Path cacheFile;
+    private final Map<Path, CachedReport> reports = new HashMap<>();
+    private boolean dirty;
+    
+    public JarReportCache(Path cacheFile) {
+        assert cacheFile != null;
+        this.cacheFile = cacheFile;
+    }
+    
+    public Path getCacheFile() {
+        return cacheFile;
+    }
+    
+    /**
+     * Loads the cache file. A missing, unreadable or obsolete cache file
+     * simply leads to an empty cache.
+     */
+    public synchronized void load() {
+        reports.clear();
+        dirty = false;
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if ((dis.readInt() == MAGIC) && (dis.readInt() == VERSION)) {
+                final int reportCount = dis.readInt();
+                for (int i = 0; i < reportCount; i++) {
+                    final CachedReport cr = readReport(dis);
+                    reports.put(cr.jar, cr);
+                }
+            }
+        } catch (NoSuchFileException x) {
+            // First run
+        } catch (IOException | RuntimeException x) {
+            // Corrupted cache : it will be rebuilt
+            reports.clear();
+            dirty = true;
+        }
+    }
+    
+    /**
+     * Saves the cache file if it has been modified since last load/save.
+     * 
+     * @throws IOException if the cache file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        if (dirty) {
+            final Path tmpFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp"); //NOI18N
+            try (DataOutputStream dos = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                dos.writeInt(MAGIC);
+                dos.writeInt(VERSION);
+                dos.writeInt(reports.size());
+                for (CachedReport cr : reports.values()) {
+                    writeReport(dos, cr);
+                }
+            }
+            Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        }
+    }
+    
+    /**
+     * Returns the cached report of the specified jar if neither the jar nor
+     * the class path changed since it has been cached.
+     * 
+     * @param jar path of a jar file
+     * @param classPath the jars and folders of the class loader used to 
+     *        explore jar
+     * @return a report or null if the jar must be explored
+     */
+    public synchronized JarReport lookup(Path jar, Collection<Path> classPath) {
+        final CachedReport cr = reports.get(jar);
+        JarReport result = null;
+        
+        if (cr != null) {
+            try {
+                final long size = Files.size(jar);
+                final long lastModified = Files.getLastModifiedTime(jar).toMillis();
+                if ((size != cr.size) 
+                        || (Arrays.equals(computeClassPathDigest(jar, classPath), cr.classPathDigest) == false)) {
+                    result = null;
+                } else if (lastModified == cr.lastModified) {
+                    result = cr.makeReport();
+                } else if (Arrays.equals(computeHash(jar), cr.hash)) {
+                    reports.put(jar, new CachedReport(jar, size, lastModified, cr.hash, 
+                            cr.classPathDigest, cr.entries));
+                    dirty = true;
+                    result = cr.makeReport();
+                }
+            } catch (IOException x) {
+                result = null;
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Records the report produced by the exploration of a jar.
+     * 
+     * @param report a report produced by {@link JarExplorer}
+     * @param classPath the jars and folders of the class loader used to 
+     *        produce report
+     */
+    public synchronized void update(JarReport report, Collection<Path> classPath) {
+        final Path jar = report.getJar();
+        boolean cacheable = Files.isRegularFile(jar);
+        for (JarReportEntry e : report.getEntries()) {
+            if (e.getStatus() == Status.CANNOT_LOAD) {
+                cacheable = false;
+                break;
+            }
+        }
+        
+        if (cacheable) {
+            try {
+                final long size = Files.size(jar);
+                final long lastModified = Files.getLastModifiedTime(jar).toMillis();
+                final byte[] hash = computeHash(jar);
+                final byte[] classPathDigest = computeClassPathDigest(jar, classPath);
+                final List<CachedEntry> entries = new ArrayList<>();
+                for (JarReportEntry e : report.getEntries()) {
+                    entries.add(new CachedEntry(e.getName(), e.getStatus(),
+                            e.getClassName(), e.isNode(), e.getExceptionSummary()));
+                }
+                reports.put(jar, new CachedReport(jar, size, lastModified, hash, 
+                        classPathDigest, entries));
+            } catch (IOException x) {
+                reports.remove(jar);
+            }
+        } else {
+            reports.remove(jar);
+        }
+        dirty = true;
+    }
+    
+    /**
+     * Removes from the cache the reports of the jars not listed.
+     * 
+     * @param jars the jars currently used
+     */
+    public synchronized void retainAll(Collection<Path> jars) {
+        final Set<Path> retained = new HashSet<>(jars);
+        dirty |= reports.keySet().retainAll(retained);
+    }
+    
+    /*
+     * Private
+     */
+    
+    private static byte[] computeHash(Path jar) throws IOException {
+        final MessageDigest digest = makeDigest();
+        final byte[] buffer = new byte[64 * 1024];
+        try (InputStream is = Files.newInputStream(jar)) {
+            int count;
+            while ((count = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+            }
+        }
+        return digest.digest();
+    }
+    
+    /*
+     * Digest of the sorted paths of the class path except jar itself (it is
+     * validated separately). Size and modification time of the regular files 
+     * are included : a dependency replaced by another version invalidates 
+     * the reports.
+     */
+    private static byte[] computeClassPathDigest(Path jar, Collection<Path> classPath) throws IOException {
+        final Set<String> sortedPaths = new TreeSet<>();
+        for (Path p : classPath) {
+            if (p.equals(jar) == false) {
+                sortedPaths.add(p.toString());
+            }
+        }
+        final MessageDigest digest = makeDigest();
+        for (String path : sortedPaths) {
+            final Path p = Paths.get(path);
+            final StringBuilder sb = new StringBuilder(path);
+            if (Files.isRegularFile(p)) {
+                sb.append('|').append(Files.size(p));
+                sb.append('|').append(Files.getLastModifiedTime(p).toMillis());
+            }
+            sb.append('\n');
+            digest.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return digest.digest();
+    }
+    
+    private static MessageDigest makeDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256"); //NOI18N
+        } catch (NoSuchAlgorithmException x) {
+            throw new IllegalStateException("Bug", x); //NOI18N
+        }
+    }
+    
+    private static CachedReport readReport(DataInputStream dis) throws IOException {
+        final Path jar = Paths.get(dis.readUTF());
+        final long size = dis.readLong();
+        final long lastModified = dis.readLong();
+        final byte[] hash = readBytes(dis);
+        final byte[] classPathDigest = readBytes(dis);
+        final int entryCount = dis.readInt();
+        final List<CachedEntry> entries = new ArrayList<>();
+        for (int i = 0; i < entryCount; i++) {
+            final String name = dis.readUTF();
+            final Status status = Status.valueOf(dis.readUTF());
+            final String className = readOptionalUTF(dis);
+            final boolean node = dis.readBoolean();
+            final String exceptionSummary = readOptionalUTF(dis);
+            entries.add(new CachedEntry(name, status, className, node, exceptionSummary));
+        }
+        return new CachedReport(jar, size, lastModified, hash, classPathDigest, entries);
+    }
+    
+    private static void writeReport(DataOutputStream dos, CachedReport cr) throws IOException {
+        dos.writeUTF(cr.jar.toString());
+        dos.writeLong(cr.size);
+        dos.writeLong(cr.lastModified);
+        writeBytes(dos, cr.hash);
+        writeBytes(dos, cr.classPathDigest);
+        dos.writeInt(cr.entries.size());
+        for (CachedEntry ce : cr.entries) {
+            dos.writeUTF(ce.name);
+            dos.writeUTF(ce.status.name());
+            writeOptionalUTF(dos, ce.className);
+            dos.writeBoolean(ce.node);
+            writeOptionalUTF(dos, ce.exceptionSummary);
+        }
+    }
+    
+    private static byte[] readBytes(DataInputStream dis) throws IOException {
+        final byte[] result = new byte[dis.readUnsignedShort()];
+        dis.readFully(result);
+        return result;
+    }
+    
+    private static void writeBytes(DataOutputStream dos, byte[] bytes) throws IOException {
+        dos.writeShort(bytes.length);
+        dos.write(bytes);
+    }
+    
+    private static String readOptionalUTF(DataInputStream dis) throws IOException {
+        return dis.readBoolean() ? dis.readUTF() : null;
+    }
+    
+    private static void writeOptionalUTF(DataOutputStream dos, String s) throws IOException {
+        dos.writeBoolean(s != null);
+        if (s != null) {
+            // writeUTF is limited to 64K bytes
+            dos.writeUTF(s.length() > 8192 ? s.substring(0, 8192) : s);
+        }
+    }
+    
+    private static class CachedReport {
+        final Path jar;
+        final long size;
+        final long lastModified;
+        final byte[] hash;
+        final byte[] classPathDigest;
+        final List<CachedEntry> entries;
+
+        CachedReport(Path jar, long size, long lastModified, byte[] hash, 
+                byte[] classPathDigest, List<CachedEntry> entries) {
+            this.jar = jar;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.classPathDigest = classPathDigest;
+            this.entries = entries;
+        }
+        
+        JarReport makeReport() {
+            final JarReport result = new JarReport(jar);
+            for (CachedEntry ce : entries) {
+                result.getEntries().add(new JarReportEntry(ce.name, ce.status,
+                        ce.className, ce.node, ce.exceptionSummary));
+            }
+            return result;
+        }
+    }
+    
+    private static class CachedEntry {
+        final String name;
+        final Status status;
+        final String className;
+        final boolean node;
+        final String exceptionSummary;
+
+        CachedEntry(String name, Status status, String className, boolean node, String exceptionSummary) {
+            this.name = name;
+            this.status = status;
+            this.className = className;
+            this.node = node;
+            this.exceptionSummary = exceptionSummary;
+        }
+    }
+}
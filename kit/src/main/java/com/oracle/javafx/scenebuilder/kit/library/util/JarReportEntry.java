@@ -53,6 +53,8 @@ public class JarReportEntry {
     private final Class<?> klass;
     private final Throwable exception;
     private final String className;
+    private final boolean node;
+    private final String exceptionSummary;
 
     public JarReportEntry(String name, Status status, Throwable exception, Class<?> klass, String className) {
         assert name != null;
@@ -64,6 +66,26 @@ public class JarReportEntry {
         this.klass = klass;
         this.exception = exception;
         this.className = className;
+        this.node = (klass == null) ? false : Node.class.isAssignableFrom(klass);
+        this.exceptionSummary = (exception == null) ? null : exception.toString();
+    }
+
+    /**
+     * Creates an entry restored from a {@link JarReportCache}: the class is
+     * not loaded and only a summary of the exception is available.
+     */
+    public JarReportEntry(String name, Status status, String className, boolean node, String exceptionSummary) {
+        assert name != null;
+        assert (className != null) || (status != Status.OK);
+        assert (exceptionSummary == null) || (status != Status.OK);
+
+        this.name = name;
+        this.status = status;
+        this.klass = null;
+        this.exception = null;
+        this.className = className;
+        this.node = node;
+        this.exceptionSummary = exceptionSummary;
     }
 
     public String getName() {
@@ -81,9 +103,44 @@ public class JarReportEntry {
     public Throwable getException() {
         return exception;
     }
-    
+
+    public String getExceptionSummary() {
+        return exceptionSummary;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the canonical name of the class without loading it when this
+     * entry has been restored from the cache.
+     */
+    public String getCanonicalName() {
+        final String result;
+        if (klass != null) {
+            result = klass.getCanonicalName();
+        } else {
+            // Inner classes are not explored: binary and canonical names match
+            result = className;
+        }
+        return result;
+    }
+
+    public String getSimpleName() {
+        final String result;
+        if (klass != null) {
+            result = klass.getSimpleName();
+        } else if (className == null) {
+            result = null;
+        } else {
+            result = className.substring(className.lastIndexOf('.') + 1);
+        }
+        return result;
+    }
+
     public boolean isNode() {
-        return (klass == null) ? false : Node.class.isAssignableFrom(klass);
+        return node;
     }
 
     public boolean isGluon() { return className != null && className.startsWith(EditorPlatform.GLUON_PACKAGE); }
@@ -98,22 +155,19 @@ public class JarReportEntry {
         
         switch(status) {
             case OK:
-                assert klass != null;
-                sb.append(klass.getCanonicalName());
+                sb.append(getCanonicalName());
                 sb.append(" - OK"); //NOI18N
                 break;
             case CANNOT_LOAD:
                 assert klass == null;
-                assert exception != null;
                 sb.append(name);
                 sb.append(" - CANNOT_LOAD - "); //NOI18N
-                sb.append(exception.getMessage());
+                sb.append(getExceptionMessage());
                 break;
             case CANNOT_INSTANTIATE:
-                assert klass != null;
-                sb.append(klass.getCanonicalName());
+                sb.append(getCanonicalName());
                 sb.append(" - CANNOT_INSTANTIATE - "); //NOI18N
-                sb.append(exception.getMessage());
+                sb.append(getExceptionMessage());
                 break;
             case IGNORED:
                 assert klass == null;
@@ -126,4 +180,12 @@ public class JarReportEntry {
         
         return sb.toString();
     }
+    
+    /*
+     * Private
+     */
+    
+    private String getExceptionMessage() {
+        return (exception != null) ? exception.getMessage() : exceptionSummary;
+    }
 }
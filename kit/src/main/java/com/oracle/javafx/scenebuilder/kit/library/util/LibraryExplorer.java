@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.library.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Explores a set of jars and folders in parallel on a bounded pool of
+ * threads. All the explorers share the same {@link ClassFileHierarchy} so
+ * that class files common to several jars (super classes) are parsed once.
+ * 
+ * Reports are returned in the order of the jars and folders given at
+ * construction time, whatever the order in which explorations complete.
+ */
+public class LibraryExplorer {
+    
+    private final List<Path> jarsOrFolders;
+    
+    public LibraryExplorer(Collection<Path> jarsOrFolders) {
+        assert jarsOrFolders != null;
+        this.jarsOrFolders = Collections.unmodifiableList(new ArrayList<>(jarsOrFolders));
+    }
+    
+    public List<Path> getJarsOrFolders() {
+        return jarsOrFolders;
+    }
+    
+    public List<JarReport> explore(ClassLoader classLoader) throws IOException {
+        return explore(classLoader, null, () -> false);
+    }
+    
+    /**
+     * Explores the jars and folders and returns one report for each of them.
+     * 
+     * Exploration stops as soon as {@code cancelled} returns true : the
+     * predicate is checked before each jar or folder and before each of their
+     * entries, and the explorations which are still pending are cancelled.
+     * The reports of the jars and folders which have been entirely explored
+     * are then returned.
+     * 
+     * @param classLoader the class loader used to load the explored classes
+     * @param onReportReady if not null, invoked (from a worker thread) each
+     * time the exploration of a jar or folder completes
+     * @param cancelled predicate polled (from worker threads) to interrupt 
+     * the exploration
+     * @return the reports, in the same order as the jars and folders
+     * @throws IOException if a jar or folder cannot be read
+     */
+    public List<JarReport> explore(ClassLoader classLoader, 
+            Consumer<JarReport> onReportReady, BooleanSupplier cancelled) throws IOException {
+        assert cancelled != null;
+        
+        final List<JarReport> result = new ArrayList<>();
+        
+        if (jarsOrFolders.isEmpty() == false) {
+            final ClassFileHierarchy hierarchy = new ClassFileHierarchy(classLoader);
+            final int threadCount = Math.min(jarsOrFolders.size(), 
+                    Runtime.getRuntime().availableProcessors());
+            final ExecutorService executor = Executors.newFixedThreadPool(threadCount, r -> {
+                final Thread t = new Thread(r, "Library Explorer"); //NOI18N
+                t.setDaemon(true);
+                return t;
+            });
+            
+            try {
+                final List<Future<JarReport>> futures = new ArrayList<>();
+                for (Path jarOrFolder : jarsOrFolders) {
+                    futures.add(executor.submit(() -> {
+                        if (cancelled.getAsBoolean()) {
+                            return null;
+                        }
+                        final JarReport report = explore(jarOrFolder, classLoader, hierarchy, cancelled);
+                        // A partially explored jar is not reported
+                        if (cancelled.getAsBoolean()) {
+                            return null;
+                        }
+                        if (onReportReady != null) {
+                            onReportReady.accept(report);
+                        }
+                        return report;
+                    }));
+                }
+                // Merge in submission order so that the result is deterministic
+                for (Future<JarReport> f : futures) {
+                    final JarReport report = f.get();
+                    if (cancelled.getAsBoolean()) {
+                        for (Future<JarReport> pending : futures) {
+                            pending.cancel(true);
+                        }
+                        break;
+                    }
+                    result.add(report);
+                }
+            } catch (InterruptedException x) {
+                final InterruptedIOException iox = new InterruptedIOException();
+                iox.initCause(x);
+                throw iox;
+            } catch (ExecutionException x) {
+                final Throwable cause = x.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    throw new IOException(cause);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        
+        return result;
+    }
+    
+    /*
+     * Private
+     */
+    
+    private static JarReport explore(Path jarOrFolder, ClassLoader classLoader, 
+            ClassFileHierarchy hierarchy, BooleanSupplier cancelled) throws IOException {
+        final JarReport result;
+        if (Files.isDirectory(jarOrFolder)) {
+            result = new FolderExplorer(jarOrFolder).explore(classLoader, hierarchy, cancelled);
+        } else {
+            result = new JarExplorer(jarOrFolder).explore(classLoader, hierarchy, cancelled);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.metadata;
+
+import com.oracle.javafx.scenebuilder.kit.metadata.klass.ComponentClassMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.property.PropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Flattened view of the properties of a component class : the properties
+ * declared by the class and all its ancestors, the most specialized
+ * declaration winning.
+ * 
+ * Tables hold no global state : they are cached per class by Metadata and
+ * go away with the class (and its class loader). Property sets of several
+ * classes are intersected through the property name maps.
+ */
+class ComponentPropertyTable {
+    
+    private final Map<PropertyName, PropertyMetadata> propertyMap;
+    private final Set<PropertyMetadata> propertySet;
+    
+    public ComponentPropertyTable(ComponentClassMetadata componentMetadata) {
+        final Map<PropertyName, PropertyMetadata> map = new HashMap<>();
+        ComponentClassMetadata classMetadata = componentMetadata;
+        while (classMetadata != null) {
+            for (PropertyMetadata pm : classMetadata.getProperties()) {
+                map.putIfAbsent(pm.getName(), pm);
+            }
+            classMetadata = classMetadata.getParentMetadata();
+        }
+        
+        this.propertyMap = Collections.unmodifiableMap(map);
+        this.propertySet = Collections.unmodifiableSet(new HashSet<>(map.values()));
+    }
+    
+    public PropertyMetadata getProperty(PropertyName name) {
+        return propertyMap.get(name);
+    }
+    
+    public Set<PropertyMetadata> getProperties() {
+        return propertySet;
+    }
+    
+    /**
+     * Returns the properties of this table which are also present in all
+     * the specified tables.
+     * 
+     * @param others tables to intersect with this one (never null)
+     * @return the properties common to all the tables
+     */
+    public Set<PropertyMetadata> intersect(List<ComponentPropertyTable> others) {
+        assert others != null;
+        
+        final Set<PropertyMetadata> result = new HashSet<>();
+        for (PropertyMetadata pm : propertySet) {
+            if (isInAll(pm, others)) {
+                result.add(pm);
+            }
+        }
+        return result;
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private static boolean isInAll(PropertyMetadata pm, List<ComponentPropertyTable> tables) {
+        boolean result = true;
+        for (ComponentPropertyTable table : tables) {
+            // Same semantic as hash based sets : identity first, then equals
+            if (Objects.equals(pm, table.propertyMap.get(pm.getName())) == false) {
+                result = false;
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -37,6 +37,7 @@ import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  *
@@ -47,6 +48,7 @@ public class ComponentClassMetadata extends ClassMetadata {
     private final Set<PropertyMetadata> properties = new HashSet<>();
     private final boolean freeChildPositioning;
     private final ComponentClassMetadata parentMetadata;
+    private volatile Consumer<Set<PropertyMetadata>> propertyInitializer;
 
     public ComponentClassMetadata(Class<?> klass, ComponentClassMetadata parentMetadata) {
         super(klass);
@@ -55,8 +57,23 @@ public class ComponentClassMetadata extends ClassMetadata {
     }
 
     public Set<PropertyMetadata> getProperties() {
+        if (propertyInitializer != null) {
+            initializeProperties();
+        }
         return properties;
     }
+    
+    /**
+     * Sets the function which fills the property set of this class.
+     * It is invoked once, the first time the properties are requested.
+     * 
+     * @param initializer function adding property metadata to the specified set (never null)
+     */
+    public void setPropertyInitializer(Consumer<Set<PropertyMetadata>> initializer) {
+        assert initializer != null;
+        assert properties.isEmpty();
+        this.propertyInitializer = initializer;
+    }
 
     public PropertyName getSubComponentProperty() {
         PropertyName result = null;
@@ -93,7 +110,7 @@ public class ComponentClassMetadata extends ClassMetadata {
         
         assert propertyName != null;
         
-        final Iterator<PropertyMetadata> it = properties.iterator();
+        final Iterator<PropertyMetadata> it = getProperties().iterator();
         while ((result == null) && it.hasNext()) {
             final PropertyMetadata pm = it.next();
             if (pm.getName().equals(propertyName)) {
@@ -123,6 +140,15 @@ public class ComponentClassMetadata extends ClassMetadata {
      * Private
      */
     
+    private synchronized void initializeProperties() {
+        // propertyInitializer is reset once properties are filled
+        final Consumer<Set<PropertyMetadata>> initializer = propertyInitializer;
+        if (initializer != null) {
+            initializer.accept(properties);
+            propertyInitializer = null;
+        }
+    }
+    
     private static PropertyName getSubComponentProperty(Class<?> componentClass) {
         final PropertyName result;
         
@@ -159,6 +159,7 @@ public class DesignHierarchyMask {
 
     private final FXOMObject fxomObject;
     private Map<PropertyName, ComponentPropertyMetadata> propertyMetadataMap; // Initialized lazily
+    private Class<?> propertyMetadataClass; // Class used to build propertyMetadataMap
 
     public DesignHierarchyMask(FXOMObject fxomObject) {
         assert fxomObject != null;
@@ -649,7 +650,32 @@ public class DesignHierarchyMask {
 
         return getSubComponents().get(i);
     }
-    
+
+    /**
+     * Returns the sub component whose scene graph object is the specified one.
+     * Drivers use this method to resolve a hit child node : the position of
+     * a node in its parent may differ from the fxom index of its sub component
+     * (for example while a drag gesture previews a re-ordering).
+     *
+     * @param sceneGraphObject a scene graph object (may be null)
+     * @return the matching sub component or null if none.
+     */
+    public FXOMObject lookupSubComponent(Object sceneGraphObject) {
+        assert getSubComponentPropertyName() != null;
+
+        FXOMObject result = null;
+        if (sceneGraphObject != null) {
+            for (FXOMObject subComponent : getSubComponents()) {
+                if (subComponent.getSceneGraphObject() == sceneGraphObject) {
+                    result = subComponent;
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
     public List<FXOMObject> getSubComponents() {
 
         assert getSubComponentPropertyName() != null;
@@ -803,15 +829,18 @@ public class DesignHierarchyMask {
     }
 
     private void queryPropertyMetadata() {
-        if (propertyMetadataMap == null) {
+        // Masks may outlive a scene graph refresh (see hierarchy panel) :
+        // the map is rebuilt if the class of the scene graph object mutated.
+        final Object sceneGraphObject = (fxomObject instanceof FXOMInstance)
+                ? fxomObject.getSceneGraphObject() : null;
+        final Class<?> componentClass = (sceneGraphObject == null) 
+                ? null : sceneGraphObject.getClass();
+        if ((propertyMetadataMap == null) || (propertyMetadataClass != componentClass)) {
             propertyMetadataMap = new HashMap<>();
-            if (fxomObject instanceof FXOMInstance) {
-                final FXOMInstance fxomInstance = (FXOMInstance) fxomObject;
-                if (fxomInstance.getSceneGraphObject() != null) {
-                    final Class<?> componentClass = fxomInstance.getSceneGraphObject().getClass();
-                    for (ComponentPropertyMetadata cpm : Metadata.getMetadata().queryComponentProperties(componentClass)) {
-                        propertyMetadataMap.put(cpm.getName(), cpm);
-                    }
+            propertyMetadataClass = componentClass;
+            if (componentClass != null) {
+                for (ComponentPropertyMetadata cpm : Metadata.getMetadata().queryComponentProperties(componentClass)) {
+                    propertyMetadataMap.put(cpm.getName(), cpm);
                 }
             }
         }
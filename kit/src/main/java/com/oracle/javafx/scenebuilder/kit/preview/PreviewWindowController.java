@@ -38,20 +38,27 @@ import com.oracle.javafx.scenebuilder.kit.editor.EditorPlatform;
 import com.oracle.javafx.scenebuilder.kit.editor.EditorPlatform.Theme;
 import com.oracle.javafx.scenebuilder.kit.editor.panel.util.AbstractWindowController;
 import com.oracle.javafx.scenebuilder.kit.fxom.FXOMDocument;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
 import com.oracle.javafx.scenebuilder.kit.i18n.I18N;
 import com.oracle.javafx.scenebuilder.kit.util.MathUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import com.oracle.javafx.scenebuilder.kit.util.EditorScheduler;
 import com.oracle.javafx.scenebuilder.kit.util.Utils;
 import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -60,6 +67,7 @@ import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.PerspectiveCamera;
+import javafx.scene.SubScene;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.DialogPane;
@@ -68,8 +76,11 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.shape.MeshView;
 import javafx.scene.transform.Scale;
 import javafx.scene.transform.Translate;
+import javafx.scene.web.HTMLEditor;
+import javafx.scene.web.WebView;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 import javafx.stage.WindowEvent;
 
 /**
@@ -78,7 +89,12 @@ import javafx.stage.WindowEvent;
 public final class PreviewWindowController extends AbstractWindowController {
 
     private final EditorController editorController;
-    private Timer timer = null;
+    private ExecutorService updateExecutor;
+    private final Object updateTaskKey = new Object();
+    private volatile long updateGeneration;
+    private boolean pendingFullUpdate;
+    private Parent previewContent;
+    private final ReadOnlyLongWrapper refreshLatency = new ReadOnlyLongWrapper(this, "refreshLatency", -1); //NOI18N
     private final int WIDTH_WHEN_EMPTY = 320;
     private final int HEIGHT_WHEN_EMPTY = 200;
     private CameraType cameraType;
@@ -183,10 +199,7 @@ public final class PreviewWindowController extends AbstractWindowController {
 
     @Override
     public void onCloseRequest(WindowEvent event) {
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
-        }
+        stopUpdates();
         getStage().close();
     }
 
@@ -205,6 +218,21 @@ public final class PreviewWindowController extends AbstractWindowController {
         }
     }
 
+    /**
+     * Returns the property holding the duration (in milliseconds) of the last
+     * refresh of the preview content, from the expiration of the update delay
+     * to the installation of the new content. -1 until a first refresh occurs.
+     *
+     * @return the property holding the last preview refresh latency.
+     */
+    public ReadOnlyLongProperty refreshLatencyProperty() {
+        return refreshLatency.getReadOnlyProperty();
+    }
+
+    public long getRefreshLatency() {
+        return refreshLatency.get();
+    }
+
     public void openDialog() {
         final FXOMDocument fxomDocument = editorController.getFxomDocument();
         assert fxomDocument != null;
@@ -235,6 +263,7 @@ public final class PreviewWindowController extends AbstractWindowController {
     @Override
     public void closeWindow() {
         super.closeWindow();
+        stopUpdates();
         isDirty = true;
     }
 
@@ -252,135 +281,263 @@ public final class PreviewWindowController extends AbstractWindowController {
             = (observable, oldValue, newValue) -> requestUpdate(DELAYED);
 
     private final ChangeListener<Number> cssRevisionListener
-            = (observable, oldValue, newValue) -> requestUpdate(IMMEDIATE);
+            = (observable, oldValue, newValue) -> requestStyleUpdate();
 
     /**
      * We use the provided delay before refreshing the content of the preview.
      * If further modification is brought to the layout before expiration of it
-     * we restart the timer. The idea is to lower the resources used to refresh
-     * the preview window content.
+     * we restart the delay and the superseded refresh is dropped. The idea is
+     * to lower the resources used to refresh the preview window content.
      * The delay is expressed in milliseconds.
      * In some cases it is wise to used delay = 0, e.g. when opening the window.
      */
     private void requestUpdate(long delay) {
-        TimerTask timerTask = new TimerTask() {
-
-            @Override
-            public void run() {
-            // JavaFX data should only be accessed on the JavaFX thread.
-            // => we must wrap the code into a Runnable object and call the Platform.runLater
-            Platform.runLater(() -> {
-                final FXOMDocument fxomDocument = editorController.getFxomDocument();
-                String themeStyleSheetString = null;
-                if (fxomDocument != null) {
-                    // We clone the FXOMDocument
-                    FXOMDocument clone;
-
-                    try {
-                        clone = new FXOMDocument(fxomDocument.getFxmlText(false),
-                                fxomDocument.getLocation(),
-                                fxomDocument.getClassLoader(),
-                                fxomDocument.getResources());
-                        clone.setSampleDataEnabled(fxomDocument.isSampleDataEnabled());
-                    } catch (IOException ex) {
-                        throw new RuntimeException("Bug in PreviewWindowController::requestUpdate", ex); //NOI18N
-                    }
+        assert Platform.isFxApplicationThread();
+        pendingFullUpdate = true;
+        scheduleUpdate(delay);
+    }
 
-                    Object sceneGraphRoot = clone.getDisplayNodeOrSceneGraphRoot();
-                    themeStyleSheetString = editorControllerTheme.getStylesheetURL();
-
-                    if (sceneGraphRoot instanceof Parent) {
-                        ((Parent) sceneGraphRoot).setId(NID_PREVIEW_ROOT);
-                        assert ((Parent) sceneGraphRoot).getScene() == null;
-
-                        setRoot((Parent) updateAutoResizeTransform((Parent) sceneGraphRoot));
-
-                        // Compute the proper styling
-                        List<String> newStyleSheets1 = new ArrayList<>();
-                        computeStyleSheets(newStyleSheets1, sceneGraphRoot, clone.getDisplayStylesheets());
-
-                        // Clean all styling
-                        ((Parent) sceneGraphRoot).getStylesheets().removeAll();
-
-                        // Apply the new styling
-                        ((Parent) sceneGraphRoot).getStylesheets().addAll(newStyleSheets1);
-                    } else if (sceneGraphRoot instanceof Node) {
-                        StackPane sp1 = new StackPane();
-                        sp1.setId(NID_PREVIEW_ROOT);
-
-                        // Compute the proper styling
-                        List<String> newStyleSheets2 = new ArrayList<>();
-                        computeStyleSheets(newStyleSheets2, sceneGraphRoot, clone.getDisplayStylesheets());
-
-                        // Apply the new styling as a whole
-                        sp1.getStylesheets().addAll(newStyleSheets2);
-
-                        // With some 3D assets such as TuxRotation the
-                        // rendering is wrong unless applyCSS is called.
-                        ((Node) sceneGraphRoot).applyCss();
-                        sp1.getChildren().add(updateAutoResizeTransform((Node) sceneGraphRoot));
-                        setRoot(sp1);
-                    } else {
-                        setCameraType(CameraType.PARALLEL);
-                        sizeChangedFromMenu = false;
-                        StackPane sp2 = new StackPane(new Label(I18N.getString("preview.not.node")));
-                        sp2.setId(NID_PREVIEW_ROOT);
-                        sp2.setPrefSize(WIDTH_WHEN_EMPTY, HEIGHT_WHEN_EMPTY);
-                        setRoot(sp2);
-                    }
-                } else {
-                    setCameraType(CameraType.PARALLEL);
-                    sizeChangedFromMenu = false;
-                    StackPane sp3 = new StackPane(new Label(I18N.getString("preview.no.document")));
-                    sp3.setId(NID_PREVIEW_ROOT);
-                    sp3.setPrefSize(WIDTH_WHEN_EMPTY, HEIGHT_WHEN_EMPTY);
-                    setRoot(sp3);
-                }
+    /**
+     * Style sheets have been reloaded by the editor: the scene graph of the
+     * preview is kept and only its styling is reapplied, unless a full
+     * refresh is already pending.
+     */
+    private void requestStyleUpdate() {
+        assert Platform.isFxApplicationThread();
+        scheduleUpdate(IMMEDIATE);
+    }
 
-                getScene().setRoot(getRoot());
-                if (themeStyleSheetString != null) {
-                    String gluonDocumentStylesheet = EditorPlatform.getGluonDocumentStylesheetURL();
-                    String gluonSwatchStylesheet = editorControllerGluonSwatch.getStylesheetURL();
-                    String gluonThemeStylesheet = editorControllerGluonTheme.getStylesheetURL();
-                    if (editorControllerTheme == Theme.GLUON_MOBILE_LIGHT || editorControllerTheme == Theme.GLUON_MOBILE_DARK) {
-                        ObservableList<String> newStylesheets = FXCollections.observableArrayList(getScene().getStylesheets());
+    private void scheduleUpdate(long delay) {
+        final long generation = ++updateGeneration;
+        EditorScheduler.getInstance().debounce(updateTaskKey, delay,
+                () -> startUpdate(generation));
+    }
 
-                        if (!newStylesheets.contains(themeStyleSheetString)) {
-                            newStylesheets.add(themeStyleSheetString);
-                        }
-                        if (!newStylesheets.contains(gluonDocumentStylesheet)) {
-                            newStylesheets.add(gluonDocumentStylesheet);
-                        }
-                        if (!newStylesheets.contains(gluonSwatchStylesheet)) {
-                            newStylesheets.add(gluonSwatchStylesheet);
-                        }
-                        if (!newStylesheets.contains(gluonThemeStylesheet)) {
-                            newStylesheets.add(gluonThemeStylesheet);
-                        }
-                        getScene().setUserAgentStylesheet(Theme.MODENA.getStylesheetURL());
-                        getScene().getStylesheets().clear();
-                        getScene().getStylesheets().addAll(newStylesheets);
-                    } else {
-                        String gluonStylesheet = Theme.GLUON_MOBILE_LIGHT.getStylesheetURL();
-                        getScene().setUserAgentStylesheet(themeStyleSheetString);
-                        getScene().getStylesheets().remove(gluonStylesheet);
-                        getScene().getStylesheets().remove(gluonDocumentStylesheet);
-                        getScene().getStylesheets().remove(gluonSwatchStylesheet);
-                        getScene().getStylesheets().remove(gluonThemeStylesheet);
+    private void startUpdate(long generation) {
+        assert Platform.isFxApplicationThread();
+
+        if (generation != updateGeneration) {
+            // Superseded by a more recent request
+            return;
+        }
+        final long startTime = System.nanoTime();
+
+        if ((pendingFullUpdate == false) && (previewContent != null)) {
+            reapplyStyleSheets(previewContent);
+            refreshLatency.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            return;
+        }
+        pendingFullUpdate = false;
+
+        final FXOMDocument fxomDocument = editorController.getFxomDocument();
+        if (fxomDocument == null) {
+            applyUpdate(null, startTime);
+        } else {
+            // FXOM must be serialized on the FX thread (it may be modified
+            // at any time by the editor) but the clone is built aside
+            // unless it needs the FX thread.
+            final String fxmlText = fxomDocument.getFxmlText(false);
+            final URL location = fxomDocument.getLocation();
+            final ClassLoader classLoader = fxomDocument.getClassLoader();
+            final ResourceBundle resources = fxomDocument.getResources();
+            final boolean sampleDataEnabled = fxomDocument.isSampleDataEnabled();
+
+            if (needsFxThread(fxomDocument)) {
+                applyUpdate(makeClone(fxmlText, location, classLoader, resources, sampleDataEnabled), startTime);
+            } else {
+                getUpdateExecutor().execute(() -> {
+                    if (generation != updateGeneration) {
+                        return;
                     }
+                    final FXOMDocument clone = makeClone(fxmlText, location, classLoader, resources, sampleDataEnabled);
+                    Platform.runLater(() -> {
+                        if (generation == updateGeneration) {
+                            applyUpdate(clone, startTime);
+                        }
+                    });
+                });
+            }
+        }
+    }
+
+    /**
+     * Returns true if the clone of the specified document must be built on
+     * the FX thread : some classes (WebView, windows...) can only be
+     * instantiated there. Custom classes and included documents are unknown
+     * territory and are handled the same way.
+     */
+    private static boolean needsFxThread(FXOMDocument fxomDocument) {
+        final FXOMObject fxomRoot = fxomDocument.getFxomRoot();
+        boolean result = false;
+
+        if (fxomRoot != null) {
+            result = fxomRoot.collectIncludes(null).isEmpty() == false;
+            final Iterator<Class<?>> it = fxomRoot.collectDeclaredClasses().iterator();
+            while ((result == false) && it.hasNext()) {
+                result = needsFxThread(it.next());
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean needsFxThread(Class<?> declaredClass) {
+        final ClassLoader classLoader = declaredClass.getClassLoader();
+        final boolean customClass = (classLoader != null)
+                && (classLoader != ClassLoader.getPlatformClassLoader())
+                && (classLoader != Node.class.getClassLoader());
+        return customClass
+                || WebView.class.isAssignableFrom(declaredClass)
+                || HTMLEditor.class.isAssignableFrom(declaredClass)
+                || Window.class.isAssignableFrom(declaredClass);
+    }
+
+    private static FXOMDocument makeClone(String fxmlText, URL location,
+            ClassLoader classLoader, ResourceBundle resources, boolean sampleDataEnabled) {
+        final FXOMDocument result;
+        try {
+            result = new FXOMDocument(fxmlText, location, classLoader, resources);
+            result.setSampleDataEnabled(sampleDataEnabled);
+        } catch (IOException ex) {
+            throw new RuntimeException("Bug in PreviewWindowController::requestUpdate", ex); //NOI18N
+        }
+        return result;
+    }
+
+    private void applyUpdate(FXOMDocument clone, long startTime) {
+        assert Platform.isFxApplicationThread();
+
+        previewContent = null;
+        String themeStyleSheetString = null;
+        if (clone != null) {
+            Object sceneGraphRoot = clone.getDisplayNodeOrSceneGraphRoot();
+            themeStyleSheetString = editorControllerTheme.getStylesheetURL();
+
+            if (sceneGraphRoot instanceof Parent) {
+                ((Parent) sceneGraphRoot).setId(NID_PREVIEW_ROOT);
+                assert ((Parent) sceneGraphRoot).getScene() == null;
+
+                setRoot((Parent) updateAutoResizeTransform((Parent) sceneGraphRoot));
+                previewContent = (Parent) sceneGraphRoot;
+
+                // Compute the proper styling
+                List<String> newStyleSheets1 = new ArrayList<>();
+                computeStyleSheets(newStyleSheets1, sceneGraphRoot, clone.getDisplayStylesheets());
+
+                // Clean all styling
+                ((Parent) sceneGraphRoot).getStylesheets().removeAll();
+
+                // Apply the new styling
+                ((Parent) sceneGraphRoot).getStylesheets().addAll(newStyleSheets1);
+            } else if (sceneGraphRoot instanceof Node) {
+                StackPane sp1 = new StackPane();
+                sp1.setId(NID_PREVIEW_ROOT);
+
+                // Compute the proper styling
+                List<String> newStyleSheets2 = new ArrayList<>();
+                computeStyleSheets(newStyleSheets2, sceneGraphRoot, clone.getDisplayStylesheets());
+
+                // Apply the new styling as a whole
+                sp1.getStylesheets().addAll(newStyleSheets2);
+
+                // With some 3D assets such as TuxRotation the
+                // rendering is wrong unless applyCSS is called.
+                ((Node) sceneGraphRoot).applyCss();
+                sp1.getChildren().add(updateAutoResizeTransform((Node) sceneGraphRoot));
+                setRoot(sp1);
+                previewContent = sp1;
+            } else {
+                setCameraType(CameraType.PARALLEL);
+                sizeChangedFromMenu = false;
+                StackPane sp2 = new StackPane(new Label(I18N.getString("preview.not.node")));
+                sp2.setId(NID_PREVIEW_ROOT);
+                sp2.setPrefSize(WIDTH_WHEN_EMPTY, HEIGHT_WHEN_EMPTY);
+                setRoot(sp2);
+            }
+        } else {
+            setCameraType(CameraType.PARALLEL);
+            sizeChangedFromMenu = false;
+            StackPane sp3 = new StackPane(new Label(I18N.getString("preview.no.document")));
+            sp3.setId(NID_PREVIEW_ROOT);
+            sp3.setPrefSize(WIDTH_WHEN_EMPTY, HEIGHT_WHEN_EMPTY);
+            setRoot(sp3);
+        }
+
+        getScene().setRoot(getRoot());
+        if (themeStyleSheetString != null) {
+            String gluonDocumentStylesheet = EditorPlatform.getGluonDocumentStylesheetURL();
+            String gluonSwatchStylesheet = editorControllerGluonSwatch.getStylesheetURL();
+            String gluonThemeStylesheet = editorControllerGluonTheme.getStylesheetURL();
+            if (editorControllerTheme == Theme.GLUON_MOBILE_LIGHT || editorControllerTheme == Theme.GLUON_MOBILE_DARK) {
+                ObservableList<String> newStylesheets = FXCollections.observableArrayList(getScene().getStylesheets());
+
+                if (!newStylesheets.contains(themeStyleSheetString)) {
+                    newStylesheets.add(themeStyleSheetString);
                 }
-                updateWindowSize();
-                updateWindowTitle();
-            });
+                if (!newStylesheets.contains(gluonDocumentStylesheet)) {
+                    newStylesheets.add(gluonDocumentStylesheet);
+                }
+                if (!newStylesheets.contains(gluonSwatchStylesheet)) {
+                    newStylesheets.add(gluonSwatchStylesheet);
+                }
+                if (!newStylesheets.contains(gluonThemeStylesheet)) {
+                    newStylesheets.add(gluonThemeStylesheet);
+                }
+                getScene().setUserAgentStylesheet(Theme.MODENA.getStylesheetURL());
+                getScene().getStylesheets().clear();
+                getScene().getStylesheets().addAll(newStylesheets);
+            } else {
+                String gluonStylesheet = Theme.GLUON_MOBILE_LIGHT.getStylesheetURL();
+                getScene().setUserAgentStylesheet(themeStyleSheetString);
+                getScene().getStylesheets().remove(gluonStylesheet);
+                getScene().getStylesheets().remove(gluonDocumentStylesheet);
+                getScene().getStylesheets().remove(gluonSwatchStylesheet);
+                getScene().getStylesheets().remove(gluonThemeStylesheet);
             }
-        };
+        }
+        updateWindowSize();
+        updateWindowTitle();
+
+        refreshLatency.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
 
-        if (timer != null) {
-            timer.cancel();
+    private static void reapplyStyleSheets(Parent parent) {
+        final ObservableList<String> stylesheets = parent.getStylesheets();
+        if (stylesheets.isEmpty() == false) {
+            // Replacing the list forces the style manager to reload them
+            stylesheets.setAll(new ArrayList<>(stylesheets));
         }
+        for (Node child : parent.getChildrenUnmodifiable()) {
+            if (child instanceof Parent) {
+                reapplyStyleSheets((Parent) child);
+            } else if (child instanceof SubScene) {
+                reapplyStyleSheets(((SubScene) child).getRoot());
+            }
+        }
+    }
+
+    /**
+     * Drops the pending updates and releases the update thread : it is
+     * created again by the next update, if the window is reopened.
+     */
+    private void stopUpdates() {
+        EditorScheduler.getInstance().cancel(updateTaskKey);
+        updateGeneration++;
+        if (updateExecutor != null) {
+            updateExecutor.shutdownNow();
+            updateExecutor = null;
+        }
+    }
 
-        timer = new Timer(true);
-        timer.schedule(timerTask, delay); // milliseconds
+    private ExecutorService getUpdateExecutor() {
+        if (updateExecutor == null) {
+            updateExecutor = Executors.newSingleThreadExecutor(r -> {
+                final Thread result = new Thread(r, "Preview Update"); //NOI18N
+                result.setDaemon(true);
+                return result;
+            });
+        }
+        return updateExecutor;
     }
 
     public boolean userResizedPreviewWindow() {
@@ -95,8 +95,12 @@ class SkeletonBuffer {
     }
 
     private void constructFxIds(SkeletonContext.Builder builder) {
-        for (FXOMObject value : document.collectFxIds().values()) {
-            builder.addFxId(value);
+        // Walks the document to declare the fields in document order
+        final FXOMObject fxomRoot = document.getFxomRoot();
+        if (fxomRoot != null) {
+            for (FXOMObject value : fxomRoot.collectFxIds().values()) {
+                builder.addFxId(value);
+            }
         }
     }
 
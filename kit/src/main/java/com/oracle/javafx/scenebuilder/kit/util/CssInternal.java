@@ -33,7 +33,6 @@
 package com.oracle.javafx.scenebuilder.kit.util;
 
 import java.io.File;
-import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -59,13 +58,8 @@ import com.oracle.javafx.scenebuilder.kit.editor.EditorController;
 import com.oracle.javafx.scenebuilder.kit.editor.EditorPlatform.Theme;
 import com.oracle.javafx.scenebuilder.kit.fxom.FXOMInstance;
 import com.oracle.javafx.scenebuilder.kit.metadata.property.ValuePropertyMetadata;
-import javafx.css.CompoundSelector;
 import javafx.css.Rule;
-import javafx.css.Selector;
-import javafx.css.SimpleSelector;
 import javafx.css.Style;
-import javafx.css.Stylesheet;
-import javafx.css.CssParser;
 
 /**
  *
@@ -234,37 +228,12 @@ public class CssInternal {
     }
 
     private static Set<String> getStyleClasses(final URL url) {
-        Set<String> styleClasses = new HashSet<>();
-        Stylesheet s;
-        try {
-            s = new CssParser().parse(url);
-        } catch (IOException ex) {
+        // Stylesheets are parsed once per modification
+        final CssStylesheetCache.Entry entry = CssStylesheetCache.lookup(url);
+        if (entry.getIOException() != null) {
             System.out.println("Warning: Invalid Stylesheet " + url); //NOI18N
-            return styleClasses;
         }
-        if (s == null) {
-            // The parsed CSS file was empty. No parsing occured.
-            return styleClasses;
-        }
-        for (Rule r : s.getRules()) {
-            for (Selector ss : r.getSelectors()) {
-                if (ss instanceof SimpleSelector) {
-                    SimpleSelector simple = (SimpleSelector) ss;
-                    styleClasses.addAll(simple.getStyleClasses());
-                } else {
-                    if (ss instanceof CompoundSelector) {
-                        CompoundSelector cs = (CompoundSelector) ss;
-                        for (Selector selector : cs.getSelectors()) {
-                            if (selector instanceof SimpleSelector) {
-                                SimpleSelector simple = (SimpleSelector) selector;
-                                styleClasses.addAll(simple.getStyleClasses());
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return styleClasses;
+        return entry.getStyleClasses();
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.util;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javafx.css.CompoundSelector;
+import javafx.css.CssParser;
+import javafx.css.Rule;
+import javafx.css.Selector;
+import javafx.css.SimpleSelector;
+import javafx.css.Stylesheet;
+
+/**
+ * Cache of parsed stylesheets, keyed by URL and modification stamp.
+ * 
+ * Each stylesheet is parsed once per change: the parsed Stylesheet, its
+ * style classes and the parsing errors are kept until the file is modified
+ * (detected from its modification time and size) or until the stylesheet is
+ * explicitly invalidated (typically by the document file watcher).
+ * Stylesheets which are not files (eg theme stylesheets in jars) are parsed
+ * once.
+ */
+public class CssStylesheetCache {
+    
+    private static final Map<String, Entry> entries = new HashMap<>();
+    
+    /**
+     * Returns the parsing result of the specified stylesheet, parsing it if
+     * it is not cached or if it changed since it has been cached.
+     * 
+     * @param url url of a stylesheet (never null)
+     * @return the parsing result (never null)
+     */
+    public static synchronized Entry lookup(URL url) {
+        assert url != null;
+        
+        final String key = url.toExternalForm();
+        final Stamp stamp = makeStamp(url);
+        Entry result = entries.get(key);
+        if ((result == null) || (result.stamp.equals(stamp) == false)) {
+            result = parse(url, stamp);
+            entries.put(key, result);
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Forgets the parsing result of the specified stylesheet file.
+     * 
+     * @param stylesheetPath path of a stylesheet (never null)
+     */
+    public static synchronized void invalidate(Path stylesheetPath) {
+        assert stylesheetPath != null;
+        try {
+            entries.remove(stylesheetPath.toUri().toURL().toExternalForm());
+        } catch(IOException x) {
+            // Cannot be cached then
+        }
+    }
+    
+    public static synchronized void clear() {
+        entries.clear();
+    }
+    
+    public static class Entry {
+        private final Stamp stamp;
+        private final Stylesheet stylesheet;
+        private final Set<String> styleClasses;
+        private final IOException ioException;
+        private final List<CssParser.ParseError> parseErrors;
+
+        private Entry(Stamp stamp, Stylesheet stylesheet, Set<String> styleClasses, 
+                IOException ioException, List<CssParser.ParseError> parseErrors) {
+            this.stamp = stamp;
+            this.stylesheet = stylesheet;
+            this.styleClasses = Collections.unmodifiableSet(styleClasses);
+            this.ioException = ioException;
+            this.parseErrors = Collections.unmodifiableList(parseErrors);
+        }
+
+        /**
+         * @return the parsed stylesheet (null if the file is empty or cannot be read)
+         */
+        public Stylesheet getStylesheet() {
+            return stylesheet;
+        }
+
+        public Set<String> getStyleClasses() {
+            return styleClasses;
+        }
+
+        public IOException getIOException() {
+            return ioException;
+        }
+
+        public List<CssParser.ParseError> getParseErrors() {
+            return parseErrors;
+        }
+    }
+    
+    /*
+     * Private
+     */
+    
+    private static Entry parse(URL url, Stamp stamp) {
+        Stylesheet stylesheet = null;
+        IOException ioException = null;
+        final List<CssParser.ParseError> parseErrors = new ArrayList<>();
+        
+        final Set<CssParser.ParseError> previousErrors = new HashSet<>(CssParser.errorsProperty());
+        try {
+            stylesheet = new CssParser().parse(url);
+            parseErrors.addAll(CssParser.errorsProperty());
+            parseErrors.removeAll(previousErrors);
+        } catch(IOException x) {
+            ioException = x;
+        } finally {
+            CssParser.errorsProperty().removeAll(parseErrors);
+        }
+        
+        return new Entry(stamp, stylesheet, collectStyleClasses(stylesheet), ioException, parseErrors);
+    }
+    
+    private static Set<String> collectStyleClasses(Stylesheet s) {
+        final Set<String> styleClasses = new HashSet<>();
+        if (s == null) {
+            // The parsed CSS file was empty. No parsing occured.
+            return styleClasses;
+        }
+        for (Rule r : s.getRules()) {
+            for (Selector ss : r.getSelectors()) {
+                if (ss instanceof SimpleSelector) {
+                    SimpleSelector simple = (SimpleSelector) ss;
+                    styleClasses.addAll(simple.getStyleClasses());
+                } else {
+                    if (ss instanceof CompoundSelector) {
+                        CompoundSelector cs = (CompoundSelector) ss;
+                        for (Selector selector : cs.getSelectors()) {
+                            if (selector instanceof SimpleSelector) {
+                                SimpleSelector simple = (SimpleSelector) selector;
+                                styleClasses.addAll(simple.getStyleClasses());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return styleClasses;
+    }
+    
+    private static Stamp makeStamp(URL url) {
+        Stamp result;
+        if ("file".equals(url.getProtocol())) { //NOI18N
+            try {
+                final Path path = Paths.get(url.toURI());
+                result = new Stamp(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+            } catch(IOException | URISyntaxException | RuntimeException x) {
+                result = Stamp.MISSING;
+            }
+        } else {
+            result = Stamp.IMMUTABLE;
+        }
+        return result;
+    }
+    
+    private static class Stamp {
+        static final Stamp MISSING = new Stamp(-1, -1);
+        static final Stamp IMMUTABLE = new Stamp(0, 0);
+        
+        final long lastModified;
+        final long size;
+
+        Stamp(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if ((obj instanceof Stamp) == false) {
+                return false;
+            }
+            final Stamp other = (Stamp) obj;
+            return (lastModified == other.lastModified) && (size == other.size);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size);
+        }
+    }
+}
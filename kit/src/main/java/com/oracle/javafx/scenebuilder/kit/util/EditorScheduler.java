@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+
+/**
+ * A scheduler shared by all the editor components needing delayed tasks
+ * (drag tracking, tree auto-expand, preview refresh, file polling...).
+ * 
+ * All the tasks run on a single daemon thread : scheduling a task never
+ * creates a thread. Tasks are identified by a key (usually a private object
+ * owned by the caller, one per purpose) : scheduling a task with a key
+ * replaces any pending task with the same key.
+ * 
+ * Debounced and throttled actions are run on the FX application thread.
+ * Repeated actions are run on the scheduler thread and must return quickly.
+ */
+public class EditorScheduler {
+    
+    private static EditorScheduler instance;
+    
+    private final ScheduledExecutorService executor;
+    private final Map<Object, Task> tasks = new HashMap<>();
+    
+    private EditorScheduler() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread result = new Thread(r, "Editor Scheduler"); //NOI18N
+            result.setDaemon(true);
+            return result;
+        });
+    }
+    
+    public static synchronized EditorScheduler getInstance() {
+        if (instance == null) {
+            instance = new EditorScheduler();
+        }
+        return instance;
+    }
+    
+    /**
+     * Runs the specified action on the FX thread once delay milliseconds
+     * have elapsed without any other call to debounce() with the same key.
+     * 
+     * @param key the key identifying the task (never null)
+     * @param delay the delay in milliseconds
+     * @param action the action to be run on the FX thread (never null)
+     */
+    public synchronized void debounce(Object key, long delay, Runnable action) {
+        assert key != null;
+        assert delay >= 0;
+        assert action != null;
+        
+        cancel(key);
+        final Task task = new Task(key, action, true /* fxThread */, false /* repeated */);
+        tasks.put(key, task);
+        task.future = executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Runs the specified action on the FX thread at most once every period
+     * milliseconds. If a task with the same key is already pending, its
+     * action is replaced by the specified one and its deadline is kept.
+     * 
+     * @param key the key identifying the task (never null)
+     * @param period the period in milliseconds
+     * @param action the action to be run on the FX thread (never null)
+     */
+    public synchronized void throttle(Object key, long period, Runnable action) {
+        assert key != null;
+        assert period >= 0;
+        assert action != null;
+        
+        final Task pendingTask = tasks.get(key);
+        if ((pendingTask != null) && pendingTask.fxThread 
+                && (pendingTask.repeated == false)) {
+            pendingTask.action = action;
+        } else {
+            debounce(key, period, action);
+        }
+    }
+    
+    /**
+     * Runs the specified action on the scheduler thread every period 
+     * milliseconds until {@link #cancel(java.lang.Object)} is invoked with
+     * the same key.
+     * 
+     * @param key the key identifying the task (never null)
+     * @param period the period in milliseconds
+     * @param action the action to be run on the scheduler thread (never null)
+     */
+    public synchronized void repeat(Object key, long period, Runnable action) {
+        assert key != null;
+        assert period > 0;
+        assert action != null;
+        
+        cancel(key);
+        final Task task = new Task(key, action, false /* fxThread */, true /* repeated */);
+        tasks.put(key, task);
+        task.future = executor.scheduleWithFixedDelay(task, period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Cancels the pending task with the specified key. Once this method
+     * returns, the task action will not be run, even if the task had
+     * already expired and was waiting for the FX thread.
+     * 
+     * @param key the key identifying the task (never null)
+     * @return true if a task was pending
+     */
+    public synchronized boolean cancel(Object key) {
+        assert key != null;
+        
+        final Task task = tasks.remove(key);
+        if (task != null) {
+            task.future.cancel(false);
+        }
+        return task != null;
+    }
+    
+    public synchronized boolean isScheduled(Object key) {
+        assert key != null;
+        return tasks.containsKey(key);
+    }
+    
+    
+    /*
+     * Private
+     */
+    
+    private synchronized Runnable fetchAction(Task task) {
+        final Runnable result;
+        if (tasks.get(task.key) == task) {
+            if (task.repeated == false) {
+                tasks.remove(task.key);
+            }
+            result = task.action;
+        } else {
+            // Cancelled or superseded
+            result = null;
+        }
+        return result;
+    }
+    
+    private class Task implements Runnable {
+        final Object key;
+        final boolean fxThread;
+        final boolean repeated;
+        Runnable action;
+        ScheduledFuture<?> future;
+        
+        Task(Object key, Runnable action, boolean fxThread, boolean repeated) {
+            this.key = key;
+            this.action = action;
+            this.fxThread = fxThread;
+            this.repeated = repeated;
+        }
+        
+        @Override
+        public void run() {
+            if (fxThread) {
+                Platform.runLater(this::fire);
+            } else {
+                fire();
+            }
+        }
+        
+        private void fire() {
+            final Runnable currentAction = fetchAction(this);
+            if (currentAction != null) {
+                currentAction.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.util;
+
+import com.oracle.javafx.scenebuilder.kit.editor.EditorPlatform;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A WatchService shared by all the FileWatcher instances.
+ * 
+ * The parent directory of each target is registered once, whatever the number
+ * of targets and file watchers interested in it. Events received on a
+ * directory are forwarded to the file watchers owning the affected targets.
+ * 
+ * On platforms where the JDK does not provide native file watching (it then
+ * falls back on its own polling implementation), {@link #getInstance()}
+ * returns null and file watchers keep polling their targets.
+ */
+class FileWatchService implements Runnable {
+    
+    private static final Logger LOGGER = Logger.getLogger(FileWatchService.class.getName());
+    
+    private static FileWatchService instance;
+    private static boolean instanceCreated;
+    
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> directoryKeys = new HashMap<>();
+    private final Map<WatchKey, Path> keyDirectories = new HashMap<>();
+    private final Map<Path, List<Registration>> registrations = new HashMap<>();
+    
+    private FileWatchService(WatchService watchService) {
+        this.watchService = watchService;
+    }
+    
+    /**
+     * Returns the shared service or null if native file watching is not
+     * available on this platform.
+     * 
+     * @return the shared service (may be null)
+     */
+    public static synchronized FileWatchService getInstance() {
+        if (instanceCreated == false) {
+            instanceCreated = true;
+            instance = makeInstance();
+        }
+        return instance;
+    }
+    
+    /**
+     * Starts watching the specified target on behalf of the specified watcher.
+     * 
+     * @param target a file path
+     * @param fileWatcher the file watcher to be notified
+     * @return false if the parent directory of target cannot be watched
+     */
+    public synchronized boolean register(Path target, FileWatcher fileWatcher) {
+        assert target != null;
+        assert fileWatcher != null;
+        
+        final Path normalizedTarget = target.toAbsolutePath().normalize();
+        final Path directory = normalizedTarget.getParent();
+        boolean result;
+        
+        if (directory == null) {
+            result = false;
+        } else {
+            result = true;
+            if (directoryKeys.containsKey(directory) == false) {
+                try {
+                    final WatchKey key = directory.register(watchService, 
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+                    directoryKeys.put(directory, key);
+                    keyDirectories.put(key, directory);
+                } catch(IOException | RuntimeException x) {
+                    // Directory does not exist, is on another file system...
+                    result = false;
+                }
+            }
+            if (result) {
+                registrations.computeIfAbsent(normalizedTarget, p -> new ArrayList<>())
+                        .add(new Registration(target, fileWatcher));
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Stops watching the specified target on behalf of the specified watcher.
+     * The parent directory is unregistered when no target remains in it.
+     * 
+     * @param target a file path previously registered by fileWatcher
+     * @param fileWatcher a file watcher
+     */
+    public synchronized void unregister(Path target, FileWatcher fileWatcher) {
+        final Path normalizedTarget = target.toAbsolutePath().normalize();
+        final List<Registration> targetRegistrations = registrations.get(normalizedTarget);
+        
+        if (targetRegistrations != null) {
+            targetRegistrations.removeIf(r -> r.fileWatcher == fileWatcher && r.target.equals(target));
+            if (targetRegistrations.isEmpty()) {
+                registrations.remove(normalizedTarget);
+                final Path directory = normalizedTarget.getParent();
+                if (isWatchedDirectoryInUse(directory) == false) {
+                    final WatchKey key = directoryKeys.remove(directory);
+                    if (key != null) {
+                        keyDirectories.remove(key);
+                        key.cancel();
+                    }
+                }
+            }
+        }
+    }
+    
+    /*
+     * Runnable
+     */
+    
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+                final List<Registration> notified = new ArrayList<>();
+                final List<Registration> cancelled = new ArrayList<>();
+                
+                synchronized(this) {
+                    final Path directory = keyDirectories.get(key);
+                    if (directory != null) {
+                        for (WatchEvent<?> e : key.pollEvents()) {
+                            if (e.kind() == StandardWatchEventKinds.OVERFLOW) {
+                                // Events have been lost : every target of
+                                // the directory is checked.
+                                collectRegistrations(directory, notified);
+                            } else {
+                                final Path child = directory.resolve((Path) e.context());
+                                final List<Registration> rs = registrations.get(child);
+                                if (rs != null) {
+                                    notified.addAll(rs);
+                                }
+                            }
+                        }
+                        if (key.reset() == false) {
+                            // Directory has been deleted or is no longer
+                            // accessible : its targets must be polled.
+                            directoryKeys.remove(directory);
+                            keyDirectories.remove(key);
+                            collectRegistrations(directory, cancelled);
+                            for (Registration r : cancelled) {
+                                registrations.remove(r.target.toAbsolutePath().normalize());
+                            }
+                        }
+                    } else {
+                        // Key cancelled by unregister()
+                        key.pollEvents();
+                    }
+                }
+                
+                // File watchers are invoked outside of the lock
+                // (they invoke register/unregister under their own lock).
+                try {
+                    for (Registration r : notified) {
+                        r.fileWatcher.targetMayHaveChanged(r.target);
+                    }
+                    for (Registration r : cancelled) {
+                        r.fileWatcher.targetWatchingDidCancel(r.target);
+                    }
+                } catch(RuntimeException x) {
+                    // Keeps the shared thread alive
+                    LOGGER.log(Level.WARNING, "Failed to dispatch file event", x); //NOI18N
+                }
+            }
+        } catch(InterruptedException | ClosedWatchServiceException x) {
+            // Let's stop
+        }
+    }
+    
+    /*
+     * Private
+     */
+    
+    private static FileWatchService makeInstance() {
+        // The JDK provides native watching on Linux (inotify) and Windows only.
+        // Elsewhere (Mac OS X...) it falls back on a service which polls every 
+        // 10 s : our own polling is preferable in that case.
+        if ((EditorPlatform.IS_LINUX || EditorPlatform.IS_WINDOWS) == false) {
+            return null;
+        }
+        
+        FileWatchService result;
+        try {
+            final WatchService ws = FileSystems.getDefault().newWatchService();
+            result = new FileWatchService(ws);
+            final Thread thread = new Thread(result, FileWatchService.class.getSimpleName());
+            thread.setDaemon(true);
+            thread.start();
+        } catch(IOException | UnsupportedOperationException x) {
+            LOGGER.log(Level.INFO, "Native file watching is not available", x); //NOI18N
+            result = null;
+        }
+        return result;
+    }
+    
+    private boolean isWatchedDirectoryInUse(Path directory) {
+        for (Path t : registrations.keySet()) {
+            if (directory.equals(t.getParent())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void collectRegistrations(Path directory, List<Registration> result) {
+        for (Map.Entry<Path, List<Registration>> e : registrations.entrySet()) {
+            if (directory.equals(e.getKey().getParent())) {
+                result.addAll(e.getValue());
+            }
+        }
+    }
+    
+    private static class Registration {
+        final Path target;
+        final FileWatcher fileWatcher;
+
+        Registration(Path target, FileWatcher fileWatcher) {
+            this.target = target;
+            this.fileWatcher = fileWatcher;
+        }
+    }
+}
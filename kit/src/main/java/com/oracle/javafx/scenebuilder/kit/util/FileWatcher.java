@@ -43,31 +43,48 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Executor;
 import javafx.application.Platform;
 
 /**
- *
+ * Watches a set of files and notifies its delegate when they are created,
+ * deleted or modified.
+ * 
+ * Targets are watched through a WatchService shared by all the file watchers.
+ * Targets which cannot be watched this way (native watching unavailable,
+ * parent directory missing...) are polled every pollingTime milliseconds
+ * by the editor scheduler.
  */
 public class FileWatcher {
     
     private final String name;
     private final Set<Path> targets = new HashSet<>();
+    private final Set<Path> polledTargets = new HashSet<>();
     private final Map<Path, FileTime> modifiedTimes = new HashMap<>();
     private final long pollingTime; // milliseconds
     private final Delegate delegate;
+    private final FileWatchService service; // null if targets are polled
+    private final Executor notifier; // runs the delegate notifications
     private boolean started;
-    private Timer watchingTimer;
+    private boolean polling;
     
     public FileWatcher(long pollingTime, Delegate delegate, String name) {
+        this(pollingTime, delegate, name, FileWatchService.getInstance(), Platform::runLater);
+    }
+    
+    // Package-private for unit tests
+    FileWatcher(long pollingTime, Delegate delegate, String name, 
+            FileWatchService service, Executor notifier) {
         assert pollingTime > 0;
         assert delegate != null;
         assert name != null;
+        assert notifier != null;
         
         this.pollingTime = pollingTime;
         this.delegate = delegate;
         this.name = getClass().getSimpleName() + "[" + name + "]"; //NOI18N
+        this.service = service;
+        this.notifier = notifier;
     }
     
     public synchronized void addTarget(Path target) {
@@ -80,12 +97,18 @@ public class FileWatcher {
         } catch(IOException x) {
             // Nothing special to do here
         }
+        if (started) {
+            startWatching(target);
+        }
         updateWatchingTimer();
     }
     
     public synchronized void removeTarget(Path target) {
         assert target != null;
         assert targets.contains(target);
+        if (started) {
+            stopWatching(target);
+        }
         targets.remove(target);
         modifiedTimes.remove(target);
         updateWatchingTimer();
@@ -117,12 +140,18 @@ public class FileWatcher {
     public synchronized void start() {
         assert isStarted() == false;
         started = true;
+        for (Path target : targets) {
+            startWatching(target);
+        }
         updateWatchingTimer();
     }
     
     public synchronized void stop() {
         assert isStarted() == true;
         started = false;
+        for (Path target : targets) {
+            stopWatching(target);
+        }
         updateWatchingTimer();
     }
     
@@ -130,6 +159,11 @@ public class FileWatcher {
         return started;
     }
     
+    @Override
+    public String toString() {
+        return name;
+    }
+    
     public static interface Delegate {
         public void fileWatcherDidWatchTargetCreation(Path target);
         public void fileWatcherDidWatchTargetDeletion(Path target);
@@ -137,63 +171,98 @@ public class FileWatcher {
     }
     
     
+    /*
+     * Package
+     */
+    
+    /* Reserved to FileWatchService */
+    synchronized void targetMayHaveChanged(Path target) {
+        if (started && targets.contains(target)) {
+            checkTarget(target);
+        }
+    }
+    
+    /* Reserved to FileWatchService */
+    synchronized void targetWatchingDidCancel(Path target) {
+        if (started && targets.contains(target)) {
+            // Parent directory is gone : let's poll the target
+            polledTargets.add(target);
+            checkTarget(target);
+            updateWatchingTimer();
+        }
+    }
+    
+    
     /*
      * Private
      */
     
+    private void startWatching(Path target) {
+        assert started;
+        if ((service == null) || (service.register(target, this) == false)) {
+            polledTargets.add(target);
+        }
+    }
+    
+    private void stopWatching(Path target) {
+        if (polledTargets.remove(target) == false) {
+            assert service != null;
+            service.unregister(target, this);
+        }
+    }
+    
     private void updateWatchingTimer() {
-        final boolean timerNeeded = started && (targets.isEmpty() == false);
+        final boolean timerNeeded = started && (polledTargets.isEmpty() == false);
         
         if (timerNeeded) {
-            if (watchingTimer == null) {
-                watchingTimer = new Timer(name, true /* isDaemon */);
-                watchingTimer.schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        runWatching();
-                    }
-                }, pollingTime, pollingTime);
+            if (polling == false) {
+                polling = true;
+                EditorScheduler.getInstance().repeat(this, pollingTime, this::runWatching);
             }
         } else {
-            if (watchingTimer != null) {
-                watchingTimer.cancel();
-                watchingTimer = null;
+            if (polling) {
+                polling = false;
+                EditorScheduler.getInstance().cancel(this);
             }
         }
     }
     
     private synchronized void runWatching() {
         
-        // Note : this method may be called a few times after the timer
-        // is cancelled by stop() method. In that case, this.watchingTimer is 
-        // null and we should simply do nothing.
+        // Note : this method may be called once after polling is cancelled
+        // by stop() method. In that case, this.polling is false and we should
+        // simply do nothing.
         
-        if (watchingTimer != null) {
-            for (Path target : targets) {
-                FileTime newModifiedTime;
-                try {
-                    newModifiedTime = Files.getLastModifiedTime(target);
-                } catch(IOException x) {
-                    newModifiedTime = null;
-                }
+        if (polling) {
+            for (Path target : polledTargets) {
+                checkTarget(target);
+            }
+        }
+    }
+    
+    private void checkTarget(Path target) {
+        FileTime newModifiedTime;
+        try {
+            newModifiedTime = Files.getLastModifiedTime(target);
+        } catch(IOException x) {
+            newModifiedTime = null;
+        }
 
-                final FileTime lastModifiedTime = modifiedTimes.get(target);
+        final FileTime lastModifiedTime = modifiedTimes.get(target);
 
-                if ((lastModifiedTime == null) && (newModifiedTime != null)) {
-                    // target has been created
-                    modifiedTimes.put(target, newModifiedTime);
-                    Platform.runLater(() -> delegate.fileWatcherDidWatchTargetCreation(target));
-                } else if ((lastModifiedTime != null) && (newModifiedTime == null)) {
-                    // target has been deleted
-                    modifiedTimes.remove(target);
-                    Platform.runLater(() -> delegate.fileWatcherDidWatchTargetDeletion(target));
-                } else if (Objects.equals(lastModifiedTime, newModifiedTime) == false) {
-                    // target has been modified
-                    assert newModifiedTime != null;
-                    modifiedTimes.put(target, newModifiedTime);
-                    Platform.runLater(() -> delegate.fileWatcherDidWatchTargetModification(target));
-                }
-            }
+        if ((lastModifiedTime == null) && (newModifiedTime != null)) {
+            // target has been created
+            modifiedTimes.put(target, newModifiedTime);
+            notifier.execute(() -> delegate.fileWatcherDidWatchTargetCreation(target));
+        } else if ((lastModifiedTime != null) && (newModifiedTime == null)) {
+            // target has been deleted
+            modifiedTimes.remove(target);
+            notifier.execute(() -> delegate.fileWatcherDidWatchTargetDeletion(target));
+        } else if (Objects.equals(lastModifiedTime, newModifiedTime) == false) {
+            // target has been modified
+            assert newModifiedTime != null;
+            modifiedTimes.put(target, newModifiedTime);
+            notifier.execute(() -> delegate.fileWatcherDidWatchTargetModification(target));
         }
     }
 }
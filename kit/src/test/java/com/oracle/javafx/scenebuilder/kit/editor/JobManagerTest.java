@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor;
+
+import com.oracle.javafx.scenebuilder.kit.editor.job.Job;
+import com.oracle.javafx.scenebuilder.kit.editor.job.atomic.RemoveObjectJob;
+import com.oracle.javafx.scenebuilder.kit.editor.job.atomic.RemovePropertyValueJob;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for the history size bookkeeping of {@link JobManager}
+ */
+public class JobManagerTest {
+
+    private static final String FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+            + "<?import javafx.scene.shape.Rectangle?>\n" //NOI18N
+            + "<Pane xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\">\n" //NOI18N
+            + "  <children>\n" //NOI18N
+            + "    <Rectangle fx:id=\"r1\" width=\"10\" height=\"10\"/>\n" //NOI18N
+            + "    <Rectangle fx:id=\"r2\" width=\"10\" height=\"10\"/>\n" //NOI18N
+            + "  </children>\n" //NOI18N
+            + "</Pane>\n"; //NOI18N
+
+    private EditorController editorController;
+    private JobManager jobManager;
+
+    @Before
+    public void prepareTestData() throws IOException {
+        editorController = new EditorController();
+        editorController.setFxmlText(FXML_TEXT, false);
+        jobManager = editorController.getJobManager();
+    }
+
+    @Test
+    public void testHistorySizeIncludesWrappedSubJob() {
+        final FXOMObject r1 = editorController.getFxomDocument().searchWithFxId("r1"); //NOI18N
+        final long removedSize = new RemovePropertyValueJob(r1, editorController).getRetainedSize();
+        final Job job = new RemoveObjectJob(r1, editorController);
+        assertThat(job.getRetainedSize()).isGreaterThan(removedSize);
+
+        jobManager.push(job);
+        assertThat(jobManager.getHistorySize()).isGreaterThanOrEqualTo(job.getRetainedSize());
+    }
+
+    @Test
+    public void testHistoryEvictionAccountsForWrappedSubJob() {
+        final FXOMObject r1 = editorController.getFxomDocument().searchWithFxId("r1"); //NOI18N
+        final FXOMObject r2 = editorController.getFxomDocument().searchWithFxId("r2"); //NOI18N
+        final long budget = new RemovePropertyValueJob(r1, editorController).getRetainedSize() * 3 / 2;
+        final JobManager boundedManager = new JobManager(editorController, 50, budget);
+
+        boundedManager.push(new RemoveObjectJob(r1, editorController));
+        boundedManager.push(new RemoveObjectJob(r2, editorController));
+
+        // The removed rectangles do not both fit in the budget
+        assertThat(boundedManager.getUndoStack()).hasSize(1);
+        assertThat(boundedManager.getHistorySize()).isLessThanOrEqualTo(budget);
+    }
+
+}
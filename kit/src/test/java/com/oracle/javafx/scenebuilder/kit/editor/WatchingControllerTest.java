@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor;
+
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMDocument;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMInstance;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMPropertyT;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link WatchingController}
+ */
+public class WatchingControllerTest {
+
+    private static final String FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+            + "<Pane stylesheets=\"@a.css\" xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\">\n" //NOI18N
+            + "  <children>\n" //NOI18N
+            + "    <Pane fx:id=\"p1\" stylesheets=\"@b.css\"/>\n" //NOI18N
+            + "    <Pane fx:id=\"p2\"/>\n" //NOI18N
+            + "  </children>\n" //NOI18N
+            + "</Pane>\n"; //NOI18N
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path folder;
+    private EditorController editorController;
+    private WatchingController watchingController;
+
+    @Before
+    public void prepareTestData() throws IOException {
+        folder = temporaryFolder.getRoot().toPath();
+        editorController = new EditorController();
+        editorController.setFxmlTextAndLocation(FXML_TEXT, folder.resolve("Test.fxml").toUri().toURL()); //NOI18N
+        watchingController = new WatchingController(editorController);
+        watchingController.fxomDocumentDidChange();
+    }
+
+    @Test
+    public void testTargetsFollowAssetIndex() {
+        assertThat(watchingController.getWatchedPaths()).containsOnly(
+                folder.resolve("a.css"), folder.resolve("b.css")); //NOI18N
+
+        final FXOMDocument fxomDocument = editorController.getFxomDocument();
+        getStylesheets(fxomDocument.searchWithFxId("p1")).setValue("@c.css"); //NOI18N
+        assertThat(watchingController.getWatchedPaths()).containsOnly(
+                folder.resolve("a.css"), folder.resolve("c.css")); //NOI18N
+
+        final FXOMObject p2 = fxomDocument.searchWithFxId("p2"); //NOI18N
+        new FXOMPropertyT(fxomDocument, new PropertyName("stylesheets"), "@d.css") //NOI18N
+                .addToParentInstance(-1, (FXOMInstance) p2);
+        assertThat(watchingController.getWatchedPaths()).contains(folder.resolve("d.css")); //NOI18N
+
+        p2.removeFromParentProperty();
+        assertThat(watchingController.getWatchedPaths()).doesNotContain(folder.resolve("d.css")); //NOI18N
+    }
+
+    @Test
+    public void testTargetsFollowDocument() throws IOException {
+        final FXOMDocument previousDocument = editorController.getFxomDocument();
+        editorController.setFxmlTextAndLocation(null, null);
+        watchingController.fxomDocumentDidChange();
+        assertThat(watchingController.getWatchedPaths()).isEmpty();
+
+        // Previous document is no longer listened
+        getStylesheets(previousDocument.getFxomRoot()).setValue("@e.css"); //NOI18N
+        assertThat(watchingController.getWatchedPaths()).isEmpty();
+    }
+
+    /*
+     * Private
+     */
+
+    private static FXOMPropertyT getStylesheets(FXOMObject fxomObject) {
+        return (FXOMPropertyT) ((FXOMInstance) fxomObject).getProperties().get(new PropertyName("stylesheets")); //NOI18N
+    }
+}
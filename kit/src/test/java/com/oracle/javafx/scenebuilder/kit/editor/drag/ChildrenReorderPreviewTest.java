@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor.drag;
+
+import com.oracle.javafx.scenebuilder.kit.editor.drag.target.ContainerZDropTarget;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMDocument;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMInstance;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMPropertyC;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.DesignHierarchyMask;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javafx.scene.Node;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link ChildrenReorderPreview}
+ */
+public class ChildrenReorderPreviewTest {
+
+    private FXOMDocument fxomDocument;
+    private FXOMInstance vbox;
+    private FXOMInstance a, b, c;
+    private final ChildrenReorderPreview preview = new ChildrenReorderPreview();
+
+    @Before
+    public void prepareTestData() {
+        fxomDocument = new FXOMDocument();
+        vbox = makeContainer(new VBox());
+        a = addChild(vbox);
+        b = addChild(vbox);
+        c = addChild(vbox);
+    }
+
+    @Test
+    public void testMoveAndRevert() {
+        assertThat(preview.apply(new ContainerZDropTarget(vbox, a), Collections.singletonList(c))).isTrue();
+        assertThat(getChildren(vbox)).containsExactly(node(c), node(a), node(b));
+        assertThat(getSubComponents(vbox)).containsExactly(a, b, c);
+
+        preview.revert();
+        assertThat(preview.isApplied()).isFalse();
+        assertThat(getChildren(vbox)).containsExactly(node(a), node(b), node(c));
+    }
+
+    @Test
+    public void testMoveSeveralNodesAndRevert() {
+        assertThat(preview.apply(new ContainerZDropTarget(vbox, null), Arrays.asList(a, c))).isTrue();
+        assertThat(getChildren(vbox)).containsExactly(node(b), node(a), node(c));
+
+        preview.revert();
+        assertThat(getChildren(vbox)).containsExactly(node(a), node(b), node(c));
+    }
+
+    @Test
+    public void testHitChildIsResolvedBySceneGraphObject() {
+        preview.apply(new ContainerZDropTarget(vbox, a), Collections.singletonList(c));
+
+        // Previewed order is c, a, b : the third child is b (fxom index 1)
+        final DesignHierarchyMask m = new DesignHierarchyMask(vbox);
+        final FXOMObject beforeChild = m.lookupSubComponent(getChildren(vbox).get(2));
+        assertThat(beforeChild).isSameAs(b);
+
+        preview.revert();
+        assertThat(preview.apply(new ContainerZDropTarget(vbox, beforeChild), Collections.singletonList(c))).isTrue();
+        assertThat(getChildren(vbox)).containsExactly(node(a), node(c), node(b));
+    }
+
+    @Test
+    public void testRejectedTargets() {
+        // Before child is a dragged object
+        assertThat(preview.apply(new ContainerZDropTarget(vbox, a), Arrays.asList(a, b))).isFalse();
+
+        // Dragged object comes from another container
+        final FXOMInstance other = makeContainer(new VBox());
+        final FXOMInstance d = addChild(other);
+        assertThat(preview.apply(new ContainerZDropTarget(vbox, a), Collections.singletonList(d))).isFalse();
+
+        // FlowPane cracks follow the fxom order
+        final FXOMInstance flowPane = makeContainer(new FlowPane());
+        final FXOMInstance e = addChild(flowPane);
+        final FXOMInstance f = addChild(flowPane);
+        assertThat(preview.apply(new ContainerZDropTarget(flowPane, e), Collections.singletonList(f))).isFalse();
+
+        assertThat(preview.isApplied()).isFalse();
+        assertThat(getChildren(vbox)).containsExactly(node(a), node(b), node(c));
+    }
+
+    private FXOMInstance makeContainer(Pane pane) {
+        final FXOMInstance result = new FXOMInstance(fxomDocument, pane.getClass());
+        result.setSceneGraphObject(pane);
+        final FXOMPropertyC children = new FXOMPropertyC(fxomDocument, new PropertyName("children"));
+        children.addToParentInstance(-1, result);
+        return result;
+    }
+
+    private FXOMInstance addChild(FXOMInstance container) {
+        final Rectangle rectangle = new Rectangle();
+        final FXOMInstance result = new FXOMInstance(fxomDocument, Rectangle.class);
+        result.setSceneGraphObject(rectangle);
+        final FXOMPropertyC children 
+                = (FXOMPropertyC) container.getProperties().get(new PropertyName("children"));
+        result.addToParentProperty(-1, children);
+        getChildren(container).add(rectangle);
+        return result;
+    }
+
+    private static List<Node> getChildren(FXOMInstance container) {
+        return ((Pane) container.getSceneGraphObject()).getChildren();
+    }
+
+    private static List<FXOMObject> getSubComponents(FXOMInstance container) {
+        return new DesignHierarchyMask(container).getSubComponents();
+    }
+
+    private static Node node(FXOMObject fxomObject) {
+        return (Node) fxomObject.getSceneGraphObject();
+    }
+}
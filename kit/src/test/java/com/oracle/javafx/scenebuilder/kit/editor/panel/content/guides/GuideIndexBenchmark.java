@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor.panel.content.guides;
+
+import java.util.Random;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+
+/**
+ * Micro benchmark of the guide indexes : samples thousands of bounds
+ * (like MovingGuideController does) and measures the average time of the
+ * six line matches performed on each mouse drag event.
+ * 
+ * This is not a unit test: run it with its main method.
+ */
+public class GuideIndexBenchmark {
+
+    private static final double MATCH_DISTANCE = 6.0;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+    private static final int QUERY_COUNT = 100_000;
+
+    public static void main(String[] args) {
+        final int[] sampleCounts = { 1_000, 10_000, 50_000 };
+        for (int sampleCount : sampleCounts) {
+            run(sampleCount);
+        }
+    }
+
+    private static void run(int sampleCount) {
+        final Random random = new Random(sampleCount);
+        final HorizontalLineIndex horizontalLineIndex = new HorizontalLineIndex();
+        final VerticalLineIndex verticalLineIndex = new VerticalLineIndex();
+        for (int i = 0; i < sampleCount; i++) {
+            final double minX = random.nextDouble() * 10_000;
+            final double minY = random.nextDouble() * 10_000;
+            final double maxX = minX + 20 + random.nextInt(200);
+            final double maxY = minY + 20 + random.nextInt(50);
+            horizontalLineIndex.addLine(new HorizontalSegment(minX, maxX, minY));
+            horizontalLineIndex.addLine(new HorizontalSegment(minX, maxX, maxY));
+            horizontalLineIndex.addLine(new HorizontalSegment(minX, maxX, (minY + maxY) / 2.0));
+            verticalLineIndex.addLine(new VerticalSegment(minX, minY, maxY));
+            verticalLineIndex.addLine(new VerticalSegment(maxX, minY, maxY));
+            verticalLineIndex.addLine(new VerticalSegment((minX + maxX) / 2.0, minY, maxY));
+        }
+        final Bounds[] targets = new Bounds[QUERY_COUNT];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = new BoundingBox(random.nextDouble() * 10_000, random.nextDouble() * 10_000, 100, 30);
+        }
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS + MEASURED_ITERATIONS; iteration++) {
+            final long start = System.nanoTime();
+            int matchCount = 0;
+            for (Bounds target : targets) {
+                matchCount += horizontalLineIndex.matchCenter(target, MATCH_DISTANCE).size();
+                matchCount += horizontalLineIndex.matchNorth(target, MATCH_DISTANCE).size();
+                matchCount += horizontalLineIndex.matchSouth(target, MATCH_DISTANCE).size();
+                matchCount += verticalLineIndex.matchCenter(target, MATCH_DISTANCE).size();
+                matchCount += verticalLineIndex.matchWest(target, MATCH_DISTANCE).size();
+                matchCount += verticalLineIndex.matchEast(target, MATCH_DISTANCE).size();
+            }
+            assert matchCount >= 0;
+            final long elapsed = System.nanoTime() - start;
+            if (iteration >= WARMUP_ITERATIONS) {
+                bestNanos = Math.min(bestNanos, elapsed);
+            }
+        }
+
+        System.out.println(String.format("%6d samples : %8.1f ns / drag event", //NOI18N
+                sampleCount, (double) bestNanos / QUERY_COUNT));
+    }
+}
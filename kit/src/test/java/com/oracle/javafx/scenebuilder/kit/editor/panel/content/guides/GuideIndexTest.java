@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor.panel.content.guides;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * Unit test for the guide indexes : their windowed search must return
+ * the same matches as an exhaustive search.
+ */
+public class GuideIndexTest {
+
+    private static final double THRESHOLD = 5.0;
+
+    private final Random random = new Random(12345);
+
+    @Test
+    public void horizontalLinesMatchLikeExhaustiveSearch() {
+        final HorizontalLineIndex index = new HorizontalLineIndex();
+        final List<HorizontalSegment> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final double x = random.nextInt(1000);
+            final HorizontalSegment s = new HorizontalSegment(x, x + 50, random.nextInt(1000));
+            lines.add(s);
+            index.addLine(s);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            final double y = random.nextInt(1000) + random.nextDouble();
+            final Bounds bounds = new BoundingBox(0, y, 10, 10);
+            final List<HorizontalSegment> matches = index.matchNorth(bounds, THRESHOLD);
+            final double bestDelta = bestDelta(lines, y);
+            if (bestDelta < THRESHOLD) {
+                assertThat(matches).isNotEmpty();
+                for (HorizontalSegment s : matches) {
+                    assertThat(Math.abs(s.getY1() - y)).isCloseTo(bestDelta, offset(1e-6));
+                }
+            } else {
+                assertThat(matches).isEmpty();
+            }
+        }
+    }
+
+    @Test
+    public void indexCanBeRefilled() {
+        final VerticalLineIndex index = new VerticalLineIndex();
+        index.addLine(new VerticalSegment(100, 0, 50));
+        final Bounds bounds = new BoundingBox(101, 0, 10, 10);
+        assertThat(index.matchWest(bounds, THRESHOLD)).hasSize(1);
+
+        index.clear();
+        assertThat(index.isEmpty()).isTrue();
+        assertThat(index.matchWest(bounds, THRESHOLD)).isEmpty();
+
+        index.addLine(new VerticalSegment(200, 0, 50));
+        index.addLine(new VerticalSegment(103, 0, 50));
+        assertThat(index.matchWest(bounds, THRESHOLD)).containsExactly(new VerticalSegment(103, 0, 50));
+    }
+
+    @Test
+    public void pointsMatchLikeExhaustiveSearch() {
+        final PointIndex index = new PointIndex();
+        final List<Point2D> points = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final Point2D p = new Point2D(random.nextInt(500), random.nextInt(500));
+            points.add(p);
+            index.addPoint(p);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            final Point2D target = new Point2D(random.nextDouble() * 500, random.nextDouble() * 500);
+            Point2D nearest = null;
+            for (Point2D p : points) {
+                if ((nearest == null) || (p.distance(target) < nearest.distance(target))) {
+                    nearest = p;
+                }
+            }
+            final List<Point2D> matches = index.match(target, THRESHOLD);
+            if (nearest.distance(target) < THRESHOLD) {
+                assertThat(matches).contains(nearest);
+            } else {
+                assertThat(matches).isEmpty();
+            }
+        }
+    }
+
+    @Test
+    public void segmentsMatchClosestLength() {
+        final SegmentIndex index = new SegmentIndex();
+        index.addSegment(new HorizontalSegment(0, 100, 0));
+        index.addSegment(new HorizontalSegment(0, 104, 10));
+        index.addSegment(new HorizontalSegment(0, 98, 20));
+
+        assertThat(index.match(99, THRESHOLD)).containsExactlyInAnyOrder(new HorizontalSegment(0, 100, 0), new HorizontalSegment(0, 98, 20));
+        assertThat(index.match(50, THRESHOLD)).isEmpty();
+    }
+
+    private static double bestDelta(List<HorizontalSegment> lines, double y) {
+        double result = Double.MAX_VALUE;
+        for (HorizontalSegment s : lines) {
+            result = Math.min(result, Math.abs(s.getY1() - y));
+        }
+        return result;
+    }
+}
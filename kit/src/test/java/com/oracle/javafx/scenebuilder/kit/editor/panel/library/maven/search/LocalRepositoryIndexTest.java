@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor.panel.library.maven.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link LocalRepositoryIndex}
+ */
+public class LocalRepositoryIndexTest {
+
+    private static final String BAR = "org.foo:bar:" + Search.MIN_VERSION; //NOI18N
+    private static final String BAZ = "org.foo:baz:" + Search.MIN_VERSION; //NOI18N
+    private static final String QUX = "com.example:qux:" + Search.MIN_VERSION; //NOI18N
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path repository;
+    private Path indexFile;
+
+    @Before
+    public void prepareTestData() throws IOException {
+        repository = temporaryFolder.newFolder("repository").toPath(); //NOI18N
+        indexFile = temporaryFolder.getRoot().toPath().resolve("local-repository.index"); //NOI18N
+        addArtifact("org/foo/bar/1.0"); //NOI18N
+        addArtifact("com/example/qux/2.0"); //NOI18N
+        // A directory without jar is not an artifact
+        Files.createDirectories(repository.resolve("org/foo/empty/1.0")); //NOI18N
+    }
+
+    @Test
+    public void testBuild() {
+        final LocalRepositoryIndex index = new LocalRepositoryIndex(repository, null);
+        index.runRefresh();
+
+        assertThat(index.search("foo")).containsExactly(BAR); //NOI18N
+        assertThat(index.search("x")).containsExactly(QUX); //NOI18N
+        assertThat(index.search(":")).containsExactly(QUX, BAR); //NOI18N
+        assertThat(index.search("empty")).isEmpty(); //NOI18N
+        assertThat(index.search("bar:2")).isEmpty(); //NOI18N
+    }
+
+    @Test
+    public void testSaveAndReload() {
+        final LocalRepositoryIndex index = new LocalRepositoryIndex(repository, indexFile);
+        index.runRefresh();
+        assertThat(indexFile).exists();
+
+        // Saved index is available before any refresh
+        final LocalRepositoryIndex reloaded = new LocalRepositoryIndex(repository, indexFile);
+        reloaded.ensureLoaded();
+        assertThat(reloaded.search("foo")).containsExactly(BAR); //NOI18N
+        assertThat(reloaded.search("qux")).containsExactly(QUX); //NOI18N
+
+        // Index of another repository is ignored
+        final LocalRepositoryIndex other = new LocalRepositoryIndex(
+                temporaryFolder.getRoot().toPath(), indexFile);
+        other.ensureLoaded();
+        assertThat(other.search("foo")).isEmpty(); //NOI18N
+    }
+
+    @Test
+    public void testIncrementalRefresh() throws IOException {
+        final LocalRepositoryIndex index = new LocalRepositoryIndex(repository, indexFile);
+        index.runRefresh();
+
+        // org/foo keeps its modification time : it is not listed again
+        final Path foo = repository.resolve("org/foo"); //NOI18N
+        final FileTime fooTime = Files.getLastModifiedTime(foo);
+        addArtifact("org/foo/baz/1.0"); //NOI18N
+        Files.setLastModifiedTime(foo, fooTime);
+        index.runRefresh();
+        assertThat(index.search("org.foo")).containsExactly(BAR); //NOI18N
+
+        Files.setLastModifiedTime(foo, FileTime.fromMillis(fooTime.toMillis() + 10000));
+        index.runRefresh();
+        assertThat(index.search("org.foo")).containsExactly(BAR, BAZ); //NOI18N
+
+        // Removed artifact disappears
+        Files.delete(repository.resolve("com/example/qux/2.0/qux-2.0.jar")); //NOI18N
+        Files.delete(repository.resolve("com/example/qux/2.0")); //NOI18N
+        index.runRefresh();
+        assertThat(index.search("qux")).isEmpty(); //NOI18N
+
+        // Saved index reflects the refresh
+        final LocalRepositoryIndex reloaded = new LocalRepositoryIndex(repository, indexFile);
+        reloaded.ensureLoaded();
+        assertThat(reloaded.search(":")).containsExactly(BAR, BAZ); //NOI18N
+    }
+
+    @Test
+    public void testDiscoveredArtifactsAreStreamed() throws IOException {
+        final LocalRepositoryIndex index = new LocalRepositoryIndex(repository, null);
+        index.runRefresh();
+        addArtifact("org/foo/baz/1.0"); //NOI18N
+
+        final List<String> discovered = new ArrayList<>();
+        final Consumer<String> listener = c -> {
+            // Index is not updated yet
+            assertThat(index.search("baz")).isEmpty(); //NOI18N
+            discovered.add(c);
+        };
+        index.addDiscoveryListener(listener);
+        index.runRefresh();
+        index.removeDiscoveryListener(listener);
+
+        // Only new artifacts are reported
+        assertThat(discovered).containsExactly(BAZ);
+        assertThat(index.search("baz")).containsExactly(BAZ); //NOI18N
+    }
+
+    /*
+     * Private
+     */
+
+    private void addArtifact(String versionPath) throws IOException {
+        final Path versionFolder = Files.createDirectories(repository.resolve(versionPath));
+        final String[] d = versionPath.split("/"); //NOI18N
+        final String jarName = d[d.length - 2] + "-" + d[d.length - 1] + ".jar"; //NOI18N
+        Files.write(versionFolder.resolve(jarName), new byte[0]);
+    }
+}
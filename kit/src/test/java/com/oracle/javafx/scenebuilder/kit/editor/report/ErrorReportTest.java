@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.editor.report;
+
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMDocument;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMInstance;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMPropertyT;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for the incremental update of {@link ErrorReport}
+ */
+public class ErrorReportTest {
+
+    private static final String FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+            + "<Pane stylesheets=\"@root.css\" xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\">\n" //NOI18N
+            + "  <children>\n" //NOI18N
+            + "    <Pane fx:id=\"p1\" stylesheets=\"@p1.css\"/>\n" //NOI18N
+            + "    <Pane fx:id=\"p2\" stylesheets=\"@p2.css\">\n" //NOI18N
+            + "      <children>\n" //NOI18N
+            + "        <Pane fx:id=\"c\" stylesheets=\"@c.css\"/>\n" //NOI18N
+            + "        <Pane/>\n" //NOI18N
+            + "      </children>\n" //NOI18N
+            + "    </Pane>\n" //NOI18N
+            + "  </children>\n" //NOI18N
+            + "</Pane>\n"; //NOI18N
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path folder;
+    private FXOMDocument fxomDocument;
+    private FXOMObject p1, p2, c;
+    private final ErrorReport errorReport = new ErrorReport();
+
+    @Before
+    public void prepareTestData() throws IOException {
+        folder = temporaryFolder.getRoot().toPath();
+        final Path fxmlPath = folder.resolve("Test.fxml"); //NOI18N
+        fxomDocument = new FXOMDocument(FXML_TEXT, fxmlPath.toUri().toURL(), null, null);
+        p1 = fxomDocument.searchWithFxId("p1"); //NOI18N
+        p2 = fxomDocument.searchWithFxId("p2"); //NOI18N
+        c = fxomDocument.searchWithFxId("c"); //NOI18N
+        // Changes are tracked from the first refresh
+        fxomDocument.refreshSceneGraph();
+        errorReport.setFxomDocument(fxomDocument);
+
+        // Stylesheets are missing : each Pane is reported
+        assertThat(errorReport.getEntries()).hasSize(4);
+    }
+
+    @Test
+    public void testAssetFileChange() throws IOException {
+        createFile("p1.css"); //NOI18N
+        errorReport.assetFileDidChange(folder.resolve("p1.css")); //NOI18N
+
+        assertThat(errorReport.query(p1, false)).isNull();
+        assertThat(errorReport.query(p2, false)).hasSize(1);
+        assertThat(errorReport.getEntries()).hasSize(3);
+    }
+
+    @Test
+    public void testSubtreeRefresh() throws IOException {
+        createFile("p2b.css"); //NOI18N
+        // Not notified : entries of p1 are kept as long as p1 is not refreshed
+        createFile("p1.css"); //NOI18N
+
+        fxomDocument.beginUpdate();
+        getStylesheets(p2).setValue("@p2b.css"); //NOI18N
+        fxomDocument.endUpdate();
+        assertThat(fxomDocument.getLastRefreshedObjects()).containsExactly(p2);
+
+        assertThat(errorReport.query(p2, false)).isNull();
+        assertThat(errorReport.query(c, false)).hasSize(1);
+        assertThat(errorReport.query(p1, false)).hasSize(1);
+        assertThat(errorReport.query(fxomDocument.getFxomRoot(), false)).hasSize(1);
+    }
+
+    @Test
+    public void testDetach() throws IOException {
+        // Not notified : entries of p1 are kept as long as p1 is not refreshed
+        createFile("p1.css"); //NOI18N
+
+        fxomDocument.beginUpdate();
+        c.removeFromParentProperty();
+        fxomDocument.endUpdate();
+        assertThat(fxomDocument.getLastRefreshedObjects()).containsExactly(p2);
+
+        assertThat(errorReport.getEntries()).hasSize(3);
+        assertThat(errorReport.getEntries()).doesNotContainKey(getStylesheets(c));
+        assertThat(errorReport.query(p1, false)).hasSize(1);
+        assertThat(errorReport.query(p2, false)).hasSize(1);
+    }
+
+    @Test
+    public void testRootRefreshForgetsEverything() throws IOException {
+        // Not notified : only a full verification can see these files
+        createFile("root.css"); //NOI18N
+        createFile("p1.css"); //NOI18N
+
+        fxomDocument.refreshSceneGraph();
+
+        assertThat(errorReport.query(fxomDocument.getFxomRoot(), false)).isNull();
+        assertThat(errorReport.query(p1, false)).isNull();
+        assertThat(errorReport.query(p2, false)).hasSize(1);
+        assertThat(errorReport.query(p2, true)).hasSize(2);
+    }
+
+    /*
+     * Private
+     */
+
+    private void createFile(String name) throws IOException {
+        Files.write(folder.resolve(name), new byte[0]);
+    }
+
+    private static FXOMPropertyT getStylesheets(FXOMObject fxomObject) {
+        return (FXOMPropertyT) ((FXOMInstance) fxomObject).getProperties().get(new PropertyName("stylesheets")); //NOI18N
+    }
+}
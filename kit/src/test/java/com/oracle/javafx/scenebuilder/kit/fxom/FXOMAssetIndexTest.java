@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom;
+
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.collections.SetChangeListener;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link FXOMAssetIndex}
+ */
+public class FXOMAssetIndexTest {
+
+    private static final String FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+            + "<Pane stylesheets=\"@a.css\" xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\">\n" //NOI18N
+            + "  <children>\n" //NOI18N
+            + "    <Pane fx:id=\"p1\" stylesheets=\"@b.css\"/>\n" //NOI18N
+            + "    <Pane fx:id=\"p2\" stylesheets=\"@a.css\"/>\n" //NOI18N
+            + "    <fx:include fx:id=\"inc\" source=\"Included.fxml\"/>\n" //NOI18N
+            + "  </children>\n" //NOI18N
+            + "</Pane>\n"; //NOI18N
+
+    private static final String INCLUDED_FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+            + "<Pane xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\"/>\n"; //NOI18N
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path folder;
+    private FXOMDocument fxomDocument;
+    private FXOMAssetIndex assetIndex;
+    private FXOMInstance p1, p2;
+    private FXOMIntrinsic inc;
+    private final List<Path> addedPaths = new ArrayList<>();
+    private final List<Path> removedPaths = new ArrayList<>();
+
+    @Before
+    public void prepareTestData() throws IOException {
+        folder = temporaryFolder.newFolder("doc").toPath(); //NOI18N
+        fxomDocument = loadDocument(folder);
+        assetIndex = fxomDocument.getAssetIndex();
+        p1 = (FXOMInstance) fxomDocument.searchWithFxId("p1"); //NOI18N
+        p2 = (FXOMInstance) fxomDocument.searchWithFxId("p2"); //NOI18N
+        inc = (FXOMIntrinsic) fxomDocument.searchWithFxId("inc"); //NOI18N
+        assetIndex.getAssetPaths().addListener((SetChangeListener<Path>) change -> {
+            if (change.wasAdded()) {
+                addedPaths.add(change.getElementAdded());
+            }
+            if (change.wasRemoved()) {
+                removedPaths.add(change.getElementRemoved());
+            }
+        });
+    }
+
+    @Test
+    public void testInitialAssets() {
+        assertThat(assetIndex.getAssetPaths()).containsOnly(
+                path("a.css"), path("b.css"), path("Included.fxml")); //NOI18N
+        assertThat(assetIndex.lookupNodes(path("a.css"))).containsOnly( //NOI18N
+                getStylesheets(fxomDocument.getFxomRoot()), getStylesheets(p2));
+        assertThat(assetIndex.lookupAssets(getStylesheets(p1))).containsOnly(path("b.css")); //NOI18N
+    }
+
+    @Test
+    public void testValueChange() {
+        getStylesheets(p1).setValue("@c.css"); //NOI18N
+
+        assertThat(assetIndex.lookupAssets(getStylesheets(p1))).containsOnly(path("c.css")); //NOI18N
+        assertThat(assetIndex.lookupNodes(path("b.css"))).isEmpty(); //NOI18N
+        assertThat(addedPaths).containsExactly(path("c.css")); //NOI18N
+        assertThat(removedPaths).containsExactly(path("b.css")); //NOI18N
+
+        // a.css remains referenced by the root
+        getStylesheets(p2).setValue("@c.css"); //NOI18N
+        assertThat(assetIndex.getAssetPaths()).contains(path("a.css")); //NOI18N
+        assertThat(removedPaths).containsExactly(path("b.css")); //NOI18N
+    }
+
+    @Test
+    public void testAddAndRemoveProperty() {
+        final FXOMPropertyT stylesheets = getStylesheets(p1);
+        stylesheets.removeFromParentInstance();
+        assertThat(assetIndex.lookupAssets(stylesheets)).isEmpty();
+        assertThat(removedPaths).containsExactly(path("b.css")); //NOI18N
+
+        final FXOMPropertyT newStylesheets = new FXOMPropertyT(fxomDocument, 
+                new PropertyName("stylesheets"), "@d.css"); //NOI18N
+        newStylesheets.addToParentInstance(-1, p1);
+        assertThat(assetIndex.lookupNodes(path("d.css"))).containsExactly(newStylesheets); //NOI18N
+        assertThat(addedPaths).containsExactly(path("d.css")); //NOI18N
+    }
+
+    @Test
+    public void testAddAndRemoveObject() {
+        final FXOMPropertyC children = p1.getParentProperty();
+        p1.removeFromParentProperty();
+        assertThat(assetIndex.getAssetPaths()).doesNotContain(path("b.css")); //NOI18N
+        assertThat(removedPaths).containsExactly(path("b.css")); //NOI18N
+
+        // Detached objects are not indexed
+        getStylesheets(p1).setValue("@c.css"); //NOI18N
+        assertThat(assetIndex.getAssetPaths()).doesNotContain(path("c.css")); //NOI18N
+
+        p1.addToParentProperty(0, children);
+        assertThat(assetIndex.lookupNodes(path("c.css"))).containsExactly(getStylesheets(p1)); //NOI18N
+        assertThat(addedPaths).containsExactly(path("c.css")); //NOI18N
+    }
+
+    @Test
+    public void testInclude() {
+        assertThat(assetIndex.lookupAssets(inc)).containsOnly(path("Included.fxml")); //NOI18N
+
+        inc.setSource("Other.fxml"); //NOI18N
+        assertThat(assetIndex.lookupAssets(inc)).containsOnly(path("Other.fxml")); //NOI18N
+        assertThat(addedPaths).containsExactly(path("Other.fxml")); //NOI18N
+        assertThat(removedPaths).containsExactly(path("Included.fxml")); //NOI18N
+    }
+
+    @Test
+    public void testSetLocation() throws IOException {
+        final Path otherFolder = temporaryFolder.newFolder("other").toPath(); //NOI18N
+        Files.write(otherFolder.resolve("Included.fxml"), INCLUDED_FXML_TEXT.getBytes("UTF-8")); //NOI18N
+
+        fxomDocument.setLocation(otherFolder.resolve("Test.fxml").toUri().toURL()); //NOI18N
+
+        // Stylesheet paths are rewritten to keep referencing the same files
+        // while fx:include source follows the document
+        assertThat(assetIndex.getAssetPaths()).containsOnly(path("a.css"), path("b.css"), //NOI18N
+                otherFolder.resolve("Included.fxml")); //NOI18N
+        assertThat(assetIndex.lookupAssets(inc)).containsOnly(otherFolder.resolve("Included.fxml")); //NOI18N
+        assertThat(removedPaths).contains(path("Included.fxml")); //NOI18N
+        assertThat(addedPaths).contains(otherFolder.resolve("Included.fxml")); //NOI18N
+    }
+
+    @Test
+    public void testSetClassLoader() throws IOException {
+        final Path resourceFolder = temporaryFolder.newFolder("resources").toPath(); //NOI18N
+        final Path resourcePath = resourceFolder.resolve("r.css"); //NOI18N
+        Files.write(resourcePath, new byte[0]);
+        getStylesheets(p1).setValue("@/r.css"); //NOI18N
+        assertThat(assetIndex.getAssetPaths()).doesNotContain(resourcePath);
+
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] { resourceFolder.toUri().toURL() }, getClass().getClassLoader())) {
+            fxomDocument.setClassLoader(classLoader);
+            assertThat(assetIndex.lookupNodes(resourcePath)).containsExactly(getStylesheets(p1));
+            assertThat(addedPaths).contains(resourcePath);
+        }
+    }
+
+    /*
+     * Private
+     */
+
+    private FXOMDocument loadDocument(Path documentFolder) throws IOException {
+        Files.write(documentFolder.resolve("Included.fxml"), INCLUDED_FXML_TEXT.getBytes("UTF-8")); //NOI18N
+        final URL location = documentFolder.resolve("Test.fxml").toUri().toURL(); //NOI18N
+        return new FXOMDocument(FXML_TEXT, location, null, null);
+    }
+
+    private Path path(String name) {
+        return folder.resolve(name);
+    }
+
+    private static FXOMPropertyT getStylesheets(FXOMObject fxomObject) {
+        return (FXOMPropertyT) ((FXOMInstance) fxomObject).getProperties().get(new PropertyName("stylesheets")); //NOI18N
+    }
+}
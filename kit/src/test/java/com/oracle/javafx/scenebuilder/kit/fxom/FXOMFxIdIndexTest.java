@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom;
+
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link FXOMFxIdIndex}
+ */
+public class FXOMFxIdIndexTest {
+
+    private FXOMDocument fxomDocument;
+    private FXOMInstance root;
+    private FXOMPropertyC children;
+
+    @Before
+    public void prepareTestData() {
+        fxomDocument = new FXOMDocument();
+        root = new FXOMInstance(fxomDocument, Object.class);
+        root.setFxId("root");
+        children = new FXOMPropertyC(fxomDocument, new PropertyName("children"));
+        fxomDocument.updateRoots(root, null);
+    }
+
+    @Test
+    public void testRootFxId() {
+        assertThat(fxomDocument.getFxIdIndex().lookup("root")).isSameAs(root);
+        assertThat(fxomDocument.searchWithFxId("root")).isSameAs(root);
+    }
+
+    @Test
+    public void testAttachAndDetach() {
+        final FXOMInstance button = addChild("button");
+        assertThat(fxomDocument.searchWithFxId("button")).isNull();
+
+        children.addToParentInstance(-1, root);
+        assertThat(fxomDocument.searchWithFxId("button")).isSameAs(button);
+
+        children.removeFromParentInstance();
+        assertThat(fxomDocument.searchWithFxId("button")).isNull();
+        assertThat(fxomDocument.getFxIdIndex().contains("button")).isFalse();
+    }
+
+    @Test
+    public void testSetFxId() {
+        final FXOMInstance button = addChild("button");
+        children.addToParentInstance(-1, root);
+
+        button.setFxId("okButton");
+        assertThat(fxomDocument.searchWithFxId("button")).isNull();
+        assertThat(fxomDocument.searchWithFxId("okButton")).isSameAs(button);
+
+        button.setFxId(null);
+        assertThat(fxomDocument.collectFxIds()).containsOnlyKeys("root");
+    }
+
+    @Test
+    public void testNextIndex() {
+        addChild("button");
+        addChild("button3");
+        final FXOMInstance button7 = addChild("button7");
+        children.addToParentInstance(-1, root);
+
+        final FXOMFxIdIndex fxIdIndex = fxomDocument.getFxIdIndex();
+        assertThat(fxIdIndex.getNextIndex("button")).isEqualTo(8);
+        assertThat(fxIdIndex.getNextIndex("label")).isEqualTo(-1);
+
+        button7.removeFromParentProperty();
+        assertThat(fxIdIndex.getNextIndex("button")).isEqualTo(4);
+        assertThat(new FxIdCollector(fxomDocument).importFxId("button3")).isEqualTo("button4");
+    }
+
+    @Test
+    public void testLongNumericSuffix() {
+        final FXOMInstance pane = addChild("pane20211018123456");
+        addChild("pane2147483647");
+        children.addToParentInstance(-1, root);
+
+        final FXOMFxIdIndex fxIdIndex = fxomDocument.getFxIdIndex();
+        assertThat(fxIdIndex.lookup("pane20211018123456")).isSameAs(pane);
+        assertThat(fxIdIndex.getNextIndex("pane")).isEqualTo(-1);
+        assertThat(new FxIdCollector(fxomDocument).importFxId("pane20211018123456"))
+                .isEqualTo("pane202110181234560");
+    }
+
+    @Test
+    public void testLoadLongNumericSuffix() throws IOException {
+        final String fxmlText = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+                + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+                + "<Pane fx:id=\"pane20211018123456\" xmlns:fx=\"http://javafx.com/fxml/1\"/>\n"; //NOI18N
+        final FXOMDocument document = new FXOMDocument(fxmlText, null, null, null);
+        assertThat(document.getFxIdIndex().lookup("pane20211018123456"))
+                .isSameAs(document.getFxomRoot());
+    }
+
+    private FXOMInstance addChild(String fxId) {
+        final FXOMInstance result = new FXOMInstance(fxomDocument, Object.class);
+        result.setFxId(fxId);
+        result.addToParentProperty(-1, children);
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom;
+
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link FXOMReferenceGraph}
+ */
+public class FXOMReferenceGraphTest {
+
+    private FXOMDocument fxomDocument;
+    private FXOMReferenceGraph referenceGraph;
+    private FXOMPropertyC children;
+    private FXOMInstance label;
+    private FXOMPropertyT labelFor;
+    private FXOMInstance field;
+
+    @Before
+    public void prepareTestData() {
+        fxomDocument = new FXOMDocument();
+        final FXOMInstance root = new FXOMInstance(fxomDocument, Object.class);
+        children = new FXOMPropertyC(fxomDocument, new PropertyName("children"));
+        label = new FXOMInstance(fxomDocument, Object.class);
+        labelFor = new FXOMPropertyT(fxomDocument, new PropertyName("labelFor"), "$field");
+        labelFor.addToParentInstance(-1, label);
+        label.addToParentProperty(-1, children);
+        field = new FXOMInstance(fxomDocument, Object.class);
+        field.setFxId("field");
+        field.addToParentProperty(-1, children);
+        children.addToParentInstance(-1, root);
+        fxomDocument.updateRoots(root, null);
+        referenceGraph = fxomDocument.getReferenceGraph();
+    }
+
+    @Test
+    public void testReferencesAfterReset() {
+        assertThat(referenceGraph.lookupReferences("field")).containsExactly(labelFor);
+        assertThat(referenceGraph.getChangedFxIds()).containsExactly("field");
+        assertThat(referenceGraph.isForwardReference(labelFor)).isTrue();
+    }
+
+    @Test
+    public void testMoveDeclarer() {
+        referenceGraph.clearChangedFxIds();
+        field.addToParentProperty(0, children);
+        assertThat(referenceGraph.getChangedFxIds()).containsExactly("field");
+        assertThat(referenceGraph.isForwardReference(labelFor)).isFalse();
+    }
+
+    @Test
+    public void testPropertyEdit() {
+        referenceGraph.clearChangedFxIds();
+        labelFor.setValue("$other");
+        assertThat(referenceGraph.getChangedFxIds()).containsExactlyInAnyOrder("field", "other");
+        assertThat(referenceGraph.lookupReferences("field")).isEmpty();
+        assertThat(referenceGraph.lookupReferences("other")).containsExactly(labelFor);
+
+        referenceGraph.clearChangedFxIds();
+        labelFor.removeFromParentInstance();
+        assertThat(referenceGraph.containsReference(labelFor)).isFalse();
+        assertThat(referenceGraph.getChangedFxIds()).containsExactly("other");
+    }
+
+    @Test
+    public void testUnrelatedEdit() {
+        referenceGraph.clearChangedFxIds();
+        final FXOMPropertyT text = new FXOMPropertyT(fxomDocument, new PropertyName("text"), "Name");
+        text.addToParentInstance(-1, label);
+        text.setValue("First name");
+        assertThat(referenceGraph.getChangedFxIds()).isEmpty();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom;
+
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.io.IOException;
+import java.util.function.Consumer;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.Pane;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for the incremental refresh of {@link FXOMDocument}.
+ * 
+ * Each change is also applied to a document whose incremental refresh is
+ * disabled : both must end with the same scene graph.
+ */
+public class FXOMRefresherTest {
+
+    private static final String FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+            + "<Pane xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\">\n" //NOI18N
+            + "  <children>\n" //NOI18N
+            + "    <Pane fx:id=\"p1\" id=\"first\" prefWidth=\"10.0\"/>\n" //NOI18N
+            + "    <Pane fx:id=\"p2\">\n" //NOI18N
+            + "      <children>\n" //NOI18N
+            + "        <Pane fx:id=\"c\" prefWidth=\"30.0\"/>\n" //NOI18N
+            + "        <Pane/>\n" //NOI18N
+            + "      </children>\n" //NOI18N
+            + "    </Pane>\n" //NOI18N
+            + "  </children>\n" //NOI18N
+            + "</Pane>\n"; //NOI18N
+
+    private FXOMDocument fxomDocument;
+    private FXOMDocument fullRefreshDocument;
+
+    @Before
+    public void prepareTestData() throws IOException {
+        fxomDocument = new FXOMDocument(FXML_TEXT, null, null, null);
+        // Changes are tracked from the first refresh
+        fxomDocument.refreshSceneGraph();
+        assertThat(fxomDocument.isIncrementalRefreshEnabled()).isTrue();
+
+        fullRefreshDocument = new FXOMDocument(FXML_TEXT, null, null, null);
+        fullRefreshDocument.setIncrementalRefreshEnabled(false);
+    }
+
+    @Test
+    public void testPropertyPatch() {
+        final Object p1Node = fxomDocument.searchWithFxId("p1").getSceneGraphObject(); //NOI18N
+        final FXOMPropertyT prefWidth = getPrefWidth(fxomDocument, "p1"); //NOI18N
+
+        update(d -> getPrefWidth(d, "p1").setValue("20.0")); //NOI18N
+
+        assertThat(fxomDocument.getLastRefreshedObjects()).isEmpty();
+        assertThat(fxomDocument.getLastChangedProperties()).containsExactly(prefWidth);
+        assertThat(fxomDocument.searchWithFxId("p1").getSceneGraphObject()).isSameAs(p1Node); //NOI18N
+        assertThat(((Pane) p1Node).getPrefWidth()).isEqualTo(20.0);
+    }
+
+    @Test
+    public void testSubtreeRebuild() {
+        final FXOMObject p1 = fxomDocument.searchWithFxId("p1"); //NOI18N
+        final FXOMObject p2 = fxomDocument.searchWithFxId("p2"); //NOI18N
+        final Object p1Node = p1.getSceneGraphObject();
+        final Object p2Node = p2.getSceneGraphObject();
+
+        update(d -> d.searchWithFxId("c").removeFromParentProperty()); //NOI18N
+
+        assertThat(fxomDocument.getLastRefreshedObjects()).containsExactly(p2);
+        assertThat(fxomDocument.getLastChangedProperties()).isEmpty();
+        assertThat(p1.getSceneGraphObject()).isSameAs(p1Node);
+        assertThat(p2.getSceneGraphObject()).isNotSameAs(p2Node);
+        final Parent rootNode = (Parent) fxomDocument.getSceneGraphRoot();
+        assertThat(rootNode.getChildrenUnmodifiable()).containsExactly(
+                (Node) p1.getSceneGraphObject(), (Node) p2.getSceneGraphObject());
+        assertThat(fxomDocument.searchWithSceneGraphObject(p2.getSceneGraphObject())).isSameAs(p2);
+    }
+
+    @Test
+    public void testPatchInRebuiltSubtree() {
+        final FXOMObject p2 = fxomDocument.searchWithFxId("p2"); //NOI18N
+
+        update(d -> {
+            getPrefWidth(d, "c").setValue("40.0"); //NOI18N
+            d.searchWithFxId("p2").getChildObjects().get(1).removeFromParentProperty(); //NOI18N
+        });
+
+        // Value is applied by the reconstruction of p2
+        assertThat(fxomDocument.getLastRefreshedObjects()).containsExactly(p2);
+        final Object cNode = fxomDocument.searchWithFxId("c").getSceneGraphObject(); //NOI18N
+        assertThat(((Pane) cNode).getPrefWidth()).isEqualTo(40.0);
+    }
+
+    @Test
+    public void testRootChangeFallsBackOnFullRefresh() {
+        final Object rootNode = fxomDocument.getSceneGraphRoot();
+
+        update(d -> d.searchWithFxId("p1").removeFromParentProperty()); //NOI18N
+
+        assertThat(fxomDocument.getLastRefreshedObjects()).containsExactly(fxomDocument.getFxomRoot());
+        assertThat(fxomDocument.getSceneGraphRoot()).isNotSameAs(rootNode);
+    }
+
+    @Test
+    public void testUnpatchableValueRebuildsSubtree() {
+        final FXOMObject p1 = fxomDocument.searchWithFxId("p1"); //NOI18N
+        final Object p1Node = p1.getSceneGraphObject();
+
+        // Escaped text : FXMLLoader must convert it
+        update(d -> getProperty(d, "p1", "id").setValue("\\$first")); //NOI18N
+
+        assertThat(fxomDocument.getLastRefreshedObjects()).containsExactly(p1);
+        assertThat(p1.getSceneGraphObject()).isNotSameAs(p1Node);
+        assertThat(((Node) p1.getSceneGraphObject()).getId()).isEqualTo("$first"); //NOI18N
+    }
+
+    /*
+     * Private
+     */
+
+    private void update(Consumer<FXOMDocument> change) {
+        for (FXOMDocument d : new FXOMDocument[] { fxomDocument, fullRefreshDocument }) {
+            d.beginUpdate();
+            change.accept(d);
+            d.endUpdate();
+        }
+        assertThat(fullRefreshDocument.getLastRefreshedObjects())
+                .containsExactly(fullRefreshDocument.getFxomRoot());
+        assertThat(describe(fxomDocument.getSceneGraphRoot()))
+                .isEqualTo(describe(fullRefreshDocument.getSceneGraphRoot()));
+    }
+
+    private static FXOMPropertyT getPrefWidth(FXOMDocument document, String fxId) {
+        return getProperty(document, fxId, "prefWidth"); //NOI18N
+    }
+
+    private static FXOMPropertyT getProperty(FXOMDocument document, String fxId, String name) {
+        final FXOMInstance instance = (FXOMInstance) document.searchWithFxId(fxId);
+        return (FXOMPropertyT) instance.getProperties().get(new PropertyName(name));
+    }
+
+    private static String describe(Object sceneGraphObject) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(sceneGraphObject.getClass().getSimpleName());
+        if (sceneGraphObject instanceof Pane) {
+            final Pane pane = (Pane) sceneGraphObject;
+            sb.append(" id=").append(pane.getId()); //NOI18N
+            sb.append(" prefWidth=").append(pane.getPrefWidth()); //NOI18N
+            sb.append(" ["); //NOI18N
+            for (Node child : pane.getChildren()) {
+                sb.append(describe(child)).append(' ');
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom;
+
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link FXOMDocument#searchWithSceneGraphObject(Object)}
+ */
+public class SearchWithSceneGraphObjectTest {
+
+    private FXOMDocument fxomDocument;
+    private FXOMInstance root;
+    private FXOMInstance child;
+    private FXOMPropertyC children;
+
+    @Before
+    public void prepareTestData() {
+        fxomDocument = new FXOMDocument();
+        root = new FXOMInstance(fxomDocument, Object.class);
+        root.setSceneGraphObject(new Object());
+        child = new FXOMInstance(fxomDocument, Object.class);
+        child.setSceneGraphObject(new Object());
+        children = new FXOMPropertyC(fxomDocument, new PropertyName("children"));
+        fxomDocument.updateRoots(root, root.getSceneGraphObject());
+    }
+
+    @Test
+    public void testSearchRoot() {
+        assertThat(fxomDocument.searchWithSceneGraphObject(root.getSceneGraphObject())).isSameAs(root);
+    }
+
+    @Test
+    public void testSearchAddedObject() {
+        child.addToParentProperty(-1, children);
+        assertThat(fxomDocument.searchWithSceneGraphObject(child.getSceneGraphObject())).isNull();
+
+        children.addToParentInstance(-1, root);
+        assertThat(fxomDocument.searchWithSceneGraphObject(child.getSceneGraphObject())).isSameAs(child);
+    }
+
+    @Test
+    public void testSearchRemovedObject() {
+        child.addToParentProperty(-1, children);
+        children.addToParentInstance(-1, root);
+        final Object sceneGraphObject = child.getSceneGraphObject();
+
+        children.removeFromParentInstance();
+        assertThat(fxomDocument.searchWithSceneGraphObject(sceneGraphObject)).isNull();
+    }
+
+    @Test
+    public void testSearchAfterSceneGraphObjectChange() {
+        child.addToParentProperty(-1, children);
+        children.addToParentInstance(-1, root);
+        final Object oldSceneGraphObject = child.getSceneGraphObject();
+        final Object newSceneGraphObject = new Object();
+
+        child.setSceneGraphObject(newSceneGraphObject);
+        assertThat(fxomDocument.searchWithSceneGraphObject(oldSceneGraphObject)).isNull();
+        assertThat(fxomDocument.searchWithSceneGraphObject(newSceneGraphObject)).isSameAs(child);
+    }
+
+    @Test
+    public void testSearchSharedSceneGraphObject() {
+        final FXOMInstance other = new FXOMInstance(fxomDocument, Object.class);
+        other.setSceneGraphObject(child.getSceneGraphObject());
+        child.addToParentProperty(-1, children);
+        other.addToParentProperty(-1, children);
+        children.addToParentInstance(-1, root);
+
+        // First object in document order wins
+        assertThat(fxomDocument.searchWithSceneGraphObject(child.getSceneGraphObject())).isSameAs(child);
+        child.removeFromParentProperty();
+        assertThat(fxomDocument.searchWithSceneGraphObject(other.getSceneGraphObject())).isSameAs(other);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.fxom.glue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link GlueDocument} built from raw content.
+ */
+public class GlueDocumentTest {
+
+    private static final String FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "\n" //NOI18N
+            + "<?import javafx.scene.control.Label?>\n" //NOI18N
+            + "<?import javafx.scene.layout.VBox?>\n" //NOI18N
+            + "\n" //NOI18N
+            + "<VBox xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\">\n" //NOI18N
+            + "   <!-- café -->\n" //NOI18N
+            + "   <children>\n" //NOI18N
+            + "      <Label fx:id=\"label\" text=\"été → hiver\" />\n" //NOI18N
+            + "   </children>\n" //NOI18N
+            + "</VBox>\n"; //NOI18N
+
+    @Test
+    public void testBytesAndTextGiveSameGlue() throws IOException {
+        final byte[] fxmlBytes = FXML_TEXT.getBytes(Charset.forName("UTF-8")); //NOI18N
+        final GlueDocument fromText = new GlueDocument(FXML_TEXT);
+        final GlueDocument fromBytes = new GlueDocument(fxmlBytes);
+
+        assertThat(fromBytes.getRootElement()).isNotNull();
+        assertThat(fromBytes.toString()).isEqualTo(fromText.toString());
+        assertThat(fromBytes.toString()).contains("été → hiver"); //NOI18N
+    }
+
+    @Test
+    public void testWriteToChannel() throws IOException {
+        final GlueDocument glue = new GlueDocument(FXML_TEXT);
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(os)) {
+            glue.writeTo(channel);
+        }
+
+        assertThat(os.toByteArray())
+                .isEqualTo(glue.toString().getBytes(Charset.forName("UTF-8"))); //NOI18N
+    }
+
+    @Test
+    public void testWriteUnpairedSurrogateToChannel() throws IOException {
+        final GlueDocument glue = new GlueDocument(FXML_TEXT);
+        final GlueElement label = glue.getRootElement().getChildren().get(0).getChildren().get(0);
+        label.getAttributes().put("text", "broken \uD800 text"); //NOI18N
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(os)) {
+            glue.writeTo(channel);
+        }
+
+        assertThat(os.toByteArray())
+                .isEqualTo(glue.toString().getBytes(Charset.forName("UTF-8"))); //NOI18N
+    }
+
+    @Test
+    public void testEmptyContent() throws IOException {
+        final byte[] blank = " \n\t\r\n".getBytes(Charset.forName("UTF-8")); //NOI18N
+        assertThat(GlueDocument.isEmptyXmlContent(blank)).isTrue();
+        assertThat(GlueDocument.isEmptyXmlContent(new byte[0])).isTrue();
+        assertThat(new GlueDocument(blank).getRootElement()).isNull();
+
+        final byte[] nonAscii = "\u00A0".getBytes(Charset.forName("UTF-8")); //NOI18N
+        assertThat(GlueDocument.isEmptyXmlContent(nonAscii))
+                .isEqualTo(GlueDocument.isEmptyXmlText("\u00A0")); //NOI18N
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.library.user;
+
+import com.oracle.javafx.scenebuilder.kit.library.util.JarReport;
+import com.oracle.javafx.scenebuilder.kit.library.util.JarReportEntry;
+import com.oracle.javafx.scenebuilder.kit.library.util.LibraryExplorer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import javafx.beans.property.Property;
+import javafx.scene.layout.Pane;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link LibraryFolderWatcher#selectPathsToExplore}
+ * 
+ * widget.jar contains a component whose superclass is in base.jar.
+ */
+public class LibraryFolderWatcherTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path baseJar;
+    private Path widgetJar;
+    private final Map<Path, JarReport> reports = new HashMap<>();
+
+    @Before
+    public void prepareTestData() throws IOException, URISyntaxException {
+        final Path sources = temporaryFolder.newFolder("src").toPath(); //NOI18N
+        final Path classes = temporaryFolder.newFolder("classes").toPath(); //NOI18N
+        final Path baseSource = writeSource(sources, "lib", "Base", //NOI18N
+                "public class Base extends javafx.scene.layout.Pane {}"); //NOI18N
+        final Path widgetSource = writeSource(sources, "widget", "Widget", //NOI18N
+                "public class Widget extends lib.Base {}"); //NOI18N
+
+        final String classPath = Paths.get(locationOf(Pane.class)) + File.pathSeparator
+                + Paths.get(locationOf(Property.class));
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final int status = compiler.run(null, null, null, 
+                "-d", classes.toString(), "-cp", classPath, //NOI18N
+                baseSource.toString(), widgetSource.toString());
+        assertThat(status).isEqualTo(0);
+
+        final Path libraryFolder = temporaryFolder.newFolder("library").toPath(); //NOI18N
+        baseJar = makeJar(libraryFolder.resolve("base.jar"), classes, "lib/Base.class"); //NOI18N
+        widgetJar = makeJar(libraryFolder.resolve("widget.jar"), classes, "widget/Widget.class"); //NOI18N
+    }
+
+    @Test
+    public void unchangedJarsAreNotExplored() throws IOException {
+        explore(Arrays.asList(baseJar, widgetJar));
+
+        assertThat(explore(Arrays.asList(baseJar, widgetJar))).isEmpty();
+        assertThat(getWidgetStatus()).isEqualTo(JarReportEntry.Status.OK);
+    }
+
+    @Test
+    public void addingDependencyReExploresJarsWhichCannotLoad() throws IOException {
+        explore(Arrays.asList(widgetJar));
+        assertThat(getWidgetStatus()).isEqualTo(JarReportEntry.Status.CANNOT_LOAD);
+
+        assertThat(explore(Arrays.asList(baseJar, widgetJar))).containsExactly(baseJar, widgetJar);
+        assertThat(getWidgetStatus()).isEqualTo(JarReportEntry.Status.OK);
+    }
+
+    @Test
+    public void removingDependencyReExploresAllJars() throws IOException {
+        explore(Arrays.asList(baseJar, widgetJar));
+        assertThat(getWidgetStatus()).isEqualTo(JarReportEntry.Status.OK);
+
+        assertThat(explore(Arrays.asList(widgetJar))).containsExactly(widgetJar);
+        assertThat(getWidgetStatus()).isEqualTo(JarReportEntry.Status.CANNOT_LOAD);
+    }
+
+    /*
+     * Mimics LibraryFolderWatcher.exploreAndUpdateLibrary() and returns 
+     * the explored paths.
+     */
+    private List<Path> explore(List<Path> jars) throws IOException {
+        final List<Path> result = LibraryFolderWatcher.selectPathsToExplore(
+                jars, reports, Collections.emptySet());
+        reports.keySet().retainAll(jars);
+        if (result.isEmpty() == false) {
+            final URL[] urls = new URL[jars.size()];
+            for (int i = 0; i < urls.length; i++) {
+                urls[i] = jars.get(i).toUri().toURL();
+            }
+            final ClassLoader classLoader = new URLClassLoader(urls);
+            for (JarReport r : new LibraryExplorer(result).explore(classLoader)) {
+                reports.put(r.getJar(), r);
+            }
+        }
+        return result;
+    }
+
+    private JarReportEntry.Status getWidgetStatus() {
+        final Collection<JarReportEntry> entries = new ArrayList<>();
+        for (JarReportEntry e : reports.get(widgetJar).getEntries()) {
+            if ("widget.Widget".equals(e.getClassName())) { //NOI18N
+                entries.add(e);
+            }
+        }
+        assertThat(entries).hasSize(1);
+        return entries.iterator().next().getStatus();
+    }
+
+    private static Path writeSource(Path sources, String packageName, String className, 
+            String declaration) throws IOException {
+        final Path packageFolder = Files.createDirectories(sources.resolve(packageName));
+        final Path result = packageFolder.resolve(className + ".java"); //NOI18N
+        Files.write(result, Arrays.asList("package " + packageName + ";", declaration)); //NOI18N
+        return result;
+    }
+
+    private static Path makeJar(Path jar, Path classes, String entryName) throws IOException {
+        try (OutputStream os = Files.newOutputStream(jar);
+                JarOutputStream jos = new JarOutputStream(os)) {
+            jos.putNextEntry(new JarEntry(entryName));
+            jos.write(Files.readAllBytes(classes.resolve(entryName)));
+            jos.closeEntry();
+        }
+        return jar;
+    }
+
+    private static URI locationOf(Class<?> klass) throws URISyntaxException {
+        return klass.getProtectionDomain().getCodeSource().getLocation().toURI();
+    }
+}
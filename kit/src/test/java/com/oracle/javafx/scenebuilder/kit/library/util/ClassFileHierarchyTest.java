@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.library.util;
+
+import com.oracle.javafx.scenebuilder.kit.library.util.ClassFileHierarchy.ClassFileInfo;
+import com.oracle.javafx.scenebuilder.kit.library.util.ClassFileHierarchy.Verdict;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link ClassFileHierarchy}
+ */
+public class ClassFileHierarchyTest {
+
+    private final ClassFileHierarchy hierarchy
+            = new ClassFileHierarchy(ClassFileHierarchyTest.class.getClassLoader());
+
+    @Test
+    public void readClassFile() throws IOException {
+        final String resourceName = "javafx/scene/control/Button.class";
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(resourceName)) {
+            final ClassFileInfo info = ClassFileHierarchy.readClassFile(is);
+            assertThat(info.getName()).isEqualTo("javafx/scene/control/Button");
+            assertThat(info.getSuperName()).isEqualTo("javafx/scene/control/ButtonBase");
+            assertThat(info.isAbstract()).isFalse();
+        }
+    }
+
+    @Test
+    public void concreteNodesAreNodes() {
+        assertThat(hierarchy.classify("javafx.scene.control.Button")).isEqualTo(Verdict.NODE);
+        assertThat(hierarchy.classify("javafx.scene.layout.Region")).isEqualTo(Verdict.NODE);
+    }
+
+    @Test
+    public void abstractClassesAndInterfacesAreNotNodes() {
+        assertThat(hierarchy.classify("javafx.scene.Node")).isEqualTo(Verdict.NOT_NODE);
+        assertThat(hierarchy.classify("javafx.scene.control.Control")).isEqualTo(Verdict.NOT_NODE);
+        assertThat(hierarchy.classify("javafx.event.EventTarget")).isEqualTo(Verdict.NOT_NODE);
+    }
+
+    @Test
+    public void otherClassesAreNotNodes() {
+        assertThat(hierarchy.classify("javafx.scene.Scene")).isEqualTo(Verdict.NOT_NODE);
+        assertThat(hierarchy.classify(ClassFileHierarchyTest.class.getName())).isEqualTo(Verdict.NOT_NODE);
+    }
+
+    @Test
+    public void missingClassesAreUnknown() {
+        assertThat(hierarchy.classify("com.acme.DoesNotExist")).isEqualTo(Verdict.UNKNOWN);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.library.util;
+
+import com.oracle.javafx.scenebuilder.kit.library.util.JarReportEntry.Status;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link JarReportCache}
+ */
+public class JarReportCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path cacheFile;
+    private Path widgetJar;
+    private Path baseJar;
+    private List<Path> classPath;
+
+    @Before
+    public void prepareTestData() throws IOException {
+        final Path folder = temporaryFolder.getRoot().toPath();
+        cacheFile = folder.resolve("jar-reports.cache"); //NOI18N
+        widgetJar = Files.write(folder.resolve("widget.jar"), new byte[] {1, 2, 3}); //NOI18N
+        baseJar = Files.write(folder.resolve("base.jar"), new byte[] {4, 5, 6}); //NOI18N
+        classPath = Arrays.asList(baseJar, widgetJar);
+    }
+
+    @Test
+    public void reportSurvivesSaveAndLoad() throws IOException {
+        final JarReportCache cache = new JarReportCache(cacheFile);
+        cache.update(makeReport(Status.OK), classPath);
+        cache.save();
+
+        final JarReportCache reloaded = new JarReportCache(cacheFile);
+        reloaded.load();
+        final JarReport report = reloaded.lookup(widgetJar, classPath);
+        assertThat(report).isNotNull();
+        assertThat(report.getJar()).isEqualTo(widgetJar);
+        assertThat(report.getEntries()).hasSize(2);
+        final JarReportEntry widget = report.getEntries().get(0);
+        assertThat(widget.getStatus()).isEqualTo(Status.OK);
+        assertThat(widget.getClassName()).isEqualTo("widget.Widget"); //NOI18N
+        assertThat(widget.isNode()).isTrue();
+        assertThat(widget.getKlass()).isNull();
+        final JarReportEntry other = report.getEntries().get(1);
+        assertThat(other.getStatus()).isEqualTo(Status.CANNOT_INSTANTIATE);
+        assertThat(other.getExceptionSummary()).isEqualTo("java.lang.RuntimeException"); //NOI18N
+    }
+
+    @Test
+    public void sizeChangeInvalidatesReport() throws IOException {
+        final JarReportCache cache = new JarReportCache(cacheFile);
+        cache.update(makeReport(Status.OK), classPath);
+
+        Files.write(widgetJar, new byte[] {1, 2, 3, 4});
+        assertThat(cache.lookup(widgetJar, classPath)).isNull();
+    }
+
+    @Test
+    public void touchedJarWithSameContentIsReused() throws IOException {
+        final JarReportCache cache = new JarReportCache(cacheFile);
+        cache.update(makeReport(Status.OK), classPath);
+
+        touch(widgetJar);
+        assertThat(cache.lookup(widgetJar, classPath)).isNotNull();
+    }
+
+    @Test
+    public void contentChangeInvalidatesReport() throws IOException {
+        final JarReportCache cache = new JarReportCache(cacheFile);
+        cache.update(makeReport(Status.OK), classPath);
+
+        Files.write(widgetJar, new byte[] {3, 2, 1});
+        touch(widgetJar);
+        assertThat(cache.lookup(widgetJar, classPath)).isNull();
+    }
+
+    @Test
+    public void classPathChangeInvalidatesReport() throws IOException {
+        final JarReportCache cache = new JarReportCache(cacheFile);
+        cache.update(makeReport(Status.OK), classPath);
+
+        assertThat(cache.lookup(widgetJar, Arrays.asList(widgetJar))).isNull();
+        Files.write(baseJar, new byte[] {4, 5, 6, 7});
+        assertThat(cache.lookup(widgetJar, classPath)).isNull();
+    }
+
+    @Test
+    public void reportWithCannotLoadEntriesIsNotCached() throws IOException {
+        final JarReportCache cache = new JarReportCache(cacheFile);
+        cache.update(makeReport(Status.CANNOT_LOAD), classPath);
+
+        assertThat(cache.lookup(widgetJar, classPath)).isNull();
+    }
+
+    @Test
+    public void corruptedCacheFileIsIgnored() throws IOException {
+        final JarReportCache cache = new JarReportCache(cacheFile);
+        cache.update(makeReport(Status.OK), classPath);
+        cache.save();
+        final byte[] bytes = Files.readAllBytes(cacheFile);
+
+        // Truncated file
+        Files.write(cacheFile, Arrays.copyOf(bytes, bytes.length / 2));
+        final JarReportCache truncated = new JarReportCache(cacheFile);
+        truncated.load();
+        assertThat(truncated.lookup(widgetJar, classPath)).isNull();
+
+        // Garbage
+        Files.write(cacheFile, new byte[] {0x53, 0x42, 0x4a, 0x52, 0, 0, 0, 2, -1, -1, -1, -1});
+        final JarReportCache corrupted = new JarReportCache(cacheFile);
+        corrupted.load();
+        assertThat(corrupted.lookup(widgetJar, classPath)).isNull();
+
+        // Corrupted cache is rewritten
+        corrupted.update(makeReport(Status.OK), classPath);
+        corrupted.save();
+        final JarReportCache rebuilt = new JarReportCache(cacheFile);
+        rebuilt.load();
+        assertThat(rebuilt.lookup(widgetJar, classPath)).isNotNull();
+    }
+
+    private JarReport makeReport(Status status) {
+        final JarReport result = new JarReport(widgetJar);
+        result.getEntries().add(new JarReportEntry("widget/Widget.class", status, //NOI18N
+                "widget.Widget", true, (status == Status.OK) ? null : "java.lang.NoClassDefFoundError")); //NOI18N
+        result.getEntries().add(new JarReportEntry("widget/Other.class", //NOI18N
+                Status.CANNOT_INSTANTIATE, "widget.Other", true, "java.lang.RuntimeException")); //NOI18N
+        return result;
+    }
+
+    private static void touch(Path path) throws IOException {
+        final FileTime lastModified = Files.getLastModifiedTime(path);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + 10000));
+    }
+}
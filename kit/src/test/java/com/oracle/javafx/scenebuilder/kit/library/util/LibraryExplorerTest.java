@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.library.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link LibraryExplorer}
+ */
+public class LibraryExplorerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<Path> folders = new ArrayList<>();
+
+    @Before
+    public void prepareTestData() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            final Path folder = temporaryFolder.newFolder("folder" + i).toPath(); //NOI18N
+            Files.write(folder.resolve("readme.txt"), new byte[0]); //NOI18N
+            folders.add(folder);
+        }
+    }
+
+    @Test
+    public void reportsAreReturnedInOrder() throws IOException {
+        final AtomicInteger reportCount = new AtomicInteger();
+        final List<JarReport> reports = new LibraryExplorer(folders).explore(
+                getClass().getClassLoader(), r -> reportCount.incrementAndGet(), () -> false);
+
+        assertThat(reports).extracting(JarReport::getJar).containsExactlyElementsOf(folders);
+        assertThat(reportCount.get()).isEqualTo(folders.size());
+    }
+
+    @Test
+    public void nothingIsExploredOnceCancelled() throws IOException {
+        final AtomicInteger reportCount = new AtomicInteger();
+        final List<JarReport> reports = new LibraryExplorer(folders).explore(
+                getClass().getClassLoader(), r -> reportCount.incrementAndGet(), () -> true);
+
+        assertThat(reports).isEmpty();
+        assertThat(reportCount.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void explorationStopsWhenCancelledFromCallback() throws IOException {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final List<JarReport> reports = new LibraryExplorer(folders).explore(
+                getClass().getClassLoader(), r -> cancelled.set(true), cancelled::get);
+
+        assertThat(reports.size()).isLessThan(folders.size());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.metadata;
+
+import com.oracle.javafx.scenebuilder.kit.editor.EditorController;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+
+/**
+ * Startup benchmark : measures the time needed to create the Metadata
+ * singleton and to open a first (simple) document.
+ * 
+ * This is not a unit test: run it in a fresh JVM (main method) so that
+ * class loading and Metadata initialization are part of the measure.
+ */
+public class FirstDocumentBenchmark {
+
+    private static final String SIMPLE_FXML
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import javafx.scene.control.Button?>\n" //NOI18N
+            + "<?import javafx.scene.layout.AnchorPane?>\n" //NOI18N
+            + "<AnchorPane xmlns:fx=\"http://javafx.com/fxml/1\" prefHeight=\"200\" prefWidth=\"300\">\n" //NOI18N
+            + "  <children>\n" //NOI18N
+            + "    <Button layoutX=\"20\" layoutY=\"20\" text=\"Button\" />\n" //NOI18N
+            + "  </children>\n" //NOI18N
+            + "</AnchorPane>\n"; //NOI18N
+
+    public static void main(String[] args) throws Exception {
+        final long startupTime = System.nanoTime();
+        final CountDownLatch startupLatch = new CountDownLatch(1);
+        Platform.startup(startupLatch::countDown);
+        startupLatch.await();
+        final long toolkitTime = System.nanoTime();
+
+        final CountDownLatch doneLatch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                final long t0 = System.nanoTime();
+                final Metadata metadata = Metadata.getMetadata();
+                final long t1 = System.nanoTime();
+                final int loadedBeforeDocument = metadata.getLoadedPropertyMetadataCount();
+                final EditorController editorController = new EditorController();
+                editorController.setFxmlTextAndLocation(SIMPLE_FXML, null, false);
+                final long t2 = System.nanoTime();
+
+                System.out.println("Toolkit startup       : " + toMillis(toolkitTime - startupTime) + " ms"); //NOI18N
+                System.out.println("Metadata singleton    : " + toMillis(t1 - t0) + " ms"); //NOI18N
+                System.out.println("  property metadata loaded : " + loadedBeforeDocument); //NOI18N
+                System.out.println("First document        : " + toMillis(t2 - t1) + " ms"); //NOI18N
+                System.out.println("Time to first document: " + toMillis(t2 - startupTime) + " ms"); //NOI18N
+            } catch(IOException x) {
+                x.printStackTrace();
+            } finally {
+                doneLatch.countDown();
+            }
+        });
+        doneLatch.await();
+        Platform.exit();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
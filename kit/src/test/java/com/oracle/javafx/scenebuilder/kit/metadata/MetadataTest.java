@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.metadata;
+
+import com.oracle.javafx.scenebuilder.kit.metadata.property.PropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.util.Arrays;
+import java.util.Set;
+import javafx.scene.AmbientLight;
+import javafx.scene.shape.Arc;
+import javafx.scene.shape.Rectangle;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for the on demand instantiation of property metadata in {@link Metadata}
+ */
+public class MetadataTest {
+
+    @Test
+    public void propertyMetadataAreInstantiatedPerClass() {
+        final Metadata metadata = new Metadata();
+        assertThat(metadata.getLoadedPropertyMetadataCount()).isEqualTo(0);
+
+        assertThat(metadata.queryProperties(Rectangle.class)).isNotEmpty();
+        final int rectangleCount = metadata.getLoadedPropertyMetadataCount();
+        assertThat(rectangleCount).isGreaterThan(0);
+        assertThat(metadata.queryProperty(Rectangle.class, new PropertyName("startAngle"))).isNull();
+
+        // Arc specific properties have not been instantiated by Rectangle
+        assertThat(metadata.queryProperty(Arc.class, new PropertyName("startAngle"))).isNotNull();
+        assertThat(metadata.getLoadedPropertyMetadataCount()).isGreaterThan(rectangleCount);
+
+        final int arcCount = metadata.getLoadedPropertyMetadataCount();
+        metadata.queryProperties(Rectangle.class);
+        metadata.queryProperties(Arc.class);
+        assertThat(metadata.getLoadedPropertyMetadataCount()).isEqualTo(arcCount);
+    }
+
+    @Test
+    public void sharedPropertyMetadataAreInstantiatedOnce() {
+        final Metadata metadata = new Metadata();
+        final PropertyName accessibleRoleName = new PropertyName("accessibleRole");
+
+        assertThat(metadata.queryProperty(Arc.class, accessibleRoleName))
+                .isSameAs(metadata.queryProperty(AmbientLight.class, accessibleRoleName));
+    }
+
+    @Test
+    public void propertiesOfSeveralClassesAreIntersected() {
+        final Metadata metadata = new Metadata();
+        final Set<PropertyMetadata> common
+                = metadata.queryProperties(Arrays.asList(Rectangle.class, Arc.class));
+
+        assertThat(common).contains(metadata.queryProperty(Arc.class, new PropertyName("fill")));
+        assertThat(common).doesNotContain(metadata.queryProperty(Arc.class, new PropertyName("startAngle")));
+        assertThat(common).doesNotContain(metadata.queryProperty(Rectangle.class, new PropertyName("arcWidth")));
+    }
+}
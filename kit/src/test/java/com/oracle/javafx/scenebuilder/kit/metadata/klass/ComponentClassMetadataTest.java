@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.metadata.klass;
+
+import com.oracle.javafx.scenebuilder.kit.metadata.property.PropertyMetadata;
+import com.oracle.javafx.scenebuilder.kit.metadata.util.PropertyName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link ComponentClassMetadata#setPropertyInitializer(java.util.function.Consumer)}
+ */
+public class ComponentClassMetadataTest {
+
+    private final PropertyName fooName = new PropertyName("foo");
+    private final PropertyName barName = new PropertyName("bar");
+
+    @Test
+    public void propertiesAreInitializedOnDemand() {
+        final AtomicInteger count = new AtomicInteger();
+        final ComponentClassMetadata cm = new ComponentClassMetadata(Object.class, null);
+        cm.setPropertyInitializer(properties -> {
+            count.incrementAndGet();
+            properties.add(new PropertyMetadata(fooName));
+        });
+
+        assertThat(count.get()).isEqualTo(0);
+        assertThat(cm.lookupProperty(fooName)).isNotNull();
+        assertThat(cm.lookupProperty(barName)).isNull();
+        assertThat(cm.getProperties()).hasSize(1);
+        assertThat(count.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void propertiesAreInitializedOnceUnderConcurrency() throws Exception {
+        final int threadCount = 8;
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final ComponentClassMetadata cm = new ComponentClassMetadata(Object.class, null);
+        cm.setPropertyInitializer(properties -> {
+            count.incrementAndGet();
+            properties.add(new PropertyMetadata(fooName));
+            properties.add(new PropertyMetadata(barName));
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<Set<PropertyMetadata>>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                final Callable<Set<PropertyMetadata>> task = () -> {
+                    startLatch.await();
+                    return cm.getProperties();
+                };
+                futures.add(executor.submit(task));
+            }
+            startLatch.countDown();
+            for (Future<Set<PropertyMetadata>> f : futures) {
+                assertThat(f.get()).hasSize(2);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(count.get()).isEqualTo(1);
+    }
+}
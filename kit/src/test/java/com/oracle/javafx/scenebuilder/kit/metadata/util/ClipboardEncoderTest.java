@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.metadata.util;
+
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMArchive;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMDocument;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMNodes;
+import com.oracle.javafx.scenebuilder.kit.fxom.FXOMObject;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.DataFormat;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link ClipboardEncoder} and {@link FXOMArchive} :
+ * copy then paste of fxom objects.
+ */
+public class ClipboardEncoderTest {
+
+    private static final String FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import com.oracle.javafx.scenebuilder.kit.metadata.util.TestCountingPane?>\n" //NOI18N
+            + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+            + "<Pane xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\">\n" //NOI18N
+            + "  <children>\n" //NOI18N
+            + "    <TestCountingPane fx:id=\"counting\" prefWidth=\"20.0\">\n" //NOI18N
+            + "      <children>\n" //NOI18N
+            + "        <Pane fx:id=\"inner\" />\n" //NOI18N
+            + "      </children>\n" //NOI18N
+            + "    </TestCountingPane>\n" //NOI18N
+            + "    <Pane fx:id=\"other\" />\n" //NOI18N
+            + "  </children>\n" //NOI18N
+            + "</Pane>\n"; //NOI18N
+
+    private static final String TARGET_FXML_TEXT
+            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //NOI18N
+            + "<?import javafx.scene.layout.Pane?>\n" //NOI18N
+            + "<Pane xmlns=\"http://javafx.com/javafx/11\" xmlns:fx=\"http://javafx.com/fxml/1\" />\n"; //NOI18N
+
+    private FXOMDocument sourceDocument;
+    private FXOMObject counting;
+    private FXOMObject other;
+
+    @Before
+    public void prepareTestData() throws IOException {
+        sourceDocument = new FXOMDocument(FXML_TEXT, null, null, null);
+        counting = sourceDocument.searchWithFxId("counting"); //NOI18N
+        other = sourceDocument.searchWithFxId("other"); //NOI18N
+    }
+
+    @Test
+    public void copyDoesNotInvokeFXMLLoader() {
+        final int instanceCount = TestCountingPane.INSTANCE_COUNT.get();
+
+        final ClipboardContent content = copy(Arrays.asList(counting, other));
+
+        assertThat(TestCountingPane.INSTANCE_COUNT.get()).isEqualTo(instanceCount);
+        final FXOMArchive archive = getArchive(content);
+        assertThat(archive.getEntries()).hasSize(2);
+        final String fxmlText0 = archive.getEntries().get(0).getFxmlText();
+        assertThat(content.get(ClipboardEncoder.FXML_DATA_FORMAT)).isEqualTo(fxmlText0);
+        assertThat(content.get(DataFormat.PLAIN_TEXT)).isEqualTo(fxmlText0);
+
+        // Same text as a copy through a document with a scene graph
+        assertThat(fxmlText0).isEqualTo(FXOMNodes.newDocument(counting).getFxmlText(false));
+    }
+
+    @Test
+    public void archivedFxmlSurvivesCopyAndPaste() throws IOException {
+        final FXOMArchive archive = getArchive(copy(Arrays.asList(counting, other)));
+        // No fx:id in the target : paste keeps them as is
+        final FXOMDocument targetDocument = new FXOMDocument(TARGET_FXML_TEXT, null, null, null);
+
+        // Paste loads each entry once
+        final int instanceCount = TestCountingPane.INSTANCE_COUNT.get();
+        final List<FXOMObject> pasted = archive.decode(targetDocument);
+        assertThat(TestCountingPane.INSTANCE_COUNT.get()).isEqualTo(instanceCount + 1);
+
+        assertThat(pasted).hasSize(2);
+        assertThat(pasted.get(0).getFxomDocument()).isSameAs(targetDocument);
+        assertThat(pasted.get(0).getSceneGraphObject()).isInstanceOf(TestCountingPane.class);
+
+        // Copying the pasted objects gives back the same text
+        final FXOMArchive copyOfPasted = getArchive(copy(pasted));
+        for (int i = 0; i < 2; i++) {
+            assertThat(copyOfPasted.getEntries().get(i).getFxmlText())
+                    .isEqualTo(archive.getEntries().get(i).getFxmlText());
+        }
+    }
+
+    @Test
+    public void emptySelectionIsNotEncodable() {
+        assertThat(new ClipboardEncoder(Collections.emptyList()).isEncodable()).isFalse();
+    }
+
+    /*
+     * Private
+     */
+
+    private static ClipboardContent copy(List<FXOMObject> fxomObjects) {
+        final ClipboardEncoder encoder = new ClipboardEncoder(fxomObjects);
+        assertThat(encoder.isEncodable()).isTrue();
+        return encoder.makeEncoding();
+    }
+
+    private static FXOMArchive getArchive(ClipboardContent content) {
+        return (FXOMArchive) content.get(ClipboardEncoder.SB_DATA_FORMAT);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, Gluon and/or its affiliates.
+ * Copyright (c) 2021, Gluon and/or its affiliates.
  * All rights reserved. Use is subject to license terms.
  *
  * This file is available and licensed under the following license:
@@ -29,34 +29,19 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
+package com.oracle.javafx.scenebuilder.kit.metadata.util;
 
-package com.oracle.javafx.scenebuilder.kit.editor.panel.content.guides;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.scene.layout.Pane;
 
-import com.oracle.javafx.scenebuilder.kit.util.MathUtils;
-import javafx.geometry.Point2D;
-
-import java.util.Comparator;
-
-class PointComparator implements Comparator<Point2D> {
-    
-    @Override
-    public int compare(Point2D o1, Point2D o2) {
-        assert o1 != null;
-        assert o2 != null;
-
-        final int result;
+/**
+ * Needed for {@link ClipboardEncoderTest} : counts its instantiations.
+ */
+public class TestCountingPane extends Pane {
 
-        if (o1 == o2) {
-            result = 0;
-        } else if (MathUtils.equals(o1.getX(), o2.getX()) && MathUtils.equals(o1.getY(), o2.getY())) {
-            result = 0;
-        } else {
-            double r1 = Math.sqrt(o1.getX() * o1.getX() + o1.getY() * o1.getY());
-            double r2 = Math.sqrt(o2.getX() * o2.getX() + o2.getY() * o2.getY());
-            result = Double.compare(r1, r2);
-        }
+    public static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
 
-        return result;
+    public TestCountingPane() {
+        INSTANCE_COUNT.incrementAndGet();
     }
-    
 }
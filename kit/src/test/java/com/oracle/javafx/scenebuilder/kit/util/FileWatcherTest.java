@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021, Gluon and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation and Gluon nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.javafx.scenebuilder.kit.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link FileWatcher} and {@link FileWatchService}.
+ * 
+ * Two file watchers watch distinct targets of the same directory : each
+ * must be notified of the events of its own target only.
+ */
+public class FileWatcherTest {
+
+    private static final long POLLING_TIME = 100; // ms
+    private static final long TIMEOUT = 5000; // ms
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path a;
+    private Path b;
+    private final List<FileWatcher> fileWatchers = new ArrayList<>();
+
+    @Before
+    public void prepareTestData() {
+        final Path folder = temporaryFolder.getRoot().toPath();
+        a = folder.resolve("a.txt"); //NOI18N
+        b = folder.resolve("b.txt"); //NOI18N
+    }
+
+    @After
+    public void stopWatchers() {
+        for (FileWatcher fw : fileWatchers) {
+            if (fw.isStarted()) {
+                fw.stop();
+            }
+        }
+    }
+
+    @Test
+    public void testSharedWatchService() throws Exception {
+        checkEventsAreDispatched(FileWatchService.getInstance());
+    }
+
+    @Test
+    public void testPolling() throws Exception {
+        checkEventsAreDispatched(null);
+    }
+
+    /*
+     * Private
+     */
+
+    private void checkEventsAreDispatched(FileWatchService service) throws Exception {
+        final BlockingQueue<String> eventsA = new LinkedBlockingQueue<>();
+        final BlockingQueue<String> eventsB = new LinkedBlockingQueue<>();
+        startWatcher(a, service, eventsA);
+        startWatcher(b, service, eventsB);
+
+        Files.write(a, new byte[] {1});
+        awaitEvent(eventsA, "create a.txt"); //NOI18N
+
+        Files.write(b, new byte[] {1});
+        awaitEvent(eventsB, "create b.txt"); //NOI18N
+
+        Files.write(a, new byte[] {2});
+        touch(a);
+        awaitEvent(eventsA, "modify a.txt"); //NOI18N
+
+        Files.delete(b);
+        awaitEvent(eventsB, "delete b.txt"); //NOI18N
+
+        // Nothing else is reported
+        Thread.sleep(3 * POLLING_TIME);
+        assertThat(eventsA).allMatch("modify a.txt"::equals); //NOI18N
+        assertThat(eventsB).isEmpty();
+
+        // Directory stays watched for b.txt once a.txt is unregistered
+        fileWatchers.get(0).stop();
+        Files.write(b, new byte[] {3});
+        awaitEvent(eventsB, "create b.txt"); //NOI18N
+    }
+
+    /*
+     * Waits for the expected event. A native watch service may report a
+     * file creation as a creation followed by a modification : modifications
+     * of the same target may precede the expected event.
+     */
+    private static void awaitEvent(BlockingQueue<String> events, String expected) 
+            throws InterruptedException {
+        final String target = expected.substring(expected.indexOf(' ') + 1);
+        String event;
+        do {
+            event = events.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+            assertThat(event).isIn(expected, "modify " + target); //NOI18N
+        } while (expected.equals(event) == false);
+    }
+
+    private void startWatcher(Path target, FileWatchService service, 
+            BlockingQueue<String> events) {
+        final FileWatcher.Delegate delegate = new FileWatcher.Delegate() {
+            @Override
+            public void fileWatcherDidWatchTargetCreation(Path target) {
+                events.add("create " + target.getFileName()); //NOI18N
+            }
+
+            @Override
+            public void fileWatcherDidWatchTargetDeletion(Path target) {
+                events.add("delete " + target.getFileName()); //NOI18N
+            }
+
+            @Override
+            public void fileWatcherDidWatchTargetModification(Path target) {
+                events.add("modify " + target.getFileName()); //NOI18N
+            }
+        };
+        final FileWatcher result = new FileWatcher(POLLING_TIME, delegate, 
+                target.getFileName().toString(), service, Runnable::run);
+        result.addTarget(target);
+        result.start();
+        fileWatchers.add(result);
+    }
+
+    private static void touch(Path path) throws IOException {
+        final FileTime lastModified = Files.getLastModifiedTime(path);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + 10000));
+    }
+}